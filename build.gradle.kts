@@ -26,6 +26,7 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springframework.boot:spring-boot-starter-validation")
     implementation("org.springframework.boot:spring-boot-starter-security")
+    implementation("org.springframework.boot:spring-boot-starter-oauth2-resource-server")
     implementation("org.liquibase:liquibase-core")
     implementation("org.springframework.boot:spring-boot-starter-thymeleaf")
     implementation("org.webjars:bootstrap:5.3.2")
@@ -43,8 +44,16 @@ dependencies {
     compileOnly("org.mapstruct:mapstruct:1.5.5.Final")
     annotationProcessor("org.mapstruct:mapstruct-processor:1.5.5.Final")
     implementation("org.springframework.boot:spring-boot-starter-websocket")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    implementation("org.springframework.boot:spring-boot-starter-aop")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
     implementation("com.itextpdf:itext7-core:7.2.5")
     implementation("com.itextpdf:layout:7.2.5")
+    implementation("org.apache.poi:poi-ooxml:5.2.5")
+    implementation("net.ttddyy:datasource-proxy:1.9")
+    implementation("org.hibernate.orm:hibernate-jcache")
+    implementation("org.hibernate.orm:hibernate-micrometer")
+    implementation("org.ehcache:ehcache::jakarta")
 
     testImplementation("org.springframework.boot:spring-boot-starter-test") {
         exclude(group = "org.junit.vintage", module = "junit-vintage-engine")
@@ -58,7 +67,31 @@ dependencies {
 
 }
 
-tasks.withType<Test> {
-    useJUnitPlatform()
+tasks.test {
+    useJUnitPlatform {
+        excludeTags("benchmark", "replication")
+    }
+}
+
+// Нагрузочные сценарии (@Tag("benchmark")), запускаются отдельно: ./gradlew benchmark
+tasks.register<Test>("benchmark") {
+    description = "Runs load benchmarks"
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("benchmark")
+    }
+    testLogging.showStandardStreams = true
 }
 
+// Маршрутизация на реплики (@Tag("replication")) на двух БД в потоковой репликации: ./gradlew replicationTest
+tasks.register<Test>("replicationTest") {
+    description = "Runs read-replica routing tests against a streaming replication pair"
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("replication")
+    }
+}
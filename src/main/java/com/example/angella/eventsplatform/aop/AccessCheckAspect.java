@@ -2,6 +2,8 @@ package com.example.angella.eventsplatform.aop;
 
 import com.example.angella.eventsplatform.exception.AccessDeniedException;
 import com.example.angella.eventsplatform.service.checker.AccessCheckerService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,6 +24,7 @@ import java.util.Map;
 public class AccessCheckAspect {
 
     private final Map<AccessCheckType, AccessCheckerService> accessCheckServiceMap;
+    private final MeterRegistry meterRegistry;
 
     @Before("@annotation(accessAnnotation)")
     public void validateAccessPermissions(JoinPoint joinPoint, AccessAnnotation accessAnnotation) {
@@ -30,7 +33,14 @@ public class AccessCheckAspect {
         HttpServletRequest currentRequest = extractCurrentHttpRequest();
         AccessCheckerService accessChecker = resolveAccessChecker(accessAnnotation.checkBy());
 
-        if (!accessChecker.check(currentRequest, accessAnnotation)) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        boolean allowed = accessChecker.check(currentRequest, accessAnnotation);
+        sample.stop(Timer.builder("access.checks")
+                .tag("type", accessAnnotation.checkBy().name())
+                .tag("outcome", allowed ? "allowed" : "denied")
+                .register(meterRegistry));
+
+        if (!allowed) {
             handleAccessDenied(joinPoint);
         }
     }
@@ -2,11 +2,17 @@ package com.example.angella.eventsplatform.configuration;
 
 import com.example.angella.eventsplatform.aop.AccessCheckType;
 import com.example.angella.eventsplatform.service.checker.AccessCheckerService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.context.event.ApplicationEventMulticaster;
 import org.springframework.context.event.SimpleApplicationEventMulticaster;
 import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.Collection;
 import java.util.Map;
@@ -14,6 +20,7 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Configuration
+@EnableScheduling
 public class ApplicationConfiguration {
 
     @Bean
@@ -30,4 +37,72 @@ public class ApplicationConfiguration {
         eventMulticaster.setTaskExecutor(executor);
         return eventMulticaster;
     }
-}
\ No newline at end of file
+
+    // Собственные пулы отключают автоконфигурацию Boot, поэтому общий исполнитель
+    // (MVC async, StreamingResponseBody) объявляем явно
+    @Lazy
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    // Ограниченный пул для асинхронной обработки загрузок: при переполнении очереди
+    // задача отклоняется (TaskRejectedException), а не копится в памяти
+    @Bean
+    public ThreadPoolTaskExecutor imageUploadExecutor(
+            @Value("${app.upload.async.pool-size:4}") int poolSize,
+            @Value("${app.upload.async.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-upload-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    // Отдельный пул для проверки содержимого изображений, чтобы разбор заголовков
+    // не занимал потоки обработки запросов и не конкурировал с загрузками
+    @Bean
+    public ThreadPoolTaskExecutor imageValidationExecutor(
+            @Value("${app.upload.validation.pool-size:2}") int poolSize,
+            @Value("${app.upload.validation.queue-capacity:50}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-validation-");
+        return executor;
+    }
+
+    // Хэширование паролей BCrypt: число потоков ограничивает CPU, занятый входом и регистрацией
+    // при массовом наплыве пользователей; лишние запросы отклоняются сразу
+    @Bean
+    public ThreadPoolTaskExecutor passwordHashingExecutor(
+            @Value("${app.security.password-hashing.pool-size:2}") int poolSize,
+            @Value("${app.security.password-hashing.queue-capacity:50}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hashing-");
+        return executor;
+    }
+
+    // Фоновая генерация отчетов: небольшой пул и короткая очередь,
+    // лишние задания отклоняются с ответом 503
+    @Bean
+    public ThreadPoolTaskExecutor reportExecutor(
+            @Value("${app.reports.pool-size:2}") int poolSize,
+            @Value("${app.reports.queue-capacity:10}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("report-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
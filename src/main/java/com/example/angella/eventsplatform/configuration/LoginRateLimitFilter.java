@@ -0,0 +1,44 @@
+package com.example.angella.eventsplatform.configuration;
+
+import com.example.angella.eventsplatform.exception.RateLimitExceededException;
+import com.example.angella.eventsplatform.service.ratelimit.RateLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Вход обрабатывается фильтром Spring Security до DispatcherServlet, поэтому HandlerInterceptor
+// его не видит: политики для маршрутов цепочки безопасности применяются этим фильтром.
+// Регистрируется в SecurityConfiguration перед UsernamePasswordAuthenticationFilter
+@RequiredArgsConstructor
+public class LoginRateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String policy = rateLimiter.findHttpPolicy(request.getMethod(), request.getRequestURI());
+        if (policy != null) {
+            try {
+                rateLimiter.acquire(policy, RateLimitInterceptor.clientKey(request), "http");
+            } catch (RateLimitExceededException e) {
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+                response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), e.getMessage());
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"/login".equals(request.getRequestURI());
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.angella.eventsplatform.configuration;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.metrics.MeterRegistryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfiguration {
+
+    // Обработка @Timed на методах сервисов
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public MeterRegistryCustomizer<MeterRegistry> commonTags(
+            @Value("${spring.application.name:events-platform}") String applicationName) {
+        return registry -> registry.config().commonTags("application", applicationName);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.angella.eventsplatform.configuration;
+
+import com.example.angella.eventsplatform.security.AppUserDetails;
+import com.example.angella.eventsplatform.service.ratelimit.RateLimiter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+// Ограничение частоты HTTP-запросов к контроллерам по политикам app.rate-limit.
+// Превышение - RateLimitExceededException, CustomExceptionHandler отвечает 429 с Retry-After
+@Component
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final RateLimiter rateLimiter;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String policy = rateLimiter.findHttpPolicy(request.getMethod(), request.getRequestURI());
+        if (policy != null) {
+            rateLimiter.acquire(policy, clientKey(request), "http");
+        }
+        return true;
+    }
+
+    // Ключ клиента: id аутентифицированного пользователя, иначе IP-адрес
+    static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AppUserDetails details) {
+            return "user:" + details.getId();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.angella.eventsplatform.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Политики ограничения частоты запросов (app.rate-limit). Каждая политика - корзина токенов
+// на пользователя (или IP для анонимных запросов) с емкостью capacity и пополнением refill-per-second
+@Data
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Корзины, не использованные дольше этого времени, удаляются
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    private Map<String, Policy> policies = new LinkedHashMap<>();
+
+    @Data
+    public static class Policy {
+        private int capacity = 10;
+        private double refillPerSecond = 1.0;
+        // HTTP-маршруты в виде "POST /api/v1/comment/**"; метод можно опустить
+        private List<String> paths = new ArrayList<>();
+        // STOMP-назначения SEND-кадров, например "/app/chat/*/send"
+        private List<String> destinations = new ArrayList<>();
+    }
+}
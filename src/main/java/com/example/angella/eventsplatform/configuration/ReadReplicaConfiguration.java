@@ -0,0 +1,113 @@
+package com.example.angella.eventsplatform.configuration;
+
+import com.example.angella.eventsplatform.service.datasource.ReadReplicaRoutingDataSource;
+import com.example.angella.eventsplatform.service.datasource.ReadYourWritesTracker;
+import com.example.angella.eventsplatform.service.datasource.ReplicaLagMonitor;
+import com.example.angella.eventsplatform.service.datasource.ReplicaNode;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+// Маршрутизация чтений на реплики. Основной пул собирается из тех же spring.datasource.*
+// и spring.datasource.hikari.*, что и автоконфигурация Boot; Liquibase и пишущие транзакции
+// работают с ним. Пулы реплик наследуют его настройки, но открываются только для чтения
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.read-replicas", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+public class ReadReplicaConfiguration {
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(ReadReplicaProperties properties) {
+        return new ReadYourWritesTracker(properties.getStickiness());
+    }
+
+    @Bean
+    public ReadReplicaRoutingDataSource readReplicaRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                                     ReadReplicaProperties properties,
+                                                                     ReadYourWritesTracker readYourWritesTracker,
+                                                                     Environment environment,
+                                                                     MeterRegistry meterRegistry,
+                                                                     ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+
+        List<ReplicaNode> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getNodes().size(); i++) {
+            String name = "replica-" + (i + 1);
+            replicas.add(new ReplicaNode(name,
+                    replicaPool(primary, properties.getNodes().get(i), name, properties, meterRegistry)));
+        }
+        return new ReadReplicaRoutingDataSource(primary, replicas, readYourWritesTracker, meterRegistry,
+                () -> disableCachePuts(entityManagerFactory.getIfAvailable()));
+    }
+
+    // Соединение берется при первом выражении, когда флаг readOnly транзакции уже установлен
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadReplicaRoutingDataSource readReplicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readReplicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ReadReplicaRoutingDataSource readReplicaRoutingDataSource,
+                                               ReadReplicaProperties properties,
+                                               MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(readReplicaRoutingDataSource.getPrimary(),
+                readReplicaRoutingDataSource.getReplicas(), properties.getMaxLag(), meterRegistry);
+    }
+
+    // Сессия транзакции, читающей с реплики, берет данные из кэшей Hibernate, но не пополняет их:
+    // сущности и результаты запросов с реплики могут отставать от основной БД
+    private static void disableCachePuts(EntityManagerFactory entityManagerFactory) {
+        if (entityManagerFactory == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.getResource(entityManagerFactory) instanceof EntityManagerHolder holder) {
+            holder.getEntityManager().unwrap(Session.class).setCacheMode(CacheMode.GET);
+        }
+    }
+
+    private HikariDataSource replicaPool(HikariDataSource primary,
+                                         ReadReplicaProperties.Node node,
+                                         String name,
+                                         ReadReplicaProperties properties,
+                                         MeterRegistry meterRegistry) {
+        HikariConfig config = new HikariConfig();
+        primary.copyStateTo(config);
+        config.setPoolName(name);
+        config.setJdbcUrl(node.getUrl());
+        config.setUsername(StringUtils.hasText(node.getUsername()) ? node.getUsername() : primary.getUsername());
+        config.setPassword(StringUtils.hasText(node.getPassword()) ? node.getPassword() : primary.getPassword());
+        config.setMaximumPoolSize(properties.getMaximumPoolSize());
+        config.setReadOnly(true);
+        // CREATE SCHEMA недопустим на горячем резерве; схема приходит с основной БД
+        config.setConnectionInitSql(null);
+        // Недоступная при старте реплика не мешает запуску: она останется вне ротации
+        config.setInitializationFailTimeout(-1);
+        config.setMetricRegistry(meterRegistry);
+        return new HikariDataSource(config);
+    }
+}
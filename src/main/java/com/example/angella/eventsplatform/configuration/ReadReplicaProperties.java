@@ -0,0 +1,38 @@
+package com.example.angella.eventsplatform.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Реплики для чтения (app.datasource.read-replicas). Транзакции readOnly = true направляются
+// на реплику, отстающую не больше max-lag; после собственной записи пользователь в течение
+// stickiness читает с основной БД
+@Data
+@ConfigurationProperties(prefix = "app.datasource.read-replicas")
+public class ReadReplicaProperties {
+
+    private boolean enabled = false;
+
+    // Допустимое отставание воспроизведения WAL; более отстающая реплика исключается из маршрутизации
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    private Duration lagCheckInterval = Duration.ofSeconds(2);
+
+    // Окно read-your-writes после фиксации пишущей транзакции
+    private Duration stickiness = Duration.ofSeconds(5);
+
+    private int maximumPoolSize = 10;
+
+    private List<Node> nodes = new ArrayList<>();
+
+    @Data
+    public static class Node {
+        private String url;
+        // Если не заданы - берутся из spring.datasource
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.angella.eventsplatform.configuration;
+
+import com.example.angella.eventsplatform.service.metrics.SlowLogService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Назначает HTTP-запросу идентификатор (допустимый X-Request-Id клиента или случайный) и открывает
+// область журнала медленных операций: SQL, выполненный в запросе, помечается его источником
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class RequestCorrelationFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+
+    private final SlowLogService slowLogService;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String source = request.getMethod() + " " + request.getRequestURI();
+        try (SlowLogService.RequestScope scope = slowLogService.openScope(source, request.getHeader(REQUEST_ID_HEADER))) {
+            response.setHeader(REQUEST_ID_HEADER, scope.getRequestId());
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    // Статика и SockJS-транспорт не выполняют SQL и только засоряли бы журнал
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return path.startsWith("/webjars/") || path.startsWith("/css/") || path.startsWith("/js/")
+                || path.startsWith("/ws/");
+    }
+}
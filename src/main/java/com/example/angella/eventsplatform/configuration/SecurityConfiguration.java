@@ -1,48 +1,91 @@
 package com.example.angella.eventsplatform.configuration;
 
+import com.example.angella.eventsplatform.exception.AuthenticationOverloadedException;
+import com.example.angella.eventsplatform.security.BoundedAuthenticationProvider;
+import com.example.angella.eventsplatform.security.BoundedPasswordEncoder;
+import com.example.angella.eventsplatform.security.UserDetailsServiceImpl;
+import com.example.angella.eventsplatform.service.ratelimit.RateLimiter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.ExceptionMappingAuthenticationFailureHandler;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.thymeleaf.spring6.expression.ThymeleafEvaluationContext;
 
+import java.time.Duration;
+import java.util.Map;
+
 @Configuration
 @EnableMethodSecurity
 public class SecurityConfiguration {
 
+    // BCrypt с настраиваемым work factor на отдельном ограниченном пуле
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${app.security.bcrypt-strength:10}") int strength,
+            @Value("${app.security.password-hashing.timeout:PT10S}") Duration timeout,
+            @Qualifier("passwordHashingExecutor") ThreadPoolTaskExecutor passwordHashingExecutor) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), passwordHashingExecutor, timeout);
     }
 
     @Bean
     public AuthenticationManager databaseAuthenticationManager(HttpSecurity http,
-                                                               UserDetailsService userDetailsService,
+                                                               UserDetailsServiceImpl userDetailsService,
                                                                PasswordEncoder passwordEncoder) throws Exception {
         var authManagerBuilder = http.getSharedObject(AuthenticationManagerBuilder.class);
         authManagerBuilder.userDetailsService(userDetailsService);
 
-        var authProvider = new DaoAuthenticationProvider(passwordEncoder);
+        var authProvider = new BoundedAuthenticationProvider(passwordEncoder);
         authProvider.setUserDetailsService(userDetailsService);
+        // Хэши со старым work factor перехэшируются при следующем входе
+        authProvider.setUserDetailsPasswordService(userDetailsService);
 
         authManagerBuilder.authenticationProvider(authProvider);
 
         return authManagerBuilder.build();
     }
 
+    // Actuator: открыта только проверка состояния. Prometheus и остальные точки доступны администратору,
+    // сборщик метрик авторизуется по HTTP Basic учетной записью с ролью ADMIN
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http, AuthenticationManager authenticationManager) throws Exception {
+    @Order(2)
+    public SecurityFilterChain actuatorFilterChain(HttpSecurity http,
+                                                   AuthenticationManager authenticationManager) throws Exception {
         http
+                .securityMatcher("/actuator/**")
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers("/actuator/health").permitAll()
+                        .anyRequest().hasRole("ADMIN")
+                )
+                .httpBasic(Customizer.withDefaults())
+                .sessionManagement(session -> session
+                        .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+                )
+                .csrf(AbstractHttpConfigurer::disable)
+                .authenticationManager(authenticationManager);
+
+        return http.build();
+    }
+
+    @Bean
+    public SecurityFilterChain filterChain(HttpSecurity http, AuthenticationManager authenticationManager,
+                                           RateLimiter rateLimiter) throws Exception {
+        http
+                // Ограничение частоты попыток входа (политика login в app.rate-limit)
+                .addFilterBefore(new LoginRateLimitFilter(rateLimiter), UsernamePasswordAuthenticationFilter.class)
                 .authorizeHttpRequests((auth) ->
                         auth
                                 // Статические ресурсы - самый высокий приоритет
@@ -84,7 +127,7 @@ public class SecurityConfiguration {
                         .loginPage("/login")
                         .loginProcessingUrl("/login")
                         .defaultSuccessUrl("/")
-                        .failureUrl("/login?error=true")
+                        .failureHandler(loginFailureHandler())
                         .permitAll()
                 )
                 .logout(logout -> logout
@@ -113,4 +156,13 @@ public class SecurityConfiguration {
 
         return http.build();
     }
+
+    // Перегрузка пула проверки паролей показывается на форме входа отдельным сообщением
+    private ExceptionMappingAuthenticationFailureHandler loginFailureHandler() {
+        var failureHandler = new ExceptionMappingAuthenticationFailureHandler();
+        failureHandler.setDefaultFailureUrl("/login?error=true");
+        failureHandler.setExceptionMappings(Map.of(
+                AuthenticationOverloadedException.class.getName(), "/login?error=busy"));
+        return failureHandler;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.example.angella.eventsplatform.configuration;
+
+import com.example.angella.eventsplatform.service.metrics.SlowLogService;
+import com.example.angella.eventsplatform.service.metrics.SqlTimingListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class SqlMonitoringConfiguration {
+
+    // Оборачивает пул соединений прокси, измеряющим каждое SQL-выражение.
+    // unwrap/isWrapperFor делегируются пулу, поэтому метрики Hikari продолжают работать.
+    // Маршрутизатор реплик не оборачивается: его выражения измеряются через основной DataSource
+    @Bean
+    public static BeanPostProcessor sqlTimingDataSourcePostProcessor(ObjectProvider<SlowLogService> slowLogService) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)
+                        && !(bean instanceof AbstractRoutingDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new SqlTimingListener(slowLogService))
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
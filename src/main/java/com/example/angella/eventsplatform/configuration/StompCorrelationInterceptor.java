@@ -0,0 +1,46 @@
+package com.example.angella.eventsplatform.configuration;
+
+import com.example.angella.eventsplatform.service.metrics.SlowLogService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+// Связывает SQL с вызвавшим его STOMP-кадром. Входящий канал обрабатывает кадр в потоке
+// пула, поэтому область открывается в beforeHandle и закрывается в afterMessageHandled
+@Component
+@RequiredArgsConstructor
+public class StompCorrelationInterceptor implements ExecutorChannelInterceptor {
+
+    private static final ThreadLocal<SlowLogService.RequestScope> CURRENT_SCOPE = new ThreadLocal<>();
+
+    private final SlowLogService slowLogService;
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        // Каждый обработчик канала получает кадр отдельной задачей; область открывается на время одной
+        if (accessor == null || accessor.getCommand() == null || CURRENT_SCOPE.get() != null) {
+            return message;
+        }
+
+        String source = "STOMP " + accessor.getCommand()
+                + (accessor.getDestination() != null ? " " + accessor.getDestination() : "");
+        CURRENT_SCOPE.set(slowLogService.openScope(source, accessor.getFirstNativeHeader("request-id")));
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler,
+                                    Exception ex) {
+        SlowLogService.RequestScope scope = CURRENT_SCOPE.get();
+        if (scope != null) {
+            CURRENT_SCOPE.remove();
+            scope.close();
+        }
+    }
+}
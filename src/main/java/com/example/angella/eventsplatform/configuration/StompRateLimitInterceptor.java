@@ -0,0 +1,50 @@
+package com.example.angella.eventsplatform.configuration;
+
+import com.example.angella.eventsplatform.exception.RateLimitExceededException;
+import com.example.angella.eventsplatform.security.AppUserDetails;
+import com.example.angella.eventsplatform.service.ratelimit.RateLimiter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+// Ограничение частоты SEND-кадров STOMP. Проверка выполняется в потоке WebSocket-сессии до
+// постановки кадра в очередь обработки; исключение StompSubProtocolHandler превращает в кадр ERROR
+@Component
+@RequiredArgsConstructor
+public class StompRateLimitInterceptor implements ChannelInterceptor {
+
+    private final RateLimiter rateLimiter;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || !StompCommand.SEND.equals(accessor.getCommand()) || accessor.getDestination() == null) {
+            return message;
+        }
+
+        String policy = rateLimiter.findStompPolicy(accessor.getDestination());
+        if (policy != null) {
+            try {
+                rateLimiter.acquire(policy, clientKey(accessor), "stomp");
+            } catch (RateLimitExceededException e) {
+                throw new MessageDeliveryException(message, e.getMessage(), e);
+            }
+        }
+        return message;
+    }
+
+    private String clientKey(StompHeaderAccessor accessor) {
+        if (accessor.getUser() instanceof Authentication authentication
+                && authentication.getPrincipal() instanceof AppUserDetails details) {
+            return "user:" + details.getId();
+        }
+        return "session:" + accessor.getSessionId();
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.angella.eventsplatform.configuration;
+
+import com.example.angella.eventsplatform.security.AccessTokenService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.stereotype.Component;
+
+// Аутентификация STOMP CONNECT по токену доступа из заголовка Authorization: Bearer.
+// Действует только в stateless-режиме (app.security.token.enabled): рукопожатие тогда открыто,
+// и соединение без сессионного пользователя и без действительного токена отклоняется кадром ERROR
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StompTokenAuthInterceptor implements ChannelInterceptor {
+
+    private final ObjectProvider<AccessTokenService> accessTokenService;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        AccessTokenService tokens = accessTokenService.getIfAvailable();
+        if (tokens == null || accessor == null || !StompCommand.CONNECT.equals(accessor.getCommand())) {
+            return message;
+        }
+
+        String authorization = accessor.getFirstNativeHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization != null && authorization.regionMatches(true, 0, "Bearer ", 0, 7)) {
+            try {
+                accessor.setUser(tokens.authenticate(authorization.substring(7).trim()));
+            } catch (JwtException e) {
+                log.info("Rejected STOMP CONNECT with invalid access token: {}", e.getMessage());
+                throw new MessageDeliveryException(message, "Invalid access token");
+            }
+        }
+
+        if (accessor.getUser() == null) {
+            throw new MessageDeliveryException(message, "Authentication required");
+        }
+        return message;
+    }
+}
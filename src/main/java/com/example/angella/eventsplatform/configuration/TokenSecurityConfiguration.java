@@ -0,0 +1,114 @@
+package com.example.angella.eventsplatform.configuration;
+
+import com.example.angella.eventsplatform.security.AccessTokenService;
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+// Stateless-режим: запросы к /api/v1/** с заголовком Authorization: Bearer обрабатываются отдельной
+// цепочкой без HTTP-сессии, remember-me и CSRF. Запросы без токена (страницы и их AJAX-вызовы)
+// по-прежнему идут через сессионную цепочку SecurityConfiguration.
+// Включается app.security.token.enabled; токен выдает POST /api/v1/public/token
+@Configuration
+@ConditionalOnProperty(prefix = "app.security.token", name = "enabled", havingValue = "true")
+public class TokenSecurityConfiguration {
+
+    private static final int MIN_SECRET_BYTES = 32;
+
+    @Bean
+    public SecretKey accessTokenKey(@Value("${app.security.token.secret}") String secret) {
+        byte[] bytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException(
+                    "app.security.token.secret must be at least " + MIN_SECRET_BYTES + " bytes for HS256");
+        }
+        return new SecretKeySpec(bytes, "HmacSHA256");
+    }
+
+    @Bean
+    public JwtDecoder accessTokenDecoder(SecretKey accessTokenKey,
+                                         @Value("${app.security.token.issuer}") String issuer) {
+        NimbusJwtDecoder decoder = NimbusJwtDecoder.withSecretKey(accessTokenKey)
+                .macAlgorithm(MacAlgorithm.HS256)
+                .build();
+        decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuer));
+        return decoder;
+    }
+
+    @Bean
+    public AccessTokenService accessTokenService(SecretKey accessTokenKey,
+                                                 JwtDecoder accessTokenDecoder,
+                                                 @Value("${app.security.token.issuer}") String issuer,
+                                                 @Value("${app.security.token.ttl:PT15M}") Duration ttl) {
+        JwtEncoder encoder = new NimbusJwtEncoder(new ImmutableSecret<>(accessTokenKey));
+        return new AccessTokenService(encoder, accessTokenDecoder, issuer, ttl);
+    }
+
+    @Bean
+    @Order(1)
+    public SecurityFilterChain tokenFilterChain(HttpSecurity http,
+                                                JwtDecoder accessTokenDecoder,
+                                                AccessTokenService accessTokenService) throws Exception {
+        http
+                .securityMatcher(new AndRequestMatcher(
+                        new AntPathRequestMatcher("/api/v1/**"),
+                        TokenSecurityConfiguration::hasBearerToken))
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers("/api/v1/public/**").permitAll()
+                        .requestMatchers("/api/v1/admin/**").hasRole("ADMIN")
+                        .anyRequest().authenticated()
+                )
+                .oauth2ResourceServer(resourceServer -> resourceServer
+                        .jwt(jwt -> jwt
+                                .decoder(accessTokenDecoder)
+                                .jwtAuthenticationConverter(accessTokenService::toAuthentication))
+                )
+                .sessionManagement(session -> session
+                        .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+                )
+                .requestCache(AbstractHttpConfigurer::disable)
+                .csrf(AbstractHttpConfigurer::disable);
+
+        return http.build();
+    }
+
+    // Браузер не может передать заголовок при рукопожатии WebSocket, поэтому клиенты с токеном
+    // подключаются анонимно и аутентифицируются кадром CONNECT (StompTokenAuthInterceptor).
+    // Сессионный контекст по-прежнему читается, так что страницы продолжают работать как раньше
+    @Bean
+    @Order(2)
+    public SecurityFilterChain webSocketHandshakeFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher("/ws/**")
+                .authorizeHttpRequests(auth -> auth.anyRequest().permitAll());
+
+        return http.build();
+    }
+
+    private static boolean hasBearerToken(HttpServletRequest request) {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        return authorization != null && authorization.regionMatches(true, 0, "Bearer ", 0, 7);
+    }
+}
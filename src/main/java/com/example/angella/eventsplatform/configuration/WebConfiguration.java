@@ -1,13 +1,20 @@
 package com.example.angella.eventsplatform.configuration;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+@RequiredArgsConstructor
 public class WebConfiguration implements WebMvcConfigurer {
 
+    private final RateLimitInterceptor rateLimitInterceptor;
+
     @Value("${app.upload.dir:uploads}")
     private String uploadDir;
 
@@ -16,4 +23,9 @@ public class WebConfiguration implements WebMvcConfigurer {
         registry.addResourceHandler("/images/**")
                 .addResourceLocations("file:" + uploadDir + "/");
     }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(rateLimitInterceptor);
+    }
 }
\ No newline at end of file
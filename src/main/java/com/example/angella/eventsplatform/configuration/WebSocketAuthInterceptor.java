@@ -1,8 +1,11 @@
 package com.example.angella.eventsplatform.configuration;
 
+import com.example.angella.eventsplatform.entity.Role;
 import com.example.angella.eventsplatform.entity.User;
-import com.example.angella.eventsplatform.repository.EventRepository;
 import com.example.angella.eventsplatform.repository.UserRepository;
+import com.example.angella.eventsplatform.security.AppUserDetails;
+import com.example.angella.eventsplatform.service.EventAccessService;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.Message;
@@ -11,7 +14,9 @@ import org.springframework.messaging.simp.stomp.StompCommand;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.messaging.support.ChannelInterceptor;
 import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
 
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -21,17 +26,39 @@ import java.util.regex.Pattern;
 @RequiredArgsConstructor
 public class WebSocketAuthInterceptor implements ChannelInterceptor {
 
-    private final EventRepository eventRepository;
+    private final EventAccessService eventAccessService;
     private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
 
     private static final Pattern CHAT_PATTERN = Pattern.compile("/topic/chat/(\\d+)");
     private static final Pattern TASKS_PATTERN = Pattern.compile("/topic/tasks/(\\d+)");
     private static final Pattern CHECKLIST_PATTERN = Pattern.compile("/topic/checklist/(\\d+)");
 
+    private static final String ADMIN_DESTINATIONS = "/topic/admin/**";
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
     @Override
     public Message<?> preSend(Message<?> message, MessageChannel channel) {
         StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
 
+        // Брокер сопоставляет адреса по шаблонам Ant: подписка на /topic/** или /topic/*/metrics
+        // получила бы сообщения всех топиков в обход проверок ниже, поэтому шаблоны запрещены
+        if (accessor != null && (StompCommand.SEND.equals(accessor.getCommand())
+                || StompCommand.SUBSCRIBE.equals(accessor.getCommand()))
+                && accessor.getDestination() != null && PATH_MATCHER.isPattern(accessor.getDestination())) {
+            log.warn("Rejected {} to destination pattern {}", accessor.getCommand(), accessor.getDestination());
+            recordDecision("pattern", false);
+            return null;
+        }
+
+        // Публиковать в топики администратора может только сервер
+        if (accessor != null && StompCommand.SEND.equals(accessor.getCommand())
+                && accessor.getDestination() != null && isAdminDestination(accessor.getDestination())) {
+            log.warn("Rejected client message to {}", accessor.getDestination());
+            recordDecision("admin-send", false);
+            return null;
+        }
+
         if (accessor != null && StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
             String destination = accessor.getDestination();
 
@@ -39,23 +66,59 @@ public class WebSocketAuthInterceptor implements ChannelInterceptor {
 
             // Проверяем подписку на чат мероприятия
             if (destination.startsWith("/topic/chat/")) {
-                return validateSubscription(message, accessor, destination, CHAT_PATTERN, "chat");
+                return recordDecision("chat",
+                        validateSubscription(message, accessor, destination, CHAT_PATTERN, "chat"));
             }
 
             // Проверяем подписку на задачи
             if (destination.startsWith("/topic/tasks/")) {
-                return validateSubscription(message, accessor, destination, TASKS_PATTERN, "tasks");
+                return recordDecision("tasks",
+                        validateSubscription(message, accessor, destination, TASKS_PATTERN, "tasks"));
             }
 
             // Проверяем подписку на checklist
             if (destination.startsWith("/topic/checklist/")) {
-                return validateSubscription(message, accessor, destination, CHECKLIST_PATTERN, "checklist");
+                return recordDecision("checklist",
+                        validateSubscription(message, accessor, destination, CHECKLIST_PATTERN, "checklist"));
+            }
+
+            // Топики панели администратора доступны только администраторам
+            if (isAdminDestination(destination)) {
+                return recordDecision("admin", validateAdminSubscription(message, accessor, destination));
             }
         }
 
         return message;
     }
 
+    private static boolean isAdminDestination(String destination) {
+        return PATH_MATCHER.match(ADMIN_DESTINATIONS, destination);
+    }
+
+    private Message<?> recordDecision(String type, Message<?> result) {
+        recordDecision(type, result != null);
+        return result;
+    }
+
+    private void recordDecision(String type, boolean allowed) {
+        meterRegistry.counter("websocket.subscriptions",
+                "type", type, "outcome", allowed ? "allowed" : "denied").increment();
+    }
+
+    private Message<?> validateAdminSubscription(Message<?> originalMessage,
+                                                 StompHeaderAccessor accessor,
+                                                 String destination) {
+        if (accessor.getUser() instanceof Authentication authentication
+                && authentication.getAuthorities().stream()
+                .anyMatch(authority -> Role.ROLE_ADMIN.name().equals(authority.getAuthority()))) {
+            return originalMessage;
+        }
+
+        log.warn("User {} attempted to subscribe to {} without admin role",
+                accessor.getUser() != null ? accessor.getUser().getName() : null, destination);
+        return null;
+    }
+
     private Message<?> validateSubscription(Message<?> originalMessage,
                                             StompHeaderAccessor accessor,
                                             String destination,
@@ -83,12 +146,19 @@ public class WebSocketAuthInterceptor implements ChannelInterceptor {
                 return null;
             }
 
-            // 3. Находим пользователя
-            User user = userRepository.findByUsername(username)
-                    .orElseThrow(() -> new RuntimeException("User not found: " + username));
+            // 3. Id пользователя берем из principal сессии, без запроса к БД
+            Long userId;
+            if (accessor.getUser() instanceof Authentication authentication
+                    && authentication.getPrincipal() instanceof AppUserDetails details) {
+                userId = details.getId();
+            } else {
+                userId = userRepository.findByUsername(username)
+                        .map(User::getId)
+                        .orElseThrow(() -> new RuntimeException("User not found: " + username));
+            }
 
             // 4. участник ли?
-            boolean isParticipant = eventRepository.existsByIdAndParticipantsId(eventId, user.getId());
+            boolean isParticipant = eventAccessService.hasParticipant(eventId, userId);
 
             if (!isParticipant) {
                 log.warn("User {} attempted to subscribe to {} {} without being participant",
@@ -12,9 +12,18 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 public class WebSocketConfiguration implements WebSocketMessageBrokerConfigurer {
 
     private final WebSocketAuthInterceptor webSocketAuthInterceptor;
-
-    public WebSocketConfiguration(WebSocketAuthInterceptor webSocketAuthInterceptor) {
+    private final StompCorrelationInterceptor stompCorrelationInterceptor;
+    private final StompRateLimitInterceptor stompRateLimitInterceptor;
+    private final StompTokenAuthInterceptor stompTokenAuthInterceptor;
+
+    public WebSocketConfiguration(WebSocketAuthInterceptor webSocketAuthInterceptor,
+                                  StompCorrelationInterceptor stompCorrelationInterceptor,
+                                  StompRateLimitInterceptor stompRateLimitInterceptor,
+                                  StompTokenAuthInterceptor stompTokenAuthInterceptor) {
         this.webSocketAuthInterceptor = webSocketAuthInterceptor;
+        this.stompCorrelationInterceptor = stompCorrelationInterceptor;
+        this.stompRateLimitInterceptor = stompRateLimitInterceptor;
+        this.stompTokenAuthInterceptor = stompTokenAuthInterceptor;
     }
 
     @Override
@@ -36,6 +45,6 @@ public class WebSocketConfiguration implements WebSocketMessageBrokerConfigurer
 
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
-        registration.interceptors(webSocketAuthInterceptor);
+        registration.interceptors(stompTokenAuthInterceptor, webSocketAuthInterceptor, stompRateLimitInterceptor, stompCorrelationInterceptor);
     }
 }
\ No newline at end of file
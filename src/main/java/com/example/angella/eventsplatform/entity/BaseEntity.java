@@ -20,8 +20,10 @@ import java.time.Instant;
 @NoArgsConstructor
 public abstract class BaseEntity {
 
+    // Последовательность <таблица>_seq с шагом 50: id выдаются блоками без запроса к БД на каждую
+    // сущность, поэтому вставки не выполняются сразу при persist и объединяются в пакеты JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     @CreationTimestamp
@@ -5,6 +5,7 @@ import lombok.*;
 
 import java.util.Set;
 
+@NamedEntityGraph(name = ChatMessage.ROOM_GRAPH, attributeNodes = @NamedAttributeNode("author"))
 @Entity
 @Getter
 @Setter
@@ -13,6 +14,9 @@ import java.util.Set;
 @ToString
 public class ChatMessage extends BaseEntity {
 
+    // Лента чата; изображения страницы догружаются пакетами (default_batch_fetch_size)
+    public static final String ROOM_GRAPH = "ChatMessage.room";
+
     @Column(nullable = false)
     private String content;
 
@@ -6,6 +6,10 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+@NamedEntityGraph(name = ChecklistItem.WITH_USERS_GRAPH, attributeNodes = {
+        @NamedAttributeNode("createdBy"),
+        @NamedAttributeNode("assignedUser")
+})
 @Entity
 @Getter
 @Setter
@@ -13,6 +17,9 @@ import lombok.Setter;
 @AllArgsConstructor
 public class ChecklistItem extends BaseEntity {
 
+    // Автор и исполнитель нужны ChecklistMapper
+    public static final String WITH_USERS_GRAPH = "ChecklistItem.withUsers";
+
     @Column(nullable = false)
     private String name;
 
@@ -5,11 +5,15 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "reference.checklist-template")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -25,6 +29,7 @@ public class ChecklistTemplate extends BaseEntity {
     private TemplateCategory category;
 
     @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY, mappedBy = "template")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "reference.checklist-template-items")
     private Set<TemplateItem> items = new HashSet<>();
 }
 
@@ -7,6 +7,23 @@ import java.time.Instant;
 import java.util.HashSet;
 import java.util.Set;
 
+// Планы выборки по сценариям: сервисы загружают мероприятие одним из них и собирают
+// модель представления внутри транзакции, поэтому шаблоны и мапперы не читают ленивые связи
+@NamedEntityGraph(name = Event.CARD_GRAPH, attributeNodes = {
+        @NamedAttributeNode("categories"),
+        @NamedAttributeNode("location"),
+        @NamedAttributeNode("creator")
+})
+@NamedEntityGraph(name = Event.DETAIL_GRAPH, attributeNodes = {
+        @NamedAttributeNode("categories"),
+        @NamedAttributeNode("location"),
+        @NamedAttributeNode("creator"),
+        @NamedAttributeNode(value = "participants", subgraph = "participant")
+}, subgraphs = @NamedSubgraph(name = "participant", attributeNodes = @NamedAttributeNode("avatar")))
+@NamedEntityGraph(name = Event.CHAT_ROOM_GRAPH, attributeNodes = {
+        @NamedAttributeNode("creator"),
+        @NamedAttributeNode("participants")
+})
 @Entity
 @NoArgsConstructor
 @AllArgsConstructor
@@ -15,6 +32,13 @@ import java.util.Set;
 @ToString
 public class Event extends BaseEntity {
 
+    // Карточки в списках: категории, место и создатель (число участников считается запросом)
+    public static final String CARD_GRAPH = "Event.card";
+    // Страница мероприятия: участники вместе с аватарами
+    public static final String DETAIL_GRAPH = "Event.detail";
+    // Комната чата: список участников для назначения задач
+    public static final String CHAT_ROOM_GRAPH = "Event.chatRoom";
+
     @Column(nullable = false)
     private String name;
 
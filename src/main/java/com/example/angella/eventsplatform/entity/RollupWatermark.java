@@ -0,0 +1,24 @@
+package com.example.angella.eventsplatform.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+// Граница, до которой исходные данные уже учтены в таблицах агрегатов
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RollupWatermark {
+
+    @Id
+    private String name;
+
+    private Instant processedUntil;
+}
@@ -6,6 +6,12 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.Instant;
+
+@NamedEntityGraph(name = Task.WITH_USERS_GRAPH, attributeNodes = {
+        @NamedAttributeNode("creator"),
+        @NamedAttributeNode("assignedUser")
+})
 @Entity
 @Getter
 @Setter
@@ -13,11 +19,17 @@ import lombok.Setter;
 @AllArgsConstructor
 public class Task extends BaseEntity {
 
+    // Автор и исполнитель нужны TaskMapper
+    public static final String WITH_USERS_GRAPH = "Task.withUsers";
+
     @Column(nullable = false)
     private String description;
 
     private boolean completed;
 
+    // Время последнего выполнения, используется в статистике активности
+    private Instant completedAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "event_id", nullable = false)
     private Event event;
@@ -29,4 +41,13 @@ public class Task extends BaseEntity {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assigned_user_id")
     private User assignedUser;
-}
\ No newline at end of file
+
+    public void setCompleted(boolean completed) {
+        if (completed && !this.completed) {
+            completedAt = Instant.now();
+        } else if (!completed) {
+            completedAt = null;
+        }
+        this.completed = completed;
+    }
+}
@@ -2,6 +2,8 @@ package com.example.angella.eventsplatform.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -38,7 +40,9 @@ public class User extends BaseEntity {
     @JoinColumn(name = "avatar_image_id")
     private Image avatar;
 
+    // Роли читаются при каждой загрузке пользователя и почти не меняются
     @ElementCollection(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "reference.user-roles")
     @CollectionTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"))
     @Enumerated(EnumType.STRING)
     private Set<Role> roles = new HashSet<>();
@@ -0,0 +1,11 @@
+package com.example.angella.eventsplatform.exception;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+//Исключение входа, когда пул проверки паролей переполнен: форма входа предлагает повторить позже
+public class AuthenticationOverloadedException extends AuthenticationServiceException {
+
+    public AuthenticationOverloadedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.angella.eventsplatform.exception;
+
+import lombok.Getter;
+
+//Исключение, когда клиент исчерпал лимит запросов политики и должен повторить позже
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+
+    private final String policy;
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String policy, long retryAfterSeconds) {
+        super("Rate limit exceeded for " + policy + ", retry in " + retryAfterSeconds + " s");
+        this.policy = policy;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
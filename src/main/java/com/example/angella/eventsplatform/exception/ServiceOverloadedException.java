@@ -0,0 +1,9 @@
+package com.example.angella.eventsplatform.exception;
+
+//Исключение, когда ограниченный пул обработки переполнен и запрос нужно повторить позже
+public class ServiceOverloadedException extends RuntimeException {
+
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.angella.eventsplatform.exception;
+
+//Исключение для ошибок протокола загрузки файлов (неверное смещение, контрольная сумма и т.п.)
+public class UploadException extends RuntimeException {
+
+    public UploadException(String message) {
+        super(message);
+    }
+}
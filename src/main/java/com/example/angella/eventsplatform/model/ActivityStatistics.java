@@ -0,0 +1,20 @@
+package com.example.angella.eventsplatform.model;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Активность на платформе за период (границы включительно), из дневных агрегатов
+@Value
+public class ActivityStatistics {
+    LocalDate from;
+    LocalDate to;
+    long eventsCreated;
+    long participantsJoined;
+    long chatMessages;
+    long comments;
+    long tasksCompleted;
+    long imagesUploaded;
+    List<CategoryStatistics> categories;
+}
@@ -0,0 +1,37 @@
+package com.example.angella.eventsplatform.model;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+// Строка таблицы мероприятий в админ-панели: проекция без загрузки сущностей и коллекций
+@Value
+public class AdminEventRow {
+    Long id;
+    String name;
+    // Первые символы описания, полный текст в таблице не нужен
+    String descriptionPreview;
+    String creatorUsername;
+    String creatorEmail;
+    Instant startTime;
+    Instant endTime;
+    String city;
+    String street;
+    int participantCount;
+    // Файл первого изображения мероприятия или null
+    String coverFilename;
+    // UPCOMING, ACTIVE или COMPLETED относительно момента запроса
+    String status;
+
+    public boolean isUpcoming() {
+        return "UPCOMING".equals(status);
+    }
+
+    public boolean isActive() {
+        return "ACTIVE".equals(status);
+    }
+
+    public boolean isCompleted() {
+        return "COMPLETED".equals(status);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.angella.eventsplatform.model;
+
+import com.example.angella.eventsplatform.entity.Role;
+import lombok.Value;
+
+import java.util.Set;
+
+// Строка таблицы пользователей в админ-панели: счетчики мероприятий вместо загрузки коллекций
+@Value
+public class AdminUserRow {
+    Long id;
+    String username;
+    String email;
+    String firstName;
+    String lastName;
+    // Файл аватара или null
+    String avatarFilename;
+    Set<Role> roles;
+    int eventCount;
+    int createdEventCount;
+}
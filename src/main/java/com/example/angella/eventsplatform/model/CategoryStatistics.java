@@ -0,0 +1,10 @@
+package com.example.angella.eventsplatform.model;
+
+import lombok.Value;
+
+// Количество мероприятий в категории для статистики платформы
+@Value
+public class CategoryStatistics {
+    String name;
+    long eventCount;
+}
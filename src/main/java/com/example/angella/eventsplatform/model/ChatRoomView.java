@@ -0,0 +1,16 @@
+package com.example.angella.eventsplatform.model;
+
+import com.example.angella.eventsplatform.web.dto.ChatMessageDto;
+import lombok.Value;
+
+import java.util.List;
+
+// Комната чата мероприятия: участники (план выборки Event.chatRoom) и страница сообщений,
+// преобразованных в DTO внутри транзакции
+@Value
+public class ChatRoomView {
+    Long id;
+    String name;
+    List<ParticipantView> participants;
+    List<ChatMessageDto> messages;
+}
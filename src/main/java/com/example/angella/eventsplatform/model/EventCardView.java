@@ -0,0 +1,24 @@
+package com.example.angella.eventsplatform.model;
+
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.List;
+
+// Карточка мероприятия в списках (главная, каталог, "Мои мероприятия", список чатов).
+// Собирается в транзакции из плана выборки Event.card, ленивых связей не содержит
+@Value
+public class EventCardView {
+    Long id;
+    String name;
+    Instant startTime;
+    Instant endTime;
+    String city;
+    String street;
+    List<String> categories;
+    int participantCount;
+    Long creatorId;
+    String creatorUsername;
+    // Файл основного изображения мероприятия или null
+    String coverFilename;
+}
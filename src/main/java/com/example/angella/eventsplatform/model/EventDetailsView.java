@@ -0,0 +1,28 @@
+package com.example.angella.eventsplatform.model;
+
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.List;
+
+// Страница мероприятия и форма редактирования. Собирается в транзакции из плана выборки
+// Event.detail; изображения - из манифеста, первое считается основным
+@Value
+public class EventDetailsView {
+    Long id;
+    String name;
+    String description;
+    Instant startTime;
+    Instant endTime;
+    String city;
+    String street;
+    List<String> categories;
+    Long creatorId;
+    String creatorUsername;
+    List<ParticipantView> participants;
+    List<EventImageSummary> images;
+
+    public EventImageSummary getMainImage() {
+        return images.isEmpty() ? null : images.get(0);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.angella.eventsplatform.model;
+
+import lombok.Value;
+
+import java.util.List;
+
+// Упорядоченный список изображений мероприятия (без изображений чата).
+// Первое загруженное изображение считается основным
+@Value
+public class EventImageManifest {
+    Long eventId;
+    List<EventImageSummary> images;
+
+    public EventImageManifest(Long eventId, List<EventImageSummary> images) {
+        this.eventId = eventId;
+        this.images = List.copyOf(images);
+    }
+
+    public EventImageSummary getMainImage() {
+        return images.isEmpty() ? null : images.get(0);
+    }
+
+    public List<Long> getImageIds() {
+        return images.stream().map(EventImageSummary::getId).toList();
+    }
+
+    public boolean isEmpty() {
+        return images.isEmpty();
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.angella.eventsplatform.model;
+
+import lombok.Value;
+
+// Неизменяемое описание изображения мероприятия для манифеста и шаблонов
+@Value
+public class EventImageSummary {
+    Long id;
+    String filename;
+    String originalFilename;
+    String contentType;
+    Long size;
+}
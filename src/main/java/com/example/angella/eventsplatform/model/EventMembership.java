@@ -0,0 +1,13 @@
+package com.example.angella.eventsplatform.model;
+
+import lombok.Value;
+
+// Роль пользователя в мероприятии: создатель и/или участник
+@Value
+public class EventMembership {
+
+    public static final EventMembership NONE = new EventMembership(false, false);
+
+    boolean creator;
+    boolean participant;
+}
@@ -0,0 +1,16 @@
+package com.example.angella.eventsplatform.model;
+
+import lombok.Value;
+
+// Число мероприятий по статусам и участников, посчитанные одним группирующим запросом
+@Value
+public class EventStatusStatistics {
+    long upcomingEvents;
+    long activeEvents;
+    long completedEvents;
+    long totalParticipants;
+
+    public long getTotalEvents() {
+        return upcomingEvents + activeEvents + completedEvents;
+    }
+}
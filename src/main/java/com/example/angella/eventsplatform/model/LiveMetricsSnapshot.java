@@ -0,0 +1,24 @@
+package com.example.angella.eventsplatform.model;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+// Снимок оперативных метрик платформы, публикуемый на панель администратора
+@Value
+public class LiveMetricsSnapshot {
+    Instant timestamp;
+    int activeSessions;
+    double messagesPerSecond;
+    double joinsPerSecond;
+    double uploadsPerSecond;
+    long messagesTotal;
+    long joinsTotal;
+    long uploadsTotal;
+    // Пул соединений с БД; -1, если пул недоступен
+    int dbActiveConnections;
+    int dbIdleConnections;
+    int dbTotalConnections;
+    int dbMaxConnections;
+    int dbPendingThreads;
+}
@@ -0,0 +1,12 @@
+package com.example.angella.eventsplatform.model;
+
+import lombok.Value;
+
+// Участник мероприятия для страниц мероприятия и чата
+@Value
+public class ParticipantView {
+    Long id;
+    String username;
+    // Файл аватара или null
+    String avatarFilename;
+}
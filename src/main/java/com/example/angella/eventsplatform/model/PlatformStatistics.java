@@ -0,0 +1,47 @@
+package com.example.angella.eventsplatform.model;
+
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.List;
+
+// Снимок статистики платформы, полученный одним агрегирующим запросом
+@Value
+public class PlatformStatistics {
+    long totalUsers;
+    long totalEvents;
+    long upcomingEvents;
+    long totalCategories;
+    int averageParticipantsPerEvent;
+    long totalComments;
+    long totalChatMessages;
+    long eventsWithChats;
+    long totalTasks;
+    long completedTasks;
+    long totalChecklistItems;
+    long completedChecklistItems;
+    List<CategoryStatistics> popularCategories;
+    Instant generatedAt;
+
+    public int getCompletedTasksPercentage() {
+        return percentage(completedTasks, totalTasks);
+    }
+
+    public int getCompletedChecklistItemsPercentage() {
+        return percentage(completedChecklistItems, totalChecklistItems);
+    }
+
+    public int getOverallCompletion() {
+        return (getCompletedTasksPercentage() + getCompletedChecklistItemsPercentage()) / 2;
+    }
+
+    public double getMessagesPerUser() {
+        if (totalUsers == 0) return 0.0;
+        return Math.round(((double) totalChatMessages / totalUsers) * 100.0) / 100.0;
+    }
+
+    private static int percentage(long part, long total) {
+        if (total == 0) return 0;
+        return (int) ((part * 100) / total);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.angella.eventsplatform.model;
+
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.List;
+
+// Запись журнала медленных операций: SQL-запрос или HTTP-запрос/STOMP-кадр целиком
+@Value
+public class SlowLogEntry {
+    Instant timestamp;
+    Kind kind;
+    String requestId;
+    // Источник: "GET /events", "STOMP SEND /app/chat/1" или имя потока
+    String source;
+    long durationMs;
+    // Для SQL - текст запроса, для запроса - null
+    String sql;
+    // Параметры SQL (маскированные); пусто, если запись не попала в выборку
+    List<String> parameters;
+    // Для запроса - число SQL-выражений и их суммарное время
+    int statementCount;
+    long sqlTimeMs;
+
+    public enum Kind {
+        SQL, REQUEST
+    }
+}
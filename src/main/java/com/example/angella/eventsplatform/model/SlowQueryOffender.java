@@ -0,0 +1,13 @@
+package com.example.angella.eventsplatform.model;
+
+import lombok.Value;
+
+// Сводка по одному SQL-запросу среди записей журнала медленных операций
+@Value
+public class SlowQueryOffender {
+    String sql;
+    long count;
+    long totalMs;
+    long maxMs;
+    String lastSource;
+}
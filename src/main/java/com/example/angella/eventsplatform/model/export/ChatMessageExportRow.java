@@ -0,0 +1,23 @@
+package com.example.angella.eventsplatform.model.export;
+
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+// Сообщение чата мероприятия для выгрузки
+@Value
+public class ChatMessageExportRow implements ExportRow {
+    Long id;
+    Instant createdAt;
+    String author;
+    String content;
+    boolean edited;
+    long imageCount;
+
+    @Override
+    public List<Object> cells() {
+        return Arrays.asList(id, createdAt, author, content, edited, imageCount);
+    }
+}
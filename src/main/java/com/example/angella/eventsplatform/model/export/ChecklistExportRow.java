@@ -0,0 +1,23 @@
+package com.example.angella.eventsplatform.model.export;
+
+import lombok.Value;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Пункт чек-листа мероприятия для выгрузки
+@Value
+public class ChecklistExportRow implements ExportRow {
+    Long id;
+    String name;
+    String description;
+    Integer quantity;
+    boolean completed;
+    String assignedUser;
+    String createdBy;
+
+    @Override
+    public List<Object> cells() {
+        return Arrays.asList(id, name, description, quantity, completed, assignedUser, createdBy);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.angella.eventsplatform.model.export;
+
+import java.util.List;
+
+// Строка выгрузки: значения ячеек в порядке колонок раздела
+public interface ExportRow {
+
+    List<Object> cells();
+}
@@ -0,0 +1,22 @@
+package com.example.angella.eventsplatform.model.export;
+
+import lombok.Value;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Участник мероприятия для выгрузки
+@Value
+public class ParticipantExportRow implements ExportRow {
+    Long id;
+    String username;
+    String firstName;
+    String lastName;
+    String email;
+    boolean organizer;
+
+    @Override
+    public List<Object> cells() {
+        return Arrays.asList(id, username, firstName, lastName, email, organizer);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.angella.eventsplatform.model.export;
+
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+// Задача мероприятия для выгрузки
+@Value
+public class TaskExportRow implements ExportRow {
+    Long id;
+    String description;
+    boolean completed;
+    String creator;
+    String assignedUser;
+    Instant createdAt;
+    Instant completedAt;
+
+    @Override
+    public List<Object> cells() {
+        return Arrays.asList(id, description, completed, creator, assignedUser, createdAt, completedAt);
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.angella.eventsplatform.repository;
+
+import com.example.angella.eventsplatform.entity.RollupWatermark;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+// Дневные агрегаты активности (daily_activity_rollup).
+// category_id = 0 - итог по платформе, остальные строки - разрез по категориям мероприятий
+public interface ActivityRollupRepository extends Repository<RollupWatermark, String> {
+
+    // Добавляет к агрегатам активность с отметкой времени в [from, to)
+    // Затрагиваемая таблица указана явно: иначе нативное изменение сбрасывает весь второй уровень кэша
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_activity_rollup"))
+    @Query(value = """
+            WITH activity AS (
+                SELECT CAST(e.created_at AS date) AS day, e.id AS event_id,
+                       1 AS events_created, 0 AS participants_joined, 0 AS chat_messages,
+                       0 AS comments, 0 AS tasks_completed, 0 AS images_uploaded
+                FROM event e
+                WHERE e.created_at >= :from AND e.created_at < :to
+                UNION ALL
+                SELECT CAST(ep.joined_at AS date), ep.event_id, 0, 1, 0, 0, 0, 0
+                FROM events_participants ep
+                WHERE ep.joined_at >= :from AND ep.joined_at < :to
+                UNION ALL
+                SELECT CAST(cm.created_at AS date), cm.event_id, 0, 0, 1, 0, 0, 0
+                FROM chat_message cm
+                WHERE cm.created_at >= :from AND cm.created_at < :to
+                UNION ALL
+                SELECT CAST(c.created_at AS date), c.event_id, 0, 0, 0, 1, 0, 0
+                FROM comment c
+                WHERE c.created_at >= :from AND c.created_at < :to
+                UNION ALL
+                SELECT CAST(t.completed_at AS date), t.event_id, 0, 0, 0, 0, 1, 0
+                FROM task t
+                WHERE t.completed_at >= :from AND t.completed_at < :to
+                UNION ALL
+                SELECT CAST(i.created_at AS date), i.event_id, 0, 0, 0, 0, 0, 1
+                FROM image i
+                WHERE i.created_at >= :from AND i.created_at < :to
+            ),
+            expanded AS (
+                SELECT a.day, 0 AS category_id, a.events_created, a.participants_joined, a.chat_messages,
+                       a.comments, a.tasks_completed, a.images_uploaded
+                FROM activity a
+                UNION ALL
+                SELECT a.day, ec.category_id, a.events_created, a.participants_joined, a.chat_messages,
+                       a.comments, a.tasks_completed, a.images_uploaded
+                FROM activity a
+                JOIN event_categories ec ON ec.event_id = a.event_id
+            )
+            INSERT INTO daily_activity_rollup (day, category_id, events_created, participants_joined,
+                                               chat_messages, comments, tasks_completed, images_uploaded)
+            SELECT day, category_id, SUM(events_created), SUM(participants_joined), SUM(chat_messages),
+                   SUM(comments), SUM(tasks_completed), SUM(images_uploaded)
+            FROM expanded
+            GROUP BY day, category_id
+            ON CONFLICT (day, category_id) DO UPDATE SET
+                events_created = daily_activity_rollup.events_created + EXCLUDED.events_created,
+                participants_joined = daily_activity_rollup.participants_joined + EXCLUDED.participants_joined,
+                chat_messages = daily_activity_rollup.chat_messages + EXCLUDED.chat_messages,
+                comments = daily_activity_rollup.comments + EXCLUDED.comments,
+                tasks_completed = daily_activity_rollup.tasks_completed + EXCLUDED.tasks_completed,
+                images_uploaded = daily_activity_rollup.images_uploaded + EXCLUDED.images_uploaded
+            """, nativeQuery = true)
+    int accumulate(@Param("from") Instant from, @Param("to") Instant to);
+
+    @Query(value = """
+            SELECT CAST(COALESCE(SUM(r.events_created), 0) AS bigint) AS "eventsCreated",
+                   CAST(COALESCE(SUM(r.participants_joined), 0) AS bigint) AS "participantsJoined",
+                   CAST(COALESCE(SUM(r.chat_messages), 0) AS bigint) AS "chatMessages",
+                   CAST(COALESCE(SUM(r.comments), 0) AS bigint) AS "comments",
+                   CAST(COALESCE(SUM(r.tasks_completed), 0) AS bigint) AS "tasksCompleted",
+                   CAST(COALESCE(SUM(r.images_uploaded), 0) AS bigint) AS "imagesUploaded"
+            FROM daily_activity_rollup r
+            WHERE r.category_id = 0 AND r.day BETWEEN :from AND :to
+            """, nativeQuery = true)
+    ActivityTotalsRow sumTotals(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query(value = """
+            SELECT c.name AS "name", CAST(SUM(r.events_created) AS bigint) AS "eventCount"
+            FROM daily_activity_rollup r
+            JOIN category c ON c.id = r.category_id
+            WHERE r.day BETWEEN :from AND :to
+            GROUP BY c.id, c.name
+            HAVING SUM(r.events_created) > 0
+            ORDER BY SUM(r.events_created) DESC, c.name
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<CategoryActivityRow> sumByCategory(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                            @Param("limit") int limit);
+
+    interface ActivityTotalsRow {
+        Long getEventsCreated();
+        Long getParticipantsJoined();
+        Long getChatMessages();
+        Long getComments();
+        Long getTasksCompleted();
+        Long getImagesUploaded();
+    }
+
+    interface CategoryActivityRow {
+        String getName();
+        Long getEventCount();
+    }
+}
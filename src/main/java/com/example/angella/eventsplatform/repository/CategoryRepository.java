@@ -1,13 +1,29 @@
 package com.example.angella.eventsplatform.repository;
 
 import com.example.angella.eventsplatform.entity.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Collection;
 import java.util.List;
 
+// Списки категорий кэшируются в регионе запросов reference.queries; результат устаревает
+// при любом изменении таблицы category
 public interface CategoryRepository extends JpaRepository<Category, Long> {
 
+    @Override
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "reference.queries")
+    })
+    List<Category> findAll();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "reference.queries")
+    })
     List<Category> findAllByNameIn(Collection<String> names);
 
 }
@@ -1,16 +1,22 @@
 package com.example.angella.eventsplatform.repository;
 
 import com.example.angella.eventsplatform.entity.ChatMessage;
+import com.example.angella.eventsplatform.model.export.ChatMessageExportRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
+    @EntityGraph(ChatMessage.ROOM_GRAPH)
     Page<ChatMessage> findAllByEventId(Long eventId, Pageable pageable);
 
     boolean existsByIdAndEventIdAndAuthorId(Long id, Long eventId, Long authorId);
@@ -20,4 +26,16 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
     @EntityGraph(attributePaths = {"images", "author"})
     @Query("SELECT cm FROM ChatMessage cm WHERE cm.id = :id")
     Optional<ChatMessage> findByIdWithImages(@Param("id") Long id);
-}
\ No newline at end of file
+
+    // Потоковое чтение переписки мероприятия для выгрузки (курсор JDBC, нужна открытая транзакция)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.example.angella.eventsplatform.model.export.ChatMessageExportRow(" +
+            "m.id, m.createdAt, a.username, m.content, m.edited, " +
+            "(SELECT COUNT(i) FROM Image i WHERE i.chatMessage = m)) " +
+            "FROM ChatMessage m JOIN m.author a " +
+            "WHERE m.event.id = :eventId ORDER BY m.createdAt, m.id")
+    Stream<ChatMessageExportRow> streamForExport(@Param("eventId") Long eventId);
+}
@@ -1,16 +1,28 @@
 package com.example.angella.eventsplatform.repository;
 
 import com.example.angella.eventsplatform.entity.ChecklistItem;
+import com.example.angella.eventsplatform.model.export.ChecklistExportRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ChecklistItemRepository extends JpaRepository<ChecklistItem, Long> {
 
+    @EntityGraph(ChecklistItem.WITH_USERS_GRAPH)
     List<ChecklistItem> findAllByEventId(Long eventId);
 
+    @Override
+    @EntityGraph(ChecklistItem.WITH_USERS_GRAPH)
+    Optional<ChecklistItem> findById(Long id);
+
     boolean existsByIdAndEventId(Long id, Long eventId);
 
     boolean existsByIdAndCreatedById(Long itemId, Long userId);
@@ -22,4 +34,15 @@ public interface ChecklistItemRepository extends JpaRepository<ChecklistItem, Lo
     long countTotalItems(@Param("eventId") Long eventId);
 
     long countByCompletedTrue();
-}
\ No newline at end of file
+
+    // Потоковое чтение чек-листа мероприятия для выгрузки (курсор JDBC, нужна открытая транзакция)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.example.angella.eventsplatform.model.export.ChecklistExportRow(" +
+            "c.id, c.name, c.description, c.quantity, c.completed, a.username, cb.username) " +
+            "FROM ChecklistItem c JOIN c.createdBy cb LEFT JOIN c.assignedUser a " +
+            "WHERE c.event.id = :eventId ORDER BY c.id")
+    Stream<ChecklistExportRow> streamForExport(@Param("eventId") Long eventId);
+}
@@ -2,13 +2,27 @@ package com.example.angella.eventsplatform.repository;
 
 import com.example.angella.eventsplatform.entity.ChecklistTemplate;
 import com.example.angella.eventsplatform.entity.TemplateCategory;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import java.util.List;
 
 public interface ChecklistTemplateRepository extends JpaRepository<ChecklistTemplate, Long> {
 
+    @Override
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "reference.queries")
+    })
+    List<ChecklistTemplate> findAll();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "reference.queries")
+    })
     List<ChecklistTemplate> findByCategory(TemplateCategory category);
 
     @Query("SELECT t FROM ChecklistTemplate t WHERE LOWER(t.name) LIKE LOWER(CONCAT('%', :name, '%'))")
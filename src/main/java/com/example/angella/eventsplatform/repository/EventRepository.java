@@ -2,9 +2,9 @@ package com.example.angella.eventsplatform.repository;
 
 import com.example.angella.eventsplatform.entity.Category;
 import com.example.angella.eventsplatform.entity.Event;
+import com.example.angella.eventsplatform.model.AdminEventRow;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
@@ -12,47 +12,72 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
-public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event> {
+public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event>,
+        EventRepositoryCustom {
 
-    @EntityGraph(attributePaths = {"creator", "categories", "description", "location","creator.roles", "participants"})
+    @EntityGraph(Event.DETAIL_GRAPH)
     @Query("SELECT e FROM Event e WHERE e.id = :id")
     Optional<Event> findByIdWithRelations(@Param("id") Long id);
 
-    @Override
-    @EntityGraph(attributePaths = {"categories", "location", "description", "creator", "participants"})
-    Page<Event> findAll(Specification<Event> spec, Pageable pageable);
+    @EntityGraph(Event.CHAT_ROOM_GRAPH)
+    @Query("SELECT e FROM Event e WHERE e.id = :id")
+    Optional<Event> findByIdForChatRoom(@Param("id") Long id);
+
+    // Мероприятия пользователя-участника, новые сначала
+    @EntityGraph(Event.CARD_GRAPH)
+    @Query("SELECT e FROM Event e WHERE EXISTS (SELECT 1 FROM e.participants p WHERE p.id = :userId) " +
+            "ORDER BY e.startTime DESC")
+    List<Event> findAllByParticipant(@Param("userId") Long userId);
 
     @Override
-    @EntityGraph(attributePaths = {"categories", "location", "description", "creator", "participants"})
+    @EntityGraph(Event.CARD_GRAPH)
     List<Event> findAll();
 
-    @Override
-    @EntityGraph(attributePaths = {"categories", "location", "description", "creator", "participants"})
-    Optional<Event> findById(Long id);
+    @EntityGraph(Event.CARD_GRAPH)
+    @Query("SELECT e FROM Event e WHERE e.id = :id")
+    Optional<Event> findCardById(@Param("id") Long id);
+
+    // План Event.card для страницы, выбранной отдельно по идентификаторам; порядок не сохраняется
+    @EntityGraph(Event.CARD_GRAPH)
+    @Query("SELECT e FROM Event e WHERE e.id IN :ids")
+    List<Event> findCardsByIdIn(@Param("ids") Collection<Long> ids);
 
-    @EntityGraph(attributePaths = {"categories", "location", "description", "creator", "participants"})
+    // Идентификаторы мероприятий, начинающихся позже currentTime: сортировка и ограничение в БД
+    @Query("SELECT e.id FROM Event e WHERE e.startTime > :currentTime")
+    List<Long> findIdsStartingAfter(@Param("currentTime") Instant currentTime, Pageable pageable);
+
+    // Число участников для карточек одним запросом
+    @Query("SELECT e.id AS eventId, SIZE(e.participants) AS participantCount FROM Event e WHERE e.id IN :ids")
+    List<ParticipantCountRow> countParticipantsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @EntityGraph(Event.CARD_GRAPH)
     @Query("SELECT e FROM Event e ORDER BY e.startTime DESC")
     List<Event> findAllOrderByStartTimeDesc();
 
-    @EntityGraph(attributePaths = {"categories", "location", "description", "creator", "participants"})
+    @EntityGraph(Event.CARD_GRAPH)
     @Query("SELECT e FROM Event e ORDER BY e.startTime ASC")
     List<Event> findAllOrderByStartTimeAsc();
 
-    @EntityGraph(attributePaths = {"categories", "location", "description", "creator", "participants"})
+    @EntityGraph(Event.CARD_GRAPH)
     @Query("SELECT e FROM Event e WHERE e.startTime > :currentTime ORDER BY e.startTime ASC")
     List<Event> findUpcomingEvents(@Param("currentTime") Instant currentTime);
 
-    @EntityGraph(attributePaths = {"categories", "location", "description", "creator", "participants"})
+    @EntityGraph(Event.CARD_GRAPH)
     @Query("SELECT e FROM Event e JOIN e.categories c WHERE c IN :categories ORDER BY e.startTime")
     List<Event> findByCategoriesOrderByStartTime(@Param("categories") Set<Category> categories);
 
-    boolean existsByIdAndParticipantsId(Long eventId, Long userId);
-
-    boolean existsByIdAndCreatorId(Long eventId, Long userId);
+    // Признаки "создатель" и "участник" одним запросом (используется EventAccessService)
+    @Query(value = """
+            SELECT EXISTS(SELECT 1 FROM event e WHERE e.id = :eventId AND e.creator_id = :userId) AS "creator",
+                   EXISTS(SELECT 1 FROM events_participants ep
+                          WHERE ep.event_id = :eventId AND ep.user_id = :userId) AS "participant"
+            """, nativeQuery = true)
+    MembershipRow findMembership(@Param("eventId") Long eventId, @Param("userId") Long userId);
 
     //Города
     @Query("SELECT DISTINCT l.city FROM Location l ORDER BY l.city")
@@ -61,16 +86,40 @@ public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecific
     @Query("SELECT DISTINCT l.city FROM Location l WHERE LOWER(l.city) LIKE LOWER(CONCAT('%', :search, '%')) ORDER BY l.city")
     List<String> findDistinctCitiesBySearch(@Param("search") String search);
 
-    @Query("SELECT e FROM Event e LEFT JOIN FETCH e.participants")
-    List<Event> findAllWithParticipantsCount();
-
-    @Query("SELECT c.name, COUNT(e) FROM Category c LEFT JOIN c.events e GROUP BY c.id, c.name ORDER BY COUNT(e) DESC")
-    List<Object[]> findMostPopularCategories(@Param("limit") int limit);
-
     @Query("SELECT COUNT(e) FROM Event e WHERE e.startTime > :currentTime")
     long countByStartTimeAfter(@Param("currentTime") Instant currentTime);
 
     @EntityGraph(attributePaths = {"creator", "categories", "location", "participants"})
     @Query("SELECT e FROM Event e LEFT JOIN FETCH e.comments WHERE e.id = :id")
     Optional<Event> findByIdWithComments(@Param("id") Long id);
-}
\ No newline at end of file
+
+    // Страница таблицы мероприятий админ-панели. search - строка в нижнем регистре, пустая строка
+    // не фильтрует. Сортировка Pageable применяется к свойствам e (name, startTime, creator.username...).
+    // Обложка - первое загруженное изображение мероприятия (вложения чата не учитываются)
+    @Query(value = "SELECT new com.example.angella.eventsplatform.model.AdminEventRow(" +
+            "e.id, e.name, SUBSTRING(e.description, 1, 120), c.username, c.email, e.startTime, e.endTime, " +
+            "l.city, l.street, SIZE(e.participants), " +
+            "(SELECT i.filename FROM Image i WHERE i.id = " +
+            "(SELECT MIN(mi.id) FROM Image mi WHERE mi.event = e AND mi.chatMessage IS NULL)), " +
+            "CASE WHEN e.startTime > :now THEN 'UPCOMING' WHEN e.endTime < :now THEN 'COMPLETED' ELSE 'ACTIVE' END) " +
+            "FROM Event e JOIN e.creator c JOIN e.location l " +
+            "WHERE LOWER(e.name) LIKE CONCAT('%', :search, '%') " +
+            "OR LOWER(c.username) LIKE CONCAT('%', :search, '%') " +
+            "OR LOWER(l.city) LIKE CONCAT('%', :search, '%')",
+            countQuery = "SELECT COUNT(e) FROM Event e JOIN e.creator c JOIN e.location l " +
+                    "WHERE LOWER(e.name) LIKE CONCAT('%', :search, '%') " +
+                    "OR LOWER(c.username) LIKE CONCAT('%', :search, '%') " +
+                    "OR LOWER(l.city) LIKE CONCAT('%', :search, '%')")
+    Page<AdminEventRow> findAdminEventPage(@Param("now") Instant now, @Param("search") String search,
+                                           Pageable pageable);
+
+    interface MembershipRow {
+        Boolean getCreator();
+        Boolean getParticipant();
+    }
+
+    interface ParticipantCountRow {
+        Long getEventId();
+        Integer getParticipantCount();
+    }
+}
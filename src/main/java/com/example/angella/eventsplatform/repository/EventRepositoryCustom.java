@@ -0,0 +1,13 @@
+package com.example.angella.eventsplatform.repository;
+
+import com.example.angella.eventsplatform.entity.Event;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface EventRepositoryCustom {
+
+    // Страница идентификаторов мероприятий по спецификации в порядке id. LIMIT/OFFSET выполняются
+    // в БД над строками event; план выборки загружается отдельно для идентификаторов страницы
+    Page<Long> findIdPage(Specification<Event> specification, Pageable pageable);
+}
@@ -0,0 +1,56 @@
+package com.example.angella.eventsplatform.repository;
+
+import com.example.angella.eventsplatform.entity.Event;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+
+class EventRepositoryCustomImpl implements EventRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<Long> findIdPage(Specification<Event> specification, Pageable pageable) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<Event> root = query.from(Event.class);
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        // Соединение с категориями может повторить мероприятие, поэтому DISTINCT
+        query.select(root.get("id")).distinct(true).orderBy(criteriaBuilder.asc(root.get("id")));
+
+        TypedQuery<Long> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<Long> ids = typedQuery.getResultList();
+
+        return PageableExecutionUtils.getPage(ids, pageable, () -> count(specification));
+    }
+
+    private long count(Specification<Event> specification) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<Event> root = query.from(Event.class);
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(criteriaBuilder.countDistinct(root));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -1,9 +1,13 @@
 package com.example.angella.eventsplatform.repository;
 
+import com.example.angella.eventsplatform.entity.ChatMessage;
 import com.example.angella.eventsplatform.entity.Image;
+import com.example.angella.eventsplatform.model.EventImageSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,11 +24,29 @@ public interface ImageRepository extends JpaRepository<Image, Long> {
     @Query("SELECT i FROM Image i WHERE i.user.id = :userId AND i.id = :imageId")
     Optional<Image> findByIdAndUserId(@Param("imageId") Long imageId, @Param("userId") Long userId);
 
-    //Только изображения мероприятия (chatMessage IS NULL)
-    @Query("SELECT i FROM Image i WHERE i.event.id = :eventId AND i.chatMessage IS NULL")
-    List<Image> findByEventIdAndChatMessageIsNull(@Param("eventId") Long eventId);
-
-    //Только изображения чата (chatMessage IS NOT NULL)
-    @Query("SELECT i FROM Image i WHERE i.event.id = :eventId AND i.chatMessage IS NOT NULL")
-    List<Image> findByEventIdAndChatMessageIsNotNull(@Param("eventId") Long eventId);
-}
\ No newline at end of file
+    //Манифест изображений мероприятия в порядке загрузки, без загрузки сущностей
+    @Query("SELECT new com.example.angella.eventsplatform.model.EventImageSummary(" +
+            "i.id, i.filename, i.originalFilename, i.contentType, i.size) " +
+            "FROM Image i WHERE i.event.id = :eventId AND i.chatMessage IS NULL ORDER BY i.id")
+    List<EventImageSummary> findManifestByEventId(@Param("eventId") Long eventId);
+
+    //Основные изображения (первые загруженные, без вложений чата) нескольких мероприятий одним запросом
+    @Query("SELECT i.event.id AS eventId, i.filename AS filename FROM Image i WHERE i.id IN (" +
+            "SELECT MIN(mi.id) FROM Image mi WHERE mi.event.id IN :eventIds AND mi.chatMessage IS NULL " +
+            "GROUP BY mi.event.id)")
+    List<EventCoverRow> findCoversByEventIdIn(@Param("eventIds") Collection<Long> eventIds);
+
+    //Привязка изображений к сообщению одним запросом с проверкой владельца и мероприятия
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Image i SET i.chatMessage = :message " +
+            "WHERE i.id IN :imageIds AND i.user.id = :userId AND i.event.id = :eventId AND i.chatMessage IS NULL")
+    int attachToMessage(@Param("message") ChatMessage message,
+                        @Param("eventId") Long eventId,
+                        @Param("imageIds") Collection<Long> imageIds,
+                        @Param("userId") Long userId);
+
+    interface EventCoverRow {
+        Long getEventId();
+        String getFilename();
+    }
+}
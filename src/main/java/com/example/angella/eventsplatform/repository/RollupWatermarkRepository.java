@@ -0,0 +1,18 @@
+package com.example.angella.eventsplatform.repository;
+
+import com.example.angella.eventsplatform.entity.RollupWatermark;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface RollupWatermarkRepository extends JpaRepository<RollupWatermark, String> {
+
+    // Блокировка строки не дает двум узлам учесть одни и те же данные дважды
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM RollupWatermark w WHERE w.name = :name")
+    Optional<RollupWatermark> findForUpdate(@Param("name") String name);
+}
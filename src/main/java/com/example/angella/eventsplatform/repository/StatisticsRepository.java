@@ -0,0 +1,111 @@
+package com.example.angella.eventsplatform.repository;
+
+import com.example.angella.eventsplatform.entity.Event;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+// Агрегаты для админской статистики: все показатели считаются одним запросом
+public interface StatisticsRepository extends Repository<Event, Long> {
+
+    @Query(value = """
+            WITH event_stats AS (
+                SELECT COUNT(*) AS total,
+                       COUNT(*) FILTER (WHERE e.start_time > :now) AS upcoming
+                FROM event e
+            ),
+            participant_stats AS (
+                SELECT COALESCE(FLOOR(AVG(p.cnt)), 0) AS average
+                FROM (
+                    SELECT COUNT(ep.user_id) AS cnt
+                    FROM event e
+                    LEFT JOIN events_participants ep ON ep.event_id = e.id
+                    GROUP BY e.id
+                ) p
+            ),
+            chat_stats AS (
+                SELECT COUNT(*) AS total,
+                       COUNT(DISTINCT cm.event_id) AS events_with_chats
+                FROM chat_message cm
+            ),
+            task_stats AS (
+                SELECT COUNT(*) AS total,
+                       COUNT(*) FILTER (WHERE t.completed) AS completed
+                FROM task t
+            ),
+            checklist_stats AS (
+                SELECT COUNT(*) AS total,
+                       COUNT(*) FILTER (WHERE ci.completed) AS completed
+                FROM checklist_item ci
+            ),
+            popular_categories AS (
+                SELECT c.name, COUNT(ec.event_id) AS event_count
+                FROM category c
+                LEFT JOIN event_categories ec ON ec.category_id = c.id
+                GROUP BY c.id, c.name
+                ORDER BY event_count DESC, c.name
+                LIMIT :categoryLimit
+            )
+            SELECT (SELECT COUNT(*) FROM usr) AS "totalUsers",
+                   es.total AS "totalEvents",
+                   es.upcoming AS "upcomingEvents",
+                   (SELECT COUNT(*) FROM category) AS "totalCategories",
+                   CAST(ps.average AS integer) AS "averageParticipants",
+                   (SELECT COUNT(*) FROM comment) AS "totalComments",
+                   cs.total AS "totalChatMessages",
+                   cs.events_with_chats AS "eventsWithChats",
+                   ts.total AS "totalTasks",
+                   ts.completed AS "completedTasks",
+                   cls.total AS "totalChecklistItems",
+                   cls.completed AS "completedChecklistItems",
+                   (SELECT CAST(COALESCE(json_agg(json_build_object('name', pc.name, 'eventCount', pc.event_count)
+                                                ORDER BY pc.event_count DESC, pc.name), '[]') AS text)
+                    FROM popular_categories pc) AS "popularCategories"
+            FROM event_stats es, participant_stats ps, chat_stats cs, task_stats ts, checklist_stats cls
+            """, nativeQuery = true)
+    PlatformStatisticsRow aggregate(@Param("now") Instant now, @Param("categoryLimit") int categoryLimit);
+
+    interface PlatformStatisticsRow {
+        Long getTotalUsers();
+        Long getTotalEvents();
+        Long getUpcomingEvents();
+        Long getTotalCategories();
+        Integer getAverageParticipants();
+        Long getTotalComments();
+        Long getTotalChatMessages();
+        Long getEventsWithChats();
+        Long getTotalTasks();
+        Long getCompletedTasks();
+        Long getTotalChecklistItems();
+        Long getCompletedChecklistItems();
+        String getPopularCategories();
+    }
+
+    // Число мероприятий и участников по статусам: одна группировка по CASE над start_time/end_time
+    @Query(value = """
+            SELECT CASE
+                       WHEN e.start_time > :now THEN 'UPCOMING'
+                       WHEN e.end_time < :now THEN 'COMPLETED'
+                       ELSE 'ACTIVE'
+                   END AS "status",
+                   COUNT(*) AS "events",
+                   CAST(COALESCE(SUM(p.cnt), 0) AS bigint) AS "participants"
+            FROM event e
+            LEFT JOIN (
+                SELECT ep.event_id, COUNT(*) AS cnt
+                FROM events_participants ep
+                GROUP BY ep.event_id
+            ) p ON p.event_id = e.id
+            GROUP BY 1
+            """, nativeQuery = true)
+    List<EventStatusRow> countEventsByStatus(@Param("now") Instant now);
+
+    interface EventStatusRow {
+        String getStatus();
+        Long getEvents();
+        Long getParticipants();
+    }
+}
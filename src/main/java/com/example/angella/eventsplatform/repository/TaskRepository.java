@@ -1,16 +1,41 @@
 package com.example.angella.eventsplatform.repository;
 
 import com.example.angella.eventsplatform.entity.Task;
+import com.example.angella.eventsplatform.model.export.TaskExportRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TaskRepository extends JpaRepository<Task, Long> {
     boolean existsByIdAndEventIdAndCreatorId(Long id, Long eventId, Long creatorId);
 
     boolean existsByIdAndCreatorId(Long taskId, Long userId);
 
+    @EntityGraph(Task.WITH_USERS_GRAPH)
     List<Task> findAllByEventId(Long eventId);
 
+    @Override
+    @EntityGraph(Task.WITH_USERS_GRAPH)
+    Optional<Task> findById(Long id);
+
     long countByCompletedTrue();
+
+    // Потоковое чтение задач мероприятия для выгрузки (курсор JDBC, нужна открытая транзакция)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.example.angella.eventsplatform.model.export.TaskExportRow(" +
+            "t.id, t.description, t.completed, c.username, a.username, t.createdAt, t.completedAt) " +
+            "FROM Task t JOIN t.creator c LEFT JOIN t.assignedUser a " +
+            "WHERE t.event.id = :eventId ORDER BY t.id")
+    Stream<TaskExportRow> streamForExport(@Param("eventId") Long eventId);
 }
@@ -1,11 +1,18 @@
 package com.example.angella.eventsplatform.repository;
 
 import com.example.angella.eventsplatform.entity.TemplateItem;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import java.util.List;
 
 public interface TemplateItemRepository extends JpaRepository<TemplateItem, Long> {
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "reference.queries")
+    })
     List<TemplateItem> findByTemplateId(Long templateId);
 
     void deleteByTemplateId(Long templateId);
@@ -1,26 +1,64 @@
 package com.example.angella.eventsplatform.repository;
 
+import com.example.angella.eventsplatform.entity.Role;
 import com.example.angella.eventsplatform.entity.User;
+import com.example.angella.eventsplatform.model.export.ParticipantExportRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByUsername(String username);
 
+    // Данные для входа: по строке на роль пользователя
+    @Query("SELECT u.id AS id, u.username AS username, u.password AS password, r AS role " +
+            "FROM User u LEFT JOIN u.roles r WHERE u.username = :username")
+    List<UserCredentialsRow> findCredentialsByUsername(@Param("username") String username);
+
     boolean existsByUsernameOrEmail(String username, String email);
 
     @Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.createdEvents LEFT JOIN FETCH u.events")
     List<User> findAllWithEvents();
 
+    // Таблица пользователей админ-панели: пользователь с аватаром и счетчики его мероприятий
+    // одним запросом; роли читаются из кэша второго уровня
+    @Query("SELECT u, SIZE(u.events), SIZE(u.createdEvents) FROM User u LEFT JOIN FETCH u.avatar ORDER BY u.id")
+    List<Object[]> findAllWithEventCounts();
+
     @Modifying
     @Transactional
     @Query("DELETE FROM User u WHERE u.id = :userId")
     void deleteUserCascade(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE User u SET u.password = :passwordHash WHERE u.username = :username")
+    void updatePasswordHash(@Param("username") String username, @Param("passwordHash") String passwordHash);
+
+    // Потоковое чтение участников мероприятия для выгрузки (курсор JDBC, нужна открытая транзакция)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.example.angella.eventsplatform.model.export.ParticipantExportRow(" +
+            "u.id, u.username, u.firstName, u.lastName, u.email, " +
+            "CASE WHEN e.creator.id = u.id THEN true ELSE false END) " +
+            "FROM Event e JOIN e.participants u WHERE e.id = :eventId ORDER BY u.username")
+    Stream<ParticipantExportRow> streamParticipantsForExport(@Param("eventId") Long eventId);
+
+    interface UserCredentialsRow {
+        Long getId();
+        String getUsername();
+        String getPassword();
+        Role getRole();
+    }
 }
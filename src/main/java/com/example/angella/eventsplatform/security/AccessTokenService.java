@@ -0,0 +1,75 @@
+package com.example.angella.eventsplatform.security;
+
+import com.example.angella.eventsplatform.entity.Role;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+// Выпуск и проверка подписанных (HS256) токенов доступа для stateless-режима REST API и STOMP.
+// Токен содержит id, имя и роли пользователя: проверка выполняется локально по подписи,
+// без HTTP-сессии и без обращения к БД, поэтому запрос может обслужить любой узел
+public class AccessTokenService {
+
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String ROLES_CLAIM = "roles";
+
+    private final JwtEncoder jwtEncoder;
+    private final JwtDecoder jwtDecoder;
+    private final String issuer;
+    private final Duration ttl;
+
+    public AccessTokenService(JwtEncoder jwtEncoder, JwtDecoder jwtDecoder, String issuer, Duration ttl) {
+        this.jwtEncoder = jwtEncoder;
+        this.jwtDecoder = jwtDecoder;
+        this.issuer = issuer;
+        this.ttl = ttl;
+    }
+
+    public AccessToken issue(AppUserDetails user) {
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .issuer(issuer)
+                .subject(user.getUsername())
+                .issuedAt(now)
+                .expiresAt(now.plus(ttl))
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(ROLES_CLAIM, user.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList())
+                .build();
+
+        Jwt jwt = jwtEncoder.encode(JwtEncoderParameters.from(JwsHeader.with(MacAlgorithm.HS256).build(), claims));
+        return new AccessToken(jwt.getTokenValue(), jwt.getExpiresAt());
+    }
+
+    // Проверка подписи, срока действия и издателя; при ошибке - JwtException
+    public UsernamePasswordAuthenticationToken authenticate(String token) {
+        return toAuthentication(jwtDecoder.decode(token));
+    }
+
+    public UsernamePasswordAuthenticationToken toAuthentication(Jwt jwt) {
+        Number userId = jwt.getClaim(USER_ID_CLAIM);
+        List<String> roles = jwt.getClaimAsStringList(ROLES_CLAIM);
+        AppUserDetails principal = new AppUserDetails(
+                userId != null ? userId.longValue() : null,
+                jwt.getSubject(),
+                null,
+                roles != null ? roles.stream().map(Role::valueOf).toList() : List.of());
+        return UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities());
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public record AccessToken(String value, Instant expiresAt) {
+    }
+}
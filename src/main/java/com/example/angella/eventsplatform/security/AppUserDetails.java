@@ -1,37 +1,86 @@
 package com.example.angella.eventsplatform.security;
 
+import com.example.angella.eventsplatform.entity.Role;
 import com.example.angella.eventsplatform.entity.User;
-import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.CredentialsContainer;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
-@RequiredArgsConstructor
-public class AppUserDetails implements UserDetails {
 
-    private final User user;
+// Компактный неизменяемый снимок пользователя для SecurityContext. Хранится в каждой HTTP-сессии
+// и remember-me аутентификации, поэтому не ссылается на JPA-сущность и ее коллекции.
+// Хэш пароля нужен только при входе и стирается ProviderManager после аутентификации
+public final class AppUserDetails implements UserDetails, CredentialsContainer {
+
+    private static final long serialVersionUID = 1L;
+
+    // Один экземпляр полномочия на роль вместо новых объектов в каждой сессии
+    private static final Map<Role, GrantedAuthority> AUTHORITIES = new EnumMap<>(Role.class);
+
+    static {
+        for (Role role : Role.values()) {
+            AUTHORITIES.put(role, new SimpleGrantedAuthority(role.name()));
+        }
+    }
+
+    private final Long id;
+    private final String username;
+    private final Set<GrantedAuthority> authorities;
+    private String password;
+
+    public AppUserDetails(Long id, String username, String password, Collection<Role> roles) {
+        this.id = id;
+        this.username = username;
+        this.password = password;
+        this.authorities = roles.stream()
+                .map(AUTHORITIES::get)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    private AppUserDetails(Long id, String username, String password, Set<GrantedAuthority> authorities) {
+        this.id = id;
+        this.username = username;
+        this.password = password;
+        this.authorities = authorities;
+    }
+
+    public static AppUserDetails from(User user) {
+        return new AppUserDetails(user.getId(), user.getUsername(), user.getPassword(), user.getRoles());
+    }
+
+    // Копия с новым хэшем пароля после перехэширования при входе
+    public AppUserDetails withPassword(String newPassword) {
+        return new AppUserDetails(id, username, newPassword, authorities);
+    }
 
     public Long getId() {
-        return user.getId();
+        return id;
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return user.getRoles().stream()
-                .map(r -> new SimpleGrantedAuthority(r.name()))
-                .collect(Collectors.toSet());
+        return authorities;
     }
 
     @Override
     public String getPassword() {
-        return user.getPassword();
+        return password;
     }
 
     @Override
     public String getUsername() {
-        return user.getUsername();
+        return username;
+    }
+
+    @Override
+    public void eraseCredentials() {
+        password = null;
     }
 
     @Override
@@ -53,4 +102,21 @@ public class AppUserDetails implements UserDetails {
     public boolean isEnabled() {
         return true;
     }
-}
\ No newline at end of file
+
+    // SessionRegistry сопоставляет сессии по principal: равенство по имени пользователя,
+    // как у org.springframework.security.core.userdetails.User, нужно для maximumSessions
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof AppUserDetails details && username.equals(details.username);
+    }
+
+    @Override
+    public int hashCode() {
+        return username.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "AppUserDetails[id=" + id + ", username=" + username + ", authorities=" + authorities + "]";
+    }
+}
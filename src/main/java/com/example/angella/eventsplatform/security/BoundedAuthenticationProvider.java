@@ -0,0 +1,47 @@
+package com.example.angella.eventsplatform.security;
+
+import com.example.angella.eventsplatform.exception.AuthenticationOverloadedException;
+import com.example.angella.eventsplatform.exception.ServiceOverloadedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+// DaoAuthenticationProvider для BoundedPasswordEncoder: перегрузка пула при проверке пароля
+// становится ошибкой входа, а не ответом 500. Перехэширование пароля с новым work factor
+// (UserDetailsPasswordService) при перегрузке пропускается - вход уже успешен
+@Slf4j
+public class BoundedAuthenticationProvider extends DaoAuthenticationProvider {
+
+    public BoundedAuthenticationProvider(PasswordEncoder passwordEncoder) {
+        super(passwordEncoder);
+    }
+
+    @Override
+    protected void additionalAuthenticationChecks(UserDetails userDetails,
+                                                  UsernamePasswordAuthenticationToken authentication)
+            throws AuthenticationException {
+        try {
+            super.additionalAuthenticationChecks(userDetails, authentication);
+        } catch (ServiceOverloadedException e) {
+            throw new AuthenticationOverloadedException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    protected Authentication createSuccessAuthentication(Object principal, Authentication authentication,
+                                                         UserDetails user) {
+        try {
+            return super.createSuccessAuthentication(principal, authentication, user);
+        } catch (ServiceOverloadedException e) {
+            log.warn("Skipping password rehash for {}: {}", user.getUsername(), e.getMessage());
+            UsernamePasswordAuthenticationToken result = UsernamePasswordAuthenticationToken.authenticated(
+                    principal, authentication.getCredentials(), user.getAuthorities());
+            result.setDetails(authentication.getDetails());
+            return result;
+        }
+    }
+}
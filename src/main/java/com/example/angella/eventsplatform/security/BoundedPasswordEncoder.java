@@ -0,0 +1,74 @@
+package com.example.angella.eventsplatform.security;
+
+import com.example.angella.eventsplatform.exception.ServiceOverloadedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Хэширование и проверка паролей на отдельном ограниченном пуле passwordHashingExecutor.
+// При массовом входе BCrypt занимает не больше потоков пула, а остальные запросы получают CPU.
+// Переполненная очередь или истекшее ожидание - ServiceOverloadedException без вычисления хэша
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolTaskExecutor executor;
+    private final Duration timeout;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, ThreadPoolTaskExecutor executor, Duration timeout) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // Сравнение параметров хэша без вычислений, пул не нужен
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T execute(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (TaskRejectedException e) {
+            log.warn("Password hashing rejected: executor queue is full");
+            throw new ServiceOverloadedException("Too many sign-in requests are being processed, please retry later");
+        }
+
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("Password hashing timed out after {} ms", timeout.toMillis());
+            throw new ServiceOverloadedException("Password check timed out, please retry later");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceOverloadedException("Password check was interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
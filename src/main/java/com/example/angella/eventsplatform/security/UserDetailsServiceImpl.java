@@ -1,24 +1,48 @@
 package com.example.angella.eventsplatform.security;
 
-import com.example.angella.eventsplatform.entity.User;
-import com.example.angella.eventsplatform.service.UserService;
+import com.example.angella.eventsplatform.entity.Role;
+import com.example.angella.eventsplatform.repository.UserRepository;
+import com.example.angella.eventsplatform.repository.UserRepository.UserCredentialsRow;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Objects;
+
 @Service
 @RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
-    private final UserService userService;
+    private final UserRepository userRepository;
 
+    // Читаются только поля, нужные для входа: без загрузки сущности, аватара и коллекций
     @Override
     @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userService.findByUsername(username);
-        return new AppUserDetails(user); // передаем User в конструктор
+        List<UserCredentialsRow> rows = userRepository.findCredentialsByUsername(username);
+        if (rows.isEmpty()) {
+            throw new UsernameNotFoundException("User with name " + username + " not found!");
+        }
+
+        UserCredentialsRow user = rows.get(0);
+        List<Role> roles = rows.stream()
+                .map(UserCredentialsRow::getRole)
+                .filter(Objects::nonNull)
+                .toList();
+        return new AppUserDetails(user.getId(), user.getUsername(), user.getPassword(), roles);
+    }
+
+    // Вызывается DaoAuthenticationProvider после успешного входа, если хэш создан
+    // с меньшим work factor, чем app.security.bcrypt-strength
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePasswordHash(user.getUsername(), newPassword);
+        return user instanceof AppUserDetails details ? details.withPassword(newPassword) : loadUserByUsername(user.getUsername());
     }
-}
\ No newline at end of file
+}
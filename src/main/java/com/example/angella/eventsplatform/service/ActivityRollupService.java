@@ -0,0 +1,59 @@
+package com.example.angella.eventsplatform.service;
+
+import com.example.angella.eventsplatform.entity.RollupWatermark;
+import com.example.angella.eventsplatform.repository.ActivityRollupRepository;
+import com.example.angella.eventsplatform.repository.RollupWatermarkRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+
+// Инкрементальное обновление дневных агрегатов активности.
+// Каждый запуск учитывает только строки с отметкой времени между сохраненной границей
+// и текущим моментом за вычетом задержки (lag), чтобы не пропустить еще не зафиксированные транзакции
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ActivityRollupService {
+
+    public static final String DAILY_ACTIVITY = "daily_activity";
+
+    private final ActivityRollupRepository activityRollupRepository;
+    private final RollupWatermarkRepository rollupWatermarkRepository;
+
+    @Value("${app.statistics.rollup.lag:PT2M}")
+    private Duration lag;
+
+    @Scheduled(fixedDelayString = "${app.statistics.rollup.interval:PT1M}",
+            initialDelayString = "${app.statistics.rollup.initial-delay:PT30S}")
+    public void scheduledRollup() {
+        try {
+            rollupUntil(Instant.now().minus(lag));
+        } catch (Exception e) {
+            log.error("Activity rollup failed", e);
+        }
+    }
+
+    // Учитывает в агрегатах активность до указанного момента, возвращает число обновленных строк
+    @Transactional
+    public int rollupUntil(Instant until) {
+        RollupWatermark watermark = rollupWatermarkRepository.findForUpdate(DAILY_ACTIVITY)
+                .orElseThrow(() -> new IllegalStateException("Rollup watermark " + DAILY_ACTIVITY + " is missing"));
+
+        Instant from = watermark.getProcessedUntil();
+        if (!until.isAfter(from)) {
+            return 0;
+        }
+
+        int rows = activityRollupRepository.accumulate(from, until);
+        watermark.setProcessedUntil(until);
+
+        log.debug("Activity rollup processed [{}, {}): {} rows updated", from, until, rows);
+        return rows;
+    }
+}
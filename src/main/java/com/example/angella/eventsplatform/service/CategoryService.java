@@ -3,6 +3,7 @@ package com.example.angella.eventsplatform.service;
 import com.example.angella.eventsplatform.entity.Category;
 import com.example.angella.eventsplatform.exception.EntityNotFoundException;
 import com.example.angella.eventsplatform.repository.CategoryRepository;
+import com.example.angella.eventsplatform.service.datasource.ReadReplicaRoutingDataSource;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -27,8 +28,9 @@ public class CategoryService {
                 ));
     }
 
+    // Список кэшируется в reference.queries, поэтому читается с основной БД
     public List<Category> findAll() {
-        return categoryRepository.findAll();
+        return ReadReplicaRoutingDataSource.readFromPrimary(categoryRepository::findAll);
     }
 
     public Set<Category> upsertCategories(Set<Category> categories) {
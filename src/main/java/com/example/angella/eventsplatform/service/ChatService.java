@@ -6,10 +6,16 @@ import com.example.angella.eventsplatform.entity.Image;
 import com.example.angella.eventsplatform.entity.User;
 import com.example.angella.eventsplatform.exception.AccessDeniedException;
 import com.example.angella.eventsplatform.exception.EntityNotFoundException;
+import com.example.angella.eventsplatform.mapper.ChatMessageMapper;
+import com.example.angella.eventsplatform.model.ChatRoomView;
 import com.example.angella.eventsplatform.model.PageModel;
+import com.example.angella.eventsplatform.model.ParticipantView;
 import com.example.angella.eventsplatform.repository.ChatMessageRepository;
 import com.example.angella.eventsplatform.repository.EventRepository;
 import com.example.angella.eventsplatform.repository.UserRepository;
+import com.example.angella.eventsplatform.service.metrics.LiveMetricsAggregator;
+import com.example.angella.eventsplatform.web.dto.ChatMessageDto;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -35,6 +41,9 @@ public class ChatService {
     private final UserRepository userRepository;
     private final ImageService imageService;
     private final SimpMessagingTemplate messagingTemplate;
+    private final LiveMetricsAggregator liveMetricsAggregator;
+    private final EventAccessService eventAccessService;
+    private final ChatMessageMapper chatMessageMapper;
 
     @Transactional(readOnly = true)
     public Page<ChatMessage> getMessages(Long eventId, PageModel pageModel) {
@@ -49,13 +58,45 @@ public class ChatService {
         );
     }
 
+    // Сообщения в виде DTO: изображения читаются внутри транзакции
+    @Transactional(readOnly = true)
+    public Page<ChatMessageDto> getMessageViews(Long eventId, PageModel pageModel) {
+        return getMessages(eventId, pageModel).map(chatMessageMapper::toDto);
+    }
+
+    // Страница чата: мероприятие с участниками (план Event.chatRoom) и страница сообщений
+    @Transactional(readOnly = true)
+    public ChatRoomView getChatRoom(Long eventId, Long userId, PageModel pageModel) {
+        Event event = eventRepository.findByIdForChatRoom(eventId)
+                .orElseThrow(() -> new EntityNotFoundException(
+                        MessageFormat.format("Event with id {0} not found!", eventId)
+                ));
+
+        if (!eventAccessService.hasParticipant(eventId, userId)) {
+            throw new AccessDeniedException("Only event participants can open the chat");
+        }
+
+        List<ParticipantView> participants = event.getParticipants().stream()
+                .map(user -> new ParticipantView(user.getId(), user.getUsername(),
+                        user.getAvatar() != null ? user.getAvatar().getFilename() : null))
+                .sorted(Comparator.comparing(ParticipantView::getUsername))
+                .toList();
+
+        List<ChatMessageDto> messages = chatMessageRepository.findAllByEventId(eventId, pageModel.toPageRequest())
+                .map(chatMessageMapper::toDto)
+                .getContent();
+
+        return new ChatRoomView(event.getId(), event.getName(), participants, messages);
+    }
+
+    @Timed("chat.messages.create")
     public ChatMessage createMessage(String content, Long eventId, Long userId) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new EntityNotFoundException(
                         MessageFormat.format("Event with id {0} not found!", eventId)
                 ));
 
-        if (!eventRepository.existsByIdAndParticipantsId(eventId, userId)) {
+        if (!eventAccessService.hasParticipant(eventId, userId)) {
             throw new AccessDeniedException("Only event participants can post messages");
         }
 
@@ -71,11 +112,14 @@ public class ChatService {
         message.setImages(new java.util.HashSet<>());
         message.setEdited(false);
 
-        return chatMessageRepository.save(message);
+        ChatMessage savedMessage = chatMessageRepository.save(message);
+        liveMetricsAggregator.recordChatMessage();
+        return savedMessage;
     }
 
     public ChatMessage updateMessage(Long messageId, String newContent, Long userId) {
-        ChatMessage message = chatMessageRepository.findById(messageId)
+        // Изображения загружаются сразу: результат преобразуется в DTO вне транзакции
+        ChatMessage message = chatMessageRepository.findByIdWithImages(messageId)
                 .orElseThrow(() -> new EntityNotFoundException("Message not found"));
 
         if (!message.getAuthor().getId().equals(userId)) {
@@ -161,6 +205,28 @@ public class ChatService {
         }
     }
 
+    // Прикрепляет ранее загруженные изображения автора к сообщению одним UPDATE
+    public int attachImages(Long messageId, Collection<Long> imageIds, Long userId) {
+        ChatMessage message = getAuthoredMessage(messageId, userId);
+        return imageService.attachImagesToMessage(message, imageIds, userId);
+    }
+
+    // Сохраняет пакет уже записанных на диск изображений, прикрепляет их к сообщению
+    // одним UPDATE и отправляет одно уведомление на все изображения
+    public List<Image> addImagesToMessage(Long messageId, List<Image> storedImages, Long userId) {
+        ChatMessage message = getAuthoredMessage(messageId, userId);
+        Long eventId = message.getEvent().getId();
+        String author = message.getAuthor().getUsername();
+
+        List<Image> savedImages = imageService.saveTemporaryImages(storedImages, message.getEvent(), message.getAuthor());
+        List<Long> imageIds = savedImages.stream().map(Image::getId).toList();
+        imageService.attachImagesToMessage(message, imageIds, userId);
+
+        log.info("Attached {} images to message {} in one batch", savedImages.size(), messageId);
+        sendImagesAddedNotification(messageId, eventId, author, savedImages);
+        return savedImages;
+    }
+
     public List<Image> getMessageImages(Long messageId) {
         ChatMessage message = chatMessageRepository.findById(messageId)
                 .orElseThrow(() -> new EntityNotFoundException("Message not found"));
@@ -197,6 +263,40 @@ public class ChatService {
         return chatMessageRepository.count();
     }
 
+    private ChatMessage getAuthoredMessage(Long messageId, Long userId) {
+        ChatMessage message = chatMessageRepository.findById(messageId)
+                .orElseThrow(() -> new EntityNotFoundException("Message not found"));
+
+        if (!message.getAuthor().getId().equals(userId)) {
+            throw new AccessDeniedException("Only message author can add images");
+        }
+        return message;
+    }
+
+    private void sendImagesAddedNotification(Long messageId, Long eventId, String author, List<Image> images) {
+        try {
+            Map<String, Object> payload = new HashMap<>();
+            payload.put("type", "IMAGES_ADDED");
+            payload.put("messageId", messageId);
+            payload.put("eventId", eventId);
+            payload.put("images", images.stream()
+                    .map(image -> Map.of(
+                            "id", image.getId(),
+                            "url", "/images/" + image.getFilename(),
+                            "originalFilename", image.getOriginalFilename()
+                    ))
+                    .toList());
+            payload.put("author", author);
+            payload.put("timestamp", Instant.now());
+
+            messagingTemplate.convertAndSend("/topic/chat/" + eventId + "/images", payload);
+
+            log.info("WebSocket notification sent for {} images in message {}", images.size(), messageId);
+        } catch (Exception e) {
+            log.error("Failed to send WebSocket notification for images", e);
+        }
+    }
+
     private void sendImageUpdateNotification(ChatMessage message, Image image) {
         try {
             Map<String, Object> payload = new HashMap<>();
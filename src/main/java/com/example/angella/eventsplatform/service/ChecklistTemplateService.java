@@ -4,19 +4,31 @@ import com.example.angella.eventsplatform.entity.ChecklistItem;
 import com.example.angella.eventsplatform.entity.ChecklistTemplate;
 import com.example.angella.eventsplatform.entity.Event;
 import com.example.angella.eventsplatform.entity.TemplateItem;
+import com.example.angella.eventsplatform.entity.User;
+import com.example.angella.eventsplatform.exception.AccessDeniedException;
 import com.example.angella.eventsplatform.exception.EntityNotFoundException;
+import com.example.angella.eventsplatform.mapper.ChecklistMapper;
+import com.example.angella.eventsplatform.repository.ChecklistItemRepository;
 import com.example.angella.eventsplatform.repository.ChecklistTemplateRepository;
 import com.example.angella.eventsplatform.repository.EventRepository;
 import com.example.angella.eventsplatform.repository.TemplateItemRepository;
+import com.example.angella.eventsplatform.repository.UserRepository;
+import com.example.angella.eventsplatform.web.dto.ChecklistItemDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.text.MessageFormat;
+import java.time.Instant;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -27,7 +39,11 @@ public class ChecklistTemplateService {
     private final ChecklistTemplateRepository templateRepository;
     private final TemplateItemRepository templateItemRepository;
     private final EventRepository eventRepository;
-    private final ChecklistService checklistService;
+    private final UserRepository userRepository;
+    private final ChecklistItemRepository checklistItemRepository;
+    private final EventAccessService eventAccessService;
+    private final ChecklistMapper checklistMapper;
+    private final SimpMessagingTemplate messagingTemplate;
 
     @PreAuthorize("hasAnyRole('ROLE_USER', 'ROLE_ADMIN')")
     public List<ChecklistTemplate> getAllTemplates() {
@@ -72,32 +88,70 @@ public class ChecklistTemplateService {
         }
     }
 
+    // Применение шаблона одной операцией: одна проверка участия, ссылки на мероприятие и пользователя
+    // вместо их загрузки, пакетная вставка всех элементов и одно уведомление ITEMS_ADDED после коммита
     public List<ChecklistItem> applyTemplateToEvent(Long templateId, Long eventId, Long userId) {
-        ChecklistTemplate template = templateRepository.findById(templateId)
-                .orElseThrow(() -> new EntityNotFoundException("Template not found"));
+        if (!eventAccessService.hasParticipant(eventId, userId)) {
+            if (!eventRepository.existsById(eventId)) {
+                throw new EntityNotFoundException("Event not found");
+            }
+            throw new AccessDeniedException("Only event participants can create checklist items");
+        }
+
+        List<TemplateItem> templateItems = templateItemRepository.findByTemplateId(templateId);
+        if (templateItems.isEmpty()) {
+            if (!templateRepository.existsById(templateId)) {
+                throw new EntityNotFoundException("Template not found");
+            }
+            return List.of();
+        }
+
+        Event event = eventRepository.getReferenceById(eventId);
+        User user = userRepository.getReferenceById(userId);
+        List<ChecklistItem> items = templateItems.stream()
+                .map(templateItem -> {
+                    ChecklistItem item = new ChecklistItem();
+                    item.setName(templateItem.getName());
+                    item.setDescription(templateItem.getDescription());
+                    item.setQuantity(templateItem.getDefaultQuantity() != null ? templateItem.getDefaultQuantity() : 1);
+                    item.setEvent(event);
+                    item.setCreatedBy(user);
+                    item.setFromTemplate(true);
+                    return item;
+                })
+                .toList();
 
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new EntityNotFoundException("Event not found"));
+        // Сброс сразу: createdAt заполняется при вставке и нужен в ответе и уведомлении
+        List<ChecklistItem> saved = checklistItemRepository.saveAllAndFlush(items);
+        log.info("Applied template {} to event {}: {} items", templateId, eventId, saved.size());
 
-        // Безопасная загрузка элементов шаблона
-        List<TemplateItem> templateItems;
+        List<ChecklistItemDto> dtos = checklistMapper.toDtoList(saved);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    sendItemsAddedNotification(eventId, templateId, dtos);
+                }
+            });
+        } else {
+            sendItemsAddedNotification(eventId, templateId, dtos);
+        }
+        return saved;
+    }
+
+    private void sendItemsAddedNotification(Long eventId, Long templateId, List<ChecklistItemDto> items) {
         try {
-            templateItems = templateItemRepository.findByTemplateId(templateId);
+            Map<String, Object> payload = new HashMap<>();
+            payload.put("type", "ITEMS_ADDED");
+            payload.put("eventId", eventId);
+            payload.put("templateId", templateId);
+            payload.put("items", items);
+            payload.put("timestamp", Instant.now());
+
+            messagingTemplate.convertAndSend("/topic/checklist/" + eventId, payload);
         } catch (Exception e) {
-            log.error("Error loading template items for template {}: {}", templateId, e.getMessage());
-            templateItems = List.of();
+            log.error("Failed to send WebSocket notification for checklist items", e);
         }
-
-        return templateItems.stream()
-                .map(templateItem -> checklistService.createItem(
-                        templateItem.getName(),
-                        templateItem.getDescription(),
-                        templateItem.getDefaultQuantity(),
-                        eventId,
-                        userId,
-                        null
-                ))
-                .toList();
     }
 
     @PreAuthorize("hasAnyRole('ROLE_USER', 'ROLE_ADMIN')")
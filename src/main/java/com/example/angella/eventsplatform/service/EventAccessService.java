@@ -1,26 +1,162 @@
 package com.example.angella.eventsplatform.service;
 
+import com.example.angella.eventsplatform.model.EventMembership;
 import com.example.angella.eventsplatform.repository.EventRepository;
+import com.example.angella.eventsplatform.repository.EventRepository.MembershipRow;
+import com.example.angella.eventsplatform.service.datasource.ReadReplicaRoutingDataSource;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Единая точка проверки доступа к мероприятию. Признаки "создатель" и "участник" читаются
+// одним запросом, запоминаются в атрибутах текущего HTTP-запроса и в LRU-кэше с коротким TTL.
+// Кэш сбрасывается при изменении состава участников и при удалении мероприятия
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class EventAccessService {
 
+    private static final String REQUEST_MEMO_ATTRIBUTE = EventAccessService.class.getName() + ".memo";
+
     private final EventRepository eventRepository;
 
+    @Value("${app.access.cache-ttl:PT30S}")
+    private Duration cacheTtl;
+
+    @Value("${app.access.cache-size:10000}")
+    private int cacheSize;
+
+    // Доступ под блокировкой самой карты
+    private Map<MembershipKey, CachedMembership> membershipCache;
+
+    // Увеличивается при каждой инвалидации, чтобы не положить в кэш результат,
+    // прочитанный параллельно с изменением состава участников
+    private final AtomicLong membershipGeneration = new AtomicLong();
+
+    @PostConstruct
+    void initMembershipCache() {
+        membershipCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<MembershipKey, CachedMembership> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    public EventMembership getMembership(Long eventId, Long userId) {
+        if (eventId == null || userId == null) {
+            return EventMembership.NONE;
+        }
+
+        MembershipKey key = new MembershipKey(eventId, userId);
+        Map<MembershipKey, EventMembership> memo = requestMemo();
+        if (memo != null && memo.containsKey(key)) {
+            return memo.get(key);
+        }
+
+        EventMembership membership = getCachedMembership(key);
+        if (memo != null) {
+            memo.put(key, membership);
+        }
+        return membership;
+    }
+
     public boolean isEventCreator(Long eventId, Long userId) {
-        return eventRepository.existsByIdAndCreatorId(eventId, userId);
+        return getMembership(eventId, userId).isCreator();
     }
 
     public boolean hasParticipant(Long eventId, Long participantId) {
-        return eventRepository.existsByIdAndParticipantsId(eventId, participantId);
+        return getMembership(eventId, participantId).isParticipant();
     }
 
     public boolean canRemoveParticipant(Long eventId, Long currentUserId, Long participantId) {
         return isEventCreator(eventId, currentUserId) || currentUserId.equals(participantId);
     }
-}
\ No newline at end of file
+
+    // Сбрасывает сведения о мероприятии сразу и повторно после завершения транзакции,
+    // чтобы параллельная проверка не закэшировала незакоммиченное состояние
+    public void evictEvent(Long eventId) {
+        evict(eventId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(eventId);
+                }
+            });
+        }
+    }
+
+    private EventMembership getCachedMembership(MembershipKey key) {
+        long now = System.nanoTime();
+        synchronized (membershipCache) {
+            CachedMembership cached = membershipCache.get(key);
+            if (cached != null && cached.expiresAt() - now > 0) {
+                return cached.membership();
+            }
+        }
+
+        long generation = membershipGeneration.get();
+        MembershipRow row = ReadReplicaRoutingDataSource.readFromPrimary(
+                () -> eventRepository.findMembership(key.eventId(), key.userId()));
+        EventMembership membership = new EventMembership(
+                Boolean.TRUE.equals(row.getCreator()), Boolean.TRUE.equals(row.getParticipant()));
+
+        // Транзакция вызывающего уже читает с реплики - результат может отставать и в кэш не попадает
+        if (ReadReplicaRoutingDataSource.isReadingFromReplica()) {
+            return membership;
+        }
+
+        synchronized (membershipCache) {
+            if (membershipGeneration.get() == generation) {
+                membershipCache.put(key, new CachedMembership(membership, now + cacheTtl.toNanos()));
+            }
+        }
+        return membership;
+    }
+
+    private void evict(Long eventId) {
+        synchronized (membershipCache) {
+            membershipGeneration.incrementAndGet();
+            membershipCache.keySet().removeIf(key -> key.eventId().equals(eventId));
+        }
+        Map<MembershipKey, EventMembership> memo = requestMemo();
+        if (memo != null) {
+            memo.keySet().removeIf(key -> key.eventId().equals(eventId));
+        }
+    }
+
+    // Результаты проверок в рамках текущего HTTP-запроса; вне запроса (STOMP, фоновые задачи) - null
+    @SuppressWarnings("unchecked")
+    private Map<MembershipKey, EventMembership> requestMemo() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Object memo = attributes.getAttribute(REQUEST_MEMO_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (memo == null) {
+            memo = new HashMap<MembershipKey, EventMembership>();
+            attributes.setAttribute(REQUEST_MEMO_ATTRIBUTE, memo, RequestAttributes.SCOPE_REQUEST);
+        }
+        return (Map<MembershipKey, EventMembership>) memo;
+    }
+
+    private record MembershipKey(Long eventId, Long userId) {
+    }
+
+    private record CachedMembership(EventMembership membership, long expiresAt) {
+    }
+}
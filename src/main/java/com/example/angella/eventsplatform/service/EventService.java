@@ -3,16 +3,27 @@ package com.example.angella.eventsplatform.service;
 import com.example.angella.eventsplatform.entity.*;
 import com.example.angella.eventsplatform.exception.AccessDeniedException;
 import com.example.angella.eventsplatform.exception.EntityNotFoundException;
+import com.example.angella.eventsplatform.mapper.EventMapper;
+import com.example.angella.eventsplatform.model.AdminEventRow;
+import com.example.angella.eventsplatform.model.EventCardView;
+import com.example.angella.eventsplatform.model.EventDetailsView;
 import com.example.angella.eventsplatform.model.EventFilterModel;
+import com.example.angella.eventsplatform.model.EventImageSummary;
+import com.example.angella.eventsplatform.model.ParticipantView;
 import com.example.angella.eventsplatform.repository.EventRepository;
 import com.example.angella.eventsplatform.repository.LocationRepository;
 import com.example.angella.eventsplatform.repository.specification.EventSpecification;
+import com.example.angella.eventsplatform.service.metrics.LiveMetricsAggregator;
+import com.example.angella.eventsplatform.web.dto.EventDto;
 import com.example.angella.eventsplatform.web.dto.UpdateEventRequest;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,9 +31,13 @@ import org.springframework.util.CollectionUtils;
 
 import java.text.MessageFormat;
 import java.time.Instant;
-import java.util.HashSet;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,6 +45,19 @@ import java.util.stream.Collectors;
 @Transactional
 @Slf4j
 public class EventService {
+
+    // Допустимые поля сортировки таблицы админ-панели -> свойства сущности
+    private static final Map<String, String> ADMIN_SORT_PROPERTIES = Map.of(
+            "name", "name",
+            "startTime", "startTime",
+            "endTime", "endTime",
+            "creator", "creator.username",
+            "city", "location.city"
+    );
+
+    // Карточек в подборках главной страницы
+    private static final int HOME_PAGE_CARDS = 6;
+
     private final EventRepository eventRepository;
     private final CategoryService categoryService;
     private final LocationRepository locationRepository;
@@ -40,67 +68,74 @@ public class EventService {
     private final EventAccessService eventAccessService;
     private final TaskService taskService;
     private final ChecklistService checklistService;
+    private final LiveMetricsAggregator liveMetricsAggregator;
+    private final EventMapper eventMapper;
 
+    // Публичный API: мероприятия загружаются по плану Event.card и преобразуются в DTO в транзакции
     @Transactional(readOnly = true)
-    public List<Event> findAll() {
-        List<Event> events = eventRepository.findAll();
-        events.forEach(this::initializeLazyCollections);
-        return events != null ? events : List.of(); // Защита от null
+    @Timed(value = "events.service", extraTags = {"operation", "read"})
+    public List<EventDto> findAllViews() {
+        return eventMapper.toDtoList(eventRepository.findAll());
     }
 
+    // Сначала страница идентификаторов, затем план Event.card только для них: выборка коллекций
+    // вместе с LIMIT заставила бы Hibernate разбивать результат на страницы в памяти
     @Transactional(readOnly = true)
-    public Page<Event> filter(EventFilterModel filterModel) {
-        Page<Event> page = eventRepository.findAll(
+    @Timed(value = "events.service", extraTags = {"operation", "read"})
+    public Page<EventDto> filterViews(EventFilterModel filterModel) {
+        Page<Long> ids = eventRepository.findIdPage(
                 EventSpecification.withFilter(filterModel),
                 filterModel.getPage().toPageRequest()
         );
-        page.getContent().forEach(this::initializeLazyCollections);
-        return page;
+        Map<Long, Event> events = findCardsById(ids.getContent());
+        return ids.map(id -> eventMapper.toDto(events.get(id)));
     }
 
     @Transactional(readOnly = true)
-    public Event getById(Long eventId) {
-        Event event = eventRepository.findById(eventId).orElseThrow(() ->
-                new EntityNotFoundException(
-                        MessageFormat.format("Event with id {0} not found!", eventId)
-                ));
-        initializeLazyCollections(event);
-
-        List<Image> images = imageService.getEventOnlyImages(eventId);
-        event.setImages(images != null ? new HashSet<>(images) : new HashSet<>());
-
-        return event;
+    @Timed(value = "events.service", extraTags = {"operation", "read"})
+    public EventDto getEventView(Long eventId) {
+        return eventMapper.toDto(eventRepository.findCardById(eventId).orElseThrow(() ->
+                new EntityNotFoundException(MessageFormat.format("Event with id {0} not found!", eventId))));
     }
 
+    // Страница таблицы мероприятий админ-панели. Неизвестное поле сортировки заменяется датой начала
     @Transactional(readOnly = true)
-    public Event getByIdWithRelations(Long id) {
-        Event event = eventRepository.findByIdWithRelations(id)
-                .orElseThrow(() -> new EntityNotFoundException("Event not found"));
-        initializeLazyCollections(event);
-
-        List<Image> images = imageService.getEventOnlyImages(id);
-        event.setImages(images != null ? new HashSet<>(images) : new HashSet<>());
+    @Timed(value = "events.service", extraTags = {"operation", "read"})
+    public Page<AdminEventRow> findAdminEventPage(int page, int size, String sort, boolean ascending, String search) {
+        String property = ADMIN_SORT_PROPERTIES.getOrDefault(sort, "startTime");
+        Sort order = Sort.by(ascending ? Sort.Direction.ASC : Sort.Direction.DESC, property).and(Sort.by("id"));
+        String normalizedSearch = search != null ? search.trim().toLowerCase(Locale.ROOT) : "";
 
-        return event;
+        return eventRepository.findAdminEventPage(Instant.now(), normalizedSearch, PageRequest.of(page, size, order));
     }
 
     @Transactional(readOnly = true)
-    public Event getEventForDetailView(Long eventId) {
-        try {
-            Event event = eventRepository.findByIdWithRelations(eventId)
-                    .orElseThrow(() -> new EntityNotFoundException("Event not found"));
-
-            List<Image> eventImages = imageService.getEventOnlyImages(eventId);
-            event.setImages(eventImages != null ? new HashSet<>(eventImages) : new HashSet<>());
+    @Timed(value = "events.service", extraTags = {"operation", "read"})
+    public EventDetailsView getEventForDetailView(Long eventId) {
+        Event event = eventRepository.findByIdWithRelations(eventId)
+                .orElseThrow(() -> new EntityNotFoundException("Event not found"));
 
-            return event;
-        } catch (Exception e) {
-            log.error("Error loading event for detail view: {}", eventId, e);
-            throw new RuntimeException("Failed to load event details", e);
-        }
+        return new EventDetailsView(
+                event.getId(),
+                event.getName(),
+                event.getDescription(),
+                event.getStartTime(),
+                event.getEndTime(),
+                event.getLocation().getCity(),
+                event.getLocation().getStreet(),
+                categoryNames(event),
+                event.getCreator().getId(),
+                event.getCreator().getUsername(),
+                event.getParticipants().stream()
+                        .map(EventService::toParticipantView)
+                        .sorted(Comparator.comparing(ParticipantView::getUsername))
+                        .toList(),
+                imageService.getEventImageManifest(eventId).getImages()
+        );
     }
 
     @Transactional
+    @Timed(value = "events.service", extraTags = {"operation", "write"})
     public Event create(Event event, Long creatorId) {
         try {
             event.setCategories(categoryService.upsertCategories(event.getCategories()));
@@ -117,7 +152,6 @@ public class EventService {
             // Создание дополнительных сущностей с обработкой ошибок
             createEventAdditionalEntities(savedEvent, creatorId);
 
-            initializeLazyCollections(savedEvent);
             return savedEvent;
         } catch (Exception e) {
             log.error("Failed to create event", e);
@@ -150,8 +184,9 @@ public class EventService {
     }
 
     @Transactional
+    @Timed(value = "events.service", extraTags = {"operation", "write"})
     public Event updateEvent(Long eventId, UpdateEventRequest request, Long currentUserId) {
-        Event existingEvent = getByIdWithRelations(eventId);
+        Event existingEvent = getById(eventId);
 
         if (!eventAccessService.isEventCreator(eventId, currentUserId)) {
             throw new AccessDeniedException("Only event creator can update the event");
@@ -191,23 +226,25 @@ public class EventService {
             existingEvent.setDescription(request.getDescription());
         }
 
-        Event updatedEvent = eventRepository.save(existingEvent);
-        initializeLazyCollections(updatedEvent);
-        return updatedEvent;
+        return eventRepository.save(existingEvent);
     }
 
     @Transactional
+    @Timed(value = "events.service", extraTags = {"operation", "write"})
     public boolean addParticipant(Long eventId, Long participantId) {
         Event event = getById(eventId);
         User participant = userService.findById(participantId);
         boolean isAdded = event.addParticipant(participant);
         if (isAdded) {
             eventRepository.save(event);
+            eventAccessService.evictEvent(eventId);
+            liveMetricsAggregator.recordParticipantJoin();
         }
         return isAdded;
     }
 
     @Transactional
+    @Timed(value = "events.service", extraTags = {"operation", "write"})
     public boolean removeParticipant(Long eventId, Long participantId) {
         Event event = getById(eventId);
         User participant = userService.findById(participantId);
@@ -219,17 +256,21 @@ public class EventService {
         boolean isRemoved = event.removeParticipant(participant);
         if (isRemoved) {
             eventRepository.save(event);
+            eventAccessService.evictEvent(eventId);
         }
         return isRemoved;
     }
 
     @Transactional
+    @Timed(value = "events.service", extraTags = {"operation", "write"})
     public void deleteById(Long id, Long currentUserId) {
         Event event = getById(id);
         if (!eventAccessService.isEventCreator(id, currentUserId)) {
             throw new AccessDeniedException("Only event creator can delete the event");
         }
         eventRepository.deleteById(id);
+        imageService.evictEventImageManifest(id);
+        eventAccessService.evictEvent(id);
     }
 
     public boolean hasParticipant(Long eventId, Long participantId) {
@@ -241,11 +282,14 @@ public class EventService {
     }
 
     @PreAuthorize("hasRole('ADMIN')")
+    @Timed(value = "events.service", extraTags = {"operation", "write"})
     public void deleteEventByAdmin(Long eventId) {
         if (!eventRepository.existsById(eventId)) {
             throw new EntityNotFoundException("Event not found");
         }
         eventRepository.deleteById(eventId);
+        imageService.evictEventImageManifest(eventId);
+        eventAccessService.evictEvent(eventId);
     }
 
     @Transactional(readOnly = true)
@@ -262,104 +306,37 @@ public class EventService {
     }
 
     @Transactional(readOnly = true)
-    public List<Image> getEventImages(Long eventId) {
-        if (!eventRepository.existsById(eventId)) {
-            throw new EntityNotFoundException("Event not found");
-        }
-        return imageService.getEventOnlyImages(eventId);
-    }
-
-    @Transactional(readOnly = true)
-    public Image getMainEventImage(Long eventId) {
-        List<Image> images = imageService.getEventOnlyImages(eventId);
-        return images.isEmpty() ? null : images.get(0);
-    }
-
-    @Transactional(readOnly = true)
-    public List<Event> findAllWithImages() {
-        List<Event> events = eventRepository.findAll();
-        events.forEach(event -> {
-            initializeLazyCollections(event);
-            List<Image> images = imageService.getEventOnlyImages(event.getId());
-            event.setImages(images != null ? new HashSet<>(images) : new HashSet<>());
-        });
-        return events;
+    public EventImageSummary getMainEventImage(Long eventId) {
+        return imageService.getEventImageManifest(eventId).getMainImage();
     }
 
     @Transactional(readOnly = true)
-    public List<Event> findFeaturedEvents() {
-        List<Event> events = eventRepository.findAllOrderByStartTimeDesc();
-
-        Instant now = Instant.now();
-        List<Event> futureEvents = events.stream()
-                .filter(event -> event.getStartTime().isAfter(now))
-                .collect(Collectors.toList());
-
-        futureEvents.forEach(event -> {
-            initializeLazyCollections(event);
-            List<Image> images = imageService.getEventOnlyImages(event.getId());
-            event.setImages(images != null ? new HashSet<>(images) : new HashSet<>());
-        });
-
-        return futureEvents.size() > 6 ? futureEvents.subList(0, 6) : futureEvents;
+    @Timed(value = "events.service", extraTags = {"operation", "read"})
+    public List<EventCardView> findFeaturedEvents() {
+        return toCards(eventRepository.findIdsStartingAfter(Instant.now(),
+                PageRequest.of(0, HOME_PAGE_CARDS, Sort.by(Sort.Direction.DESC, "startTime"))));
     }
 
     @Transactional(readOnly = true)
-    public List<Event> findUpcomingEvents() {
-        List<Event> events = eventRepository.findAllOrderByStartTimeAsc();
-
-        Instant now = Instant.now();
-        List<Event> futureEvents = events.stream()
-                .filter(event -> event.getStartTime().isAfter(now))
-                .collect(Collectors.toList());
-
-        futureEvents.forEach(event -> {
-            initializeLazyCollections(event);
-            List<Image> images = imageService.getEventOnlyImages(event.getId());
-            event.setImages(images != null ? new HashSet<>(images) : new HashSet<>());
-        });
-
-        return futureEvents.size() > 6 ? futureEvents.subList(0, 6) : futureEvents;
+    @Timed(value = "events.service", extraTags = {"operation", "read"})
+    public List<EventCardView> findUpcomingEvents() {
+        return toCards(eventRepository.findIdsStartingAfter(Instant.now(),
+                PageRequest.of(0, HOME_PAGE_CARDS, Sort.by(Sort.Direction.ASC, "startTime"))));
     }
 
     @Transactional(readOnly = true)
-    public List<Event> findUserEventsWithImages(Long userId) {
-        User user = userService.findById(userId);
-
-        List<Event> allEvents = eventRepository.findAll();
+    @Timed(value = "events.service", extraTags = {"operation", "read"})
+    public List<EventCardView> findUserEventsWithImages(Long userId) {
         Instant now = Instant.now();
-
-        List<Event> userEvents = allEvents.stream()
-                .filter(event -> event.getParticipants().stream()
-                        .anyMatch(participant -> participant.getId().equals(userId)))
+        return toCardViews(eventRepository.findAllByParticipant(userId).stream()
                 .filter(event -> event.getStartTime().isAfter(now))
-                .collect(Collectors.toList());
-
-        userEvents.forEach(event -> {
-            initializeLazyCollections(event);
-            List<Image> images = imageService.getEventOnlyImages(event.getId());
-            event.setImages(images != null ? new HashSet<>(images) : new HashSet<>());
-        });
-
-        return userEvents;
+                .toList());
     }
 
     @Transactional(readOnly = true)
-    public List<Event> findAllFutureEvents() {
-        List<Event> events = eventRepository.findAll();
-
-        Instant now = Instant.now();
-        List<Event> futureEvents = events.stream()
-                .filter(event -> event.getStartTime().isAfter(now))
-                .collect(Collectors.toList());
-
-        futureEvents.forEach(event -> {
-            initializeLazyCollections(event);
-            List<Image> images = imageService.getEventOnlyImages(event.getId());
-            event.setImages(images != null ? new HashSet<>(images) : new HashSet<>());
-        });
-
-        return futureEvents;
+    @Timed(value = "events.service", extraTags = {"operation", "read"})
+    public List<EventCardView> findAllFutureEvents() {
+        return toCardViews(eventRepository.findUpcomingEvents(Instant.now()));
     }
 
     public String getEventStatus(Event event) {
@@ -373,83 +350,92 @@ public class EventService {
         }
     }
 
-    private void initializeLazyCollections(Event event) {
-        if (event.getParticipants() != null) {
-            event.getParticipants().size();
-        }
-        if (event.getCategories() != null) {
-            event.getCategories().size();
-        }
-        if (event.getComments() != null) {
-            event.getComments().size();
-        }
-        if (event.getChatMessages() != null) {
-            event.getChatMessages().size();
-        }
-        if (event.getTasks() != null) {
-            event.getTasks().size();
-        }
-    }
-
-    @Transactional(readOnly = true)
-    public List<Event> findAllUserEvents(Long userId) {
-        List<Event> allEvents = eventRepository.findAll();
-
-        List<Event> userEvents = allEvents.stream()
-                .filter(event -> event.getParticipants().stream()
-                        .anyMatch(participant -> participant.getId().equals(userId)))
-                .collect(Collectors.toList());
-
-        userEvents.forEach(event -> {
-            initializeLazyCollections(event);
-            List<Image> images = imageService.getEventOnlyImages(event.getId());
-            event.setImages(images != null ? new HashSet<>(images) : new HashSet<>());
-        });
-
-        return userEvents;
+    // Мероприятие для операций внутри транзакции сервиса; связи читаются по мере надобности
+    private Event getById(Long eventId) {
+        return eventRepository.findById(eventId).orElseThrow(() ->
+                new EntityNotFoundException(
+                        MessageFormat.format("Event with id {0} not found!", eventId)
+                ));
     }
 
-    public Long getTotalEventsCount() {
-        return eventRepository.count();
+    private Map<Long, Event> findCardsById(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return eventRepository.findCardsByIdIn(ids).stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity(), (first, duplicate) -> first));
     }
 
-    public Long getUpcomingEventsCount() {
-        Instant now = Instant.now();
-        return eventRepository.countByStartTimeAfter(now);
+    // Карточки в порядке идентификаторов
+    private List<EventCardView> toCards(List<Long> ids) {
+        Map<Long, Event> events = findCardsById(ids);
+        return toCardViews(ids.stream()
+                .map(events::get)
+                .filter(Objects::nonNull)
+                .toList());
     }
 
-    public Integer getAverageParticipantsPerEvent() {
-        List<Event> events = eventRepository.findAllWithParticipantsCount();
+    // Карточки из плана выборки Event.card. Число участников и основные изображения
+    // загружаются для всех карточек сразу, а не по запросу на мероприятие
+    private List<EventCardView> toCardViews(List<Event> events) {
         if (events.isEmpty()) {
-            return 0;
+            return List.of();
         }
+        List<Long> ids = events.stream().map(Event::getId).toList();
+        Map<Long, Integer> participantCounts = eventRepository.countParticipantsByIdIn(ids).stream()
+                .collect(Collectors.toMap(EventRepository.ParticipantCountRow::getEventId,
+                        EventRepository.ParticipantCountRow::getParticipantCount));
+        Map<Long, String> covers = imageService.getCoverFilenames(ids);
+
+        return events.stream()
+                .map(event -> toCard(event, participantCounts.getOrDefault(event.getId(), 0),
+                        covers.get(event.getId())))
+                .toList();
+    }
+
+    private static EventCardView toCard(Event event, int participantCount, String coverFilename) {
+        return new EventCardView(
+                event.getId(),
+                event.getName(),
+                event.getStartTime(),
+                event.getEndTime(),
+                event.getLocation().getCity(),
+                event.getLocation().getStreet(),
+                categoryNames(event),
+                participantCount,
+                event.getCreator().getId(),
+                event.getCreator().getUsername(),
+                coverFilename
+        );
+    }
 
-        int totalParticipants = events.stream()
-                .mapToInt(event -> event.getParticipants().size())
-                .sum();
-
-        return totalParticipants / events.size(); // Целочисленное среднее
+    private static List<String> categoryNames(Event event) {
+        return event.getCategories().stream()
+                .map(Category::getName)
+                .sorted()
+                .toList();
     }
 
-    public List<Object[]> getMostPopularCategories(int limit) {
-        return eventRepository.findMostPopularCategories(limit);
+    private static ParticipantView toParticipantView(User user) {
+        return new ParticipantView(
+                user.getId(),
+                user.getUsername(),
+                user.getAvatar() != null ? user.getAvatar().getFilename() : null
+        );
     }
 
     @Transactional(readOnly = true)
-    public Event getEventForChatPage(Long eventId) {
-        Event event = eventRepository.findByIdWithRelations(eventId)
-                .orElseThrow(() -> new EntityNotFoundException("Event not found"));
-
-        initializeLazyCollections(event);
-
-        // Для страницы чата НЕ загружаем изображения мероприятия
-        event.setImages(new HashSet<>());
+    @Timed(value = "events.service", extraTags = {"operation", "read"})
+    public List<EventCardView> findAllUserEvents(Long userId) {
+        return toCardViews(eventRepository.findAllByParticipant(userId));
+    }
 
-        return event;
+    public Long getTotalEventsCount() {
+        return eventRepository.count();
     }
 
-    @Transactional(readOnly = true)
-    public List<Image> getChatImages(Long eventId) {
-        return imageService.getChatImagesOnly(eventId);
+    public Long getUpcomingEventsCount() {
+        Instant now = Instant.now();
+        return eventRepository.countByStartTimeAfter(now);
     }
 }
\ No newline at end of file
@@ -3,25 +3,42 @@ package com.example.angella.eventsplatform.service;
 import com.example.angella.eventsplatform.entity.*;
 import com.example.angella.eventsplatform.exception.AccessDeniedException;
 import com.example.angella.eventsplatform.exception.EntityNotFoundException;
+import com.example.angella.eventsplatform.model.EventImageManifest;
+import com.example.angella.eventsplatform.model.EventImageSummary;
 import com.example.angella.eventsplatform.repository.EventRepository;
 import com.example.angella.eventsplatform.repository.ImageRepository;
 import com.example.angella.eventsplatform.repository.UserRepository;
+import com.example.angella.eventsplatform.service.datasource.ReadReplicaRoutingDataSource;
+import com.example.angella.eventsplatform.service.metrics.LiveMetricsAggregator;
+import com.example.angella.eventsplatform.service.upload.ImageContentValidator;
+import com.example.angella.eventsplatform.service.upload.ImageContentValidator.ImageInfo;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 @RequiredArgsConstructor
@@ -32,6 +49,10 @@ public class ImageService {
     private final ImageRepository imageRepository;
     private final UserRepository userRepository;
     private final EventRepository eventRepository;
+    private final ImageContentValidator imageContentValidator;
+    private final LiveMetricsAggregator liveMetricsAggregator;
+    private final MeterRegistry meterRegistry;
+    private final EventAccessService eventAccessService;
 
     @Lazy  // Ленивая зависимость чтобы разорвать цикл
     private final UserService userService;
@@ -40,6 +61,26 @@ public class ImageService {
     @Value("${app.upload.dir:uploads}")
     private String uploadDir;
 
+    @Value("${app.images.manifest-cache-size:1000}")
+    private int manifestCacheSize;
+
+    // LRU-кэш манифестов изображений мероприятий, доступ под блокировкой самой карты
+    private Map<Long, EventImageManifest> manifestCache;
+
+    // Увеличивается при каждой инвалидации, чтобы не положить в кэш устаревший манифест,
+    // прочитанный параллельно с изменением
+    private final AtomicLong manifestGeneration = new AtomicLong();
+
+    @PostConstruct
+    void initManifestCache() {
+        manifestCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, EventImageManifest> eldest) {
+                return size() > manifestCacheSize;
+            }
+        };
+    }
+
     // АВАТАР ПОЛЬЗОВАТЕЛЯ
     public String uploadAvatar(MultipartFile file, Long userId) {
         try {
@@ -69,7 +110,7 @@ public class ImageService {
                     .orElseThrow(() -> new EntityNotFoundException("Event not found"));
 
             // Проверяем права доступа - только участники события могут загружать изображения
-            if (!eventRepository.existsByIdAndParticipantsId(eventId, userId)) {
+            if (!eventAccessService.hasParticipant(eventId, userId)) {
                 throw new AccessDeniedException("Only event participants can upload images");
             }
 
@@ -82,6 +123,7 @@ public class ImageService {
             }
             event.getImages().add(image);
             eventRepository.save(event);
+            evictEventImageManifest(eventId);
 
             log.info("Image successfully uploaded and linked to event {}: {}", eventId, image.getFilename());
 
@@ -100,6 +142,44 @@ public class ImageService {
 
     // ОСНОВНОЙ МЕТОД СОХРАНЕНИЯ ИЗОБРАЖЕНИЯ
     private Image saveImage(MultipartFile file, User user, Event event, ChatMessage chatMessage) throws IOException {
+        Image image = storeImageFile(file);
+
+        // Устанавливаем связь в зависимости от типа entity
+        if (user != null) {
+            image.setUser(user);
+        } else if (event != null) {
+            image.setEvent(event);
+        } else if (chatMessage != null) {
+            image.setChatMessage(chatMessage);
+        }
+
+        Image savedImage = imageRepository.save(image);
+        log.info("Image saved successfully: filename={}, id={}, path={}",
+                savedImage.getFilename(), savedImage.getId(), savedImage.getFilePath());
+
+        return savedImage;
+    }
+
+    // ПРОВЕРКА И ЗАПИСЬ ФАЙЛА НА ДИСК (без обращения к БД, можно вызывать параллельно)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Image storeImageFile(MultipartFile file) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            Image image = writeImageFile(file);
+            outcome = "success";
+            DistributionSummary.builder("images.upload.size")
+                    .baseUnit("bytes")
+                    .tag("type", image.getContentType())
+                    .register(meterRegistry)
+                    .record(image.getSize());
+            return image;
+        } finally {
+            sample.stop(meterRegistry.timer("images.upload", "outcome", outcome));
+        }
+    }
+
+    private Image writeImageFile(MultipartFile file) throws IOException {
         log.info("Starting image upload: originalFilename={}, size={}, contentType={}",
                 file.getOriginalFilename(), file.getSize(), file.getContentType());
 
@@ -107,25 +187,19 @@ public class ImageService {
             throw new RuntimeException("File size exceeds 10MB limit");
         }
 
-        // Проверка формата файла
-        String contentType = file.getContentType();
-        List<String> allowedTypes = Arrays.asList("image/jpeg", "image/png", "image/gif");
-        if (contentType == null || !allowedTypes.contains(contentType)) {
-            throw new RuntimeException("Unsupported file format: " + contentType);
-        }
-
         String originalFilename = file.getOriginalFilename();
         if (originalFilename == null || originalFilename.isEmpty()) {
             throw new IllegalArgumentException("File name cannot be empty");
         }
 
-        String fileExtension = "";
-        int lastDotIndex = originalFilename.lastIndexOf(".");
-        if (lastDotIndex > 0) {
-            fileExtension = originalFilename.substring(lastDotIndex);
+        // Формат и размеры определяются по содержимому файла, заявленный Content-Type не используется
+        ImageInfo imageInfo = imageContentValidator.validate(file);
+        if (!imageInfo.contentType().equals(file.getContentType())) {
+            log.info("Declared content type {} differs from detected {} for {}",
+                    file.getContentType(), imageInfo.contentType(), originalFilename);
         }
 
-        String filename = UUID.randomUUID() + fileExtension;
+        String filename = UUID.randomUUID() + imageInfo.getExtension();
 
         Path uploadPath = Paths.get(uploadDir);
         if (!Files.exists(uploadPath)) {
@@ -134,29 +208,52 @@ public class ImageService {
         }
 
         Path filePath = uploadPath.resolve(filename);
-        Files.copy(file.getInputStream(), filePath);
+        try (var inputStream = file.getInputStream()) {
+            Files.copy(inputStream, filePath);
+        }
+        liveMetricsAggregator.recordUpload();
 
         Image image = new Image();
         image.setFilename(filename);
         image.setOriginalFilename(originalFilename);
-        image.setContentType(file.getContentType());
+        image.setContentType(imageInfo.contentType());
         image.setSize(file.getSize());
         image.setFilePath(filePath.toString());
+        return image;
+    }
 
-        // Устанавливаем связь в зависимости от типа entity
-        if (user != null) {
-            image.setUser(user);
-        } else if (event != null) {
+    // ПАКЕТНОЕ СОХРАНЕНИЕ ВРЕМЕННЫХ ИЗОБРАЖЕНИЙ (файлы уже записаны storeImageFile)
+    public List<Image> saveTemporaryImages(List<Image> images, Event event, User user) {
+        images.forEach(image -> {
             image.setEvent(event);
-        } else if (chatMessage != null) {
-            image.setChatMessage(chatMessage);
+            image.setUser(user);
+        });
+        List<Image> savedImages = imageRepository.saveAll(images);
+        evictEventImageManifest(event.getId());
+        return savedImages;
+    }
+
+    // Прикрепляет изображения пользователя к сообщению одним UPDATE.
+    // Чужие, уже прикрепленные и относящиеся к другому мероприятию изображения пропускаются
+    public int attachImagesToMessage(ChatMessage message, Collection<Long> imageIds, Long userId) {
+        if (imageIds == null || imageIds.isEmpty()) {
+            return 0;
         }
 
-        Image savedImage = imageRepository.save(image);
-        log.info("Image saved successfully: filename={}, id={}, path={}",
-                filename, savedImage.getId(), filePath.toString());
+        Long eventId = message.getEvent().getId();
+        int attached = imageRepository.attachToMessage(message, eventId, imageIds, userId);
+        if (attached < imageIds.size()) {
+            log.warn("User {} attached {} of {} requested images to message {}",
+                    userId, attached, imageIds.size(), message.getId());
+        }
 
-        return savedImage;
+        evictEventImageManifest(eventId);
+        return attached;
+    }
+
+    // УДАЛЕНИЕ ФАЙЛОВ, ЗАПИСАННЫХ БЕЗ СОХРАНЕНИЯ В БД
+    public void discardImageFiles(Collection<Image> images) {
+        images.forEach(this::deleteImageFile);
     }
 
     // УДАЛЕНИЕ ФАЙЛА ИЗОБРАЖЕНИЯ
@@ -186,6 +283,83 @@ public class ImageService {
 
         deleteImageFile(image);
         imageRepository.delete(image);
+
+        if (image.getEvent() != null) {
+            evictEventImageManifest(image.getEvent().getId());
+        }
+    }
+
+    // МАНИФЕСТ ИЗОБРАЖЕНИЙ МЕРОПРИЯТИЯ (кэшируется до загрузки или удаления изображения)
+    @Transactional(readOnly = true)
+    public EventImageManifest getEventImageManifest(Long eventId) {
+        synchronized (manifestCache) {
+            EventImageManifest cached = manifestCache.get(eventId);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        long generation = manifestGeneration.get();
+        EventImageManifest manifest = new EventImageManifest(eventId,
+                ReadReplicaRoutingDataSource.readFromPrimary(() -> imageRepository.findManifestByEventId(eventId)));
+
+        // Манифест, прочитанный с реплики, может отставать и в кэш не попадает
+        if (ReadReplicaRoutingDataSource.isReadingFromReplica()) {
+            return manifest;
+        }
+
+        synchronized (manifestCache) {
+            if (manifestGeneration.get() == generation) {
+                manifestCache.put(eventId, manifest);
+            }
+        }
+        return manifest;
+    }
+
+    // Файлы основных изображений для карточек: из закэшированных манифестов, для остальных
+    // мероприятий - одним запросом. Мероприятия без изображений в результат не попадают
+    @Transactional(readOnly = true)
+    public Map<Long, String> getCoverFilenames(Collection<Long> eventIds) {
+        Map<Long, String> covers = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        synchronized (manifestCache) {
+            for (Long eventId : eventIds) {
+                EventImageManifest cached = manifestCache.get(eventId);
+                if (cached == null) {
+                    missing.add(eventId);
+                } else if (cached.getMainImage() != null) {
+                    covers.put(eventId, cached.getMainImage().getFilename());
+                }
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            imageRepository.findCoversByEventIdIn(missing)
+                    .forEach(row -> covers.put(row.getEventId(), row.getFilename()));
+        }
+        return covers;
+    }
+
+    // Сбрасывает манифест сразу и повторно после завершения транзакции,
+    // чтобы параллельное чтение не закэшировало незакоммиченное состояние
+    public void evictEventImageManifest(Long eventId) {
+        evictManifest(eventId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictManifest(eventId);
+                }
+            });
+        }
+    }
+
+    private void evictManifest(Long eventId) {
+        synchronized (manifestCache) {
+            manifestGeneration.incrementAndGet();
+            manifestCache.remove(eventId);
+        }
     }
 
     // ПОЛУЧЕНИЕ ИЗОБРАЖЕНИЙ ПОЛЬЗОВАТЕЛЯ
@@ -197,14 +371,6 @@ public class ImageService {
     public List<Image> getEventImages(Long eventId) {
         return imageRepository.findByEventId(eventId);
     }
-    public List<Image> getEventOnlyImages(Long eventId) {
-        return imageRepository.findByEventIdAndChatMessageIsNull(eventId);
-    }
-
-    //ТОЛЬКО изображения чата (chatMessage IS NOT NULL)
-    public List<Image> getChatImagesOnly(Long eventId) {
-        return imageRepository.findByEventIdAndChatMessageIsNotNull(eventId);
-    }
 
     // ПОЛУЧЕНИЕ ИЗОБРАЖЕНИЙ СООБЩЕНИЯ ЧАТА
     public List<Image> getChatMessageImages(Long chatMessageId) {
@@ -252,39 +418,17 @@ public class ImageService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("User not found"));
 
-        // Генерируем уникальное имя файла
-        String originalFilename = imageFile.getOriginalFilename();
-        String fileExtension = "";
-        if (originalFilename != null && originalFilename.contains(".")) {
-            fileExtension = originalFilename.substring(originalFilename.lastIndexOf("."));
-        }
-
-        String filename = UUID.randomUUID().toString() + fileExtension;
-
-        // Создаем сущность Image
-        Image image = new Image();
-        image.setFilename(filename);
-        image.setOriginalFilename(originalFilename);
-        image.setContentType(imageFile.getContentType());
-        image.setSize(imageFile.getSize());
-        image.setFilePath(uploadDir + "/" + filename);
+        // Проверяем и сохраняем файл на диск
+        Image image = storeImageFile(imageFile);
         image.setEvent(event);
         image.setUser(user);
         // chatMessage = null (привяжем позже)
 
-        // Создаем директорию если не существует
-        Path uploadPath = Paths.get(uploadDir);
-        if (!Files.exists(uploadPath)) {
-            Files.createDirectories(uploadPath);
-        }
-
-        // Сохраняем файл на диск
-        Path filePath = uploadPath.resolve(filename);
-        Files.copy(imageFile.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-
-        log.info("Файл сохранен: {}", filePath);
+        log.info("Файл сохранен: {}", image.getFilePath());
 
         // Сохраняем в БД
-        return imageRepository.save(image);
+        Image savedImage = imageRepository.save(image);
+        evictEventImageManifest(eventId);
+        return savedImage;
     }
 }
\ No newline at end of file
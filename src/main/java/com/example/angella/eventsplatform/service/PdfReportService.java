@@ -1,10 +1,14 @@
 package com.example.angella.eventsplatform.service;
 
+import com.example.angella.eventsplatform.exception.ServiceOverloadedException;
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.FontProgramFactory;
 import com.itextpdf.io.font.PdfEncodings;
 import com.itextpdf.io.font.constants.StandardFonts;
 import com.itextpdf.kernel.colors.ColorConstants;
 import com.itextpdf.kernel.font.PdfFont;
 import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.PageSize;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfWriter;
 import com.itextpdf.kernel.pdf.canvas.draw.SolidLine;
@@ -13,137 +17,144 @@ import com.itextpdf.layout.element.*;
 import com.itextpdf.layout.properties.TextAlignment;
 import com.itextpdf.layout.properties.UnitValue;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
+// Генерация PDF-отчетов. Разобранный шрифт (FontProgram) загружается один раз,
+// PdfFont создается на каждый документ: шрифт iText привязан к документу и не потокобезопасен.
+// Число одновременных генераций ограничено семафором
 @Service
 @Slf4j
 public class PdfReportService {
 
-    private PdfFont russianFont;
+    private static final String[] FONT_PATHS = {
+            "fonts/arial.ttf",
+            "fonts/times.ttf",
+            "fonts/DejaVuSans.ttf"
+    };
 
-    public PdfReportService() {
-        initFont();
+    // null - шрифт с кириллицей не найден, используется стандартный Helvetica
+    private final FontProgram fontProgram;
+
+    private final Semaphore renderPermits;
+
+    private final Duration renderWait;
+
+    public PdfReportService(@Value("${app.reports.max-concurrent-renders:4}") int maxConcurrentRenders,
+                            @Value("${app.reports.render-wait:PT10S}") Duration renderWait) {
+        this.fontProgram = loadFontProgram();
+        this.renderPermits = new Semaphore(maxConcurrentRenders, true);
+        this.renderWait = renderWait;
     }
 
-    private void initFont() {
-        try {
-            // Сначала пробуем системные шрифты с поддержкой кириллицы
-            String[] systemFonts = {
-                    StandardFonts.HELVETICA,
-                    StandardFonts.TIMES_ROMAN,
-                    StandardFonts.COURIER
-            };
-
-            for (String fontName : systemFonts) {
-                try {
-                    russianFont = PdfFontFactory.createFont(fontName, PdfEncodings.IDENTITY_H);
-                    log.info("Using system font: {}", fontName);
-
-                    // Проверяем, поддерживает ли шрифт русские символы
-                    if (testRussianFont(russianFont)) {
-                        break;
-                    } else {
-                        russianFont = null;
-                    }
-                } catch (Exception e) {
-                    log.debug("System font {} not available: {}", fontName, e.getMessage());
+    private FontProgram loadFontProgram() {
+        for (String fontPath : FONT_PATHS) {
+            try {
+                ClassPathResource fontResource = new ClassPathResource(fontPath);
+                if (!fontResource.exists()) {
+                    continue;
                 }
-            }
 
-            // Если системные шрифты не подошли, пробуем загрузить из файла
-            if (russianFont == null) {
-                String[] fontPaths = {
-                        "fonts/arial.ttf",
-                        "fonts/times.ttf",
-                        "fonts/DejaVuSans.ttf"
-                };
-
-                for (String fontPath : fontPaths) {
-                    try {
-                        ClassPathResource fontResource = new ClassPathResource(fontPath);
-                        if (fontResource.exists()) {
-                            // Читаем файл шрифта в массив байтов
-                            byte[] fontData = fontResource.getInputStream().readAllBytes();
-                            russianFont = PdfFontFactory.createFont(fontData, PdfEncodings.IDENTITY_H);
-
-                            if (testRussianFont(russianFont)) {
-                                log.info("Successfully loaded font from: {}", fontPath);
-                                break;
-                            } else {
-                                russianFont = null;
-                            }
-                        }
-                    } catch (Exception e) {
-                        log.debug("Failed to load font {}: {}", fontPath, e.getMessage());
-                    }
+                // Читаем и разбираем файл шрифта один раз на все приложение
+                byte[] fontData;
+                try (var inputStream = fontResource.getInputStream()) {
+                    fontData = inputStream.readAllBytes();
                 }
-            }
+                FontProgram program = FontProgramFactory.createFont(fontData);
 
-            // Последняя попытка - стандартный шрифт
-            if (russianFont == null) {
-                russianFont = PdfFontFactory.createFont(StandardFonts.HELVETICA);
-                log.warn("Using default font (Russian characters may not display correctly)");
-            }
-
-        } catch (Exception e) {
-            log.error("Critical error initializing font: {}", e.getMessage());
-            try {
-                russianFont = PdfFontFactory.createFont(StandardFonts.HELVETICA);
-            } catch (Exception ex) {
-                log.error("Failed to create any font", ex);
+                if (supportsRussian(program)) {
+                    log.info("Successfully loaded font from: {}", fontPath);
+                    return program;
+                }
+            } catch (Exception e) {
+                log.debug("Failed to load font {}: {}", fontPath, e.getMessage());
             }
         }
+
+        log.warn("Using default font (Russian characters may not display correctly)");
+        return null;
     }
 
-    private boolean testRussianFont(PdfFont font) {
-        try {
-            // Проверяем, отображаются ли русские символы
-            String testText = "Тест";
-            font.getWidth(testText, 12);
-            return true;
-        } catch (Exception e) {
-            log.debug("Font doesn't support Russian characters: {}", e.getMessage());
-            return false;
+    private boolean supportsRussian(FontProgram program) {
+        // Проверяем, есть ли в шрифте глифы для русских символов
+        return "Тест".chars().allMatch(ch -> program.getGlyph(ch) != null);
+    }
+
+    // Новый экземпляр шрифта для каждого документа (используется и выгрузками мероприятий)
+    public PdfFont createDocumentFont() throws IOException {
+        if (fontProgram != null) {
+            return PdfFontFactory.createFont(fontProgram, PdfEncodings.IDENTITY_H,
+                    PdfFontFactory.EmbeddingStrategy.PREFER_EMBEDDED);
         }
+        return PdfFontFactory.createFont(StandardFonts.HELVETICA);
     }
 
     public byte[] generateStatisticsReport(Map<String, Object> stats) {
         try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-            PdfWriter writer = new PdfWriter(outputStream);
-            PdfDocument pdfDoc = new PdfDocument(writer);
-            Document document = new Document(pdfDoc);
-
-            // Установка шрифта для всего документа
-            if (russianFont != null) {
-                document.setFont(russianFont);
-            }
-
-            document.setMargins(20, 20, 20, 20);
-            addTitlePage(document, stats);
-            addPlatformOverview(document, stats);
-            addUserActivity(document, stats);
-            addEventStatistics(document, stats);
-            addCompletionRates(document, stats);
-            addPopularCategories(document, stats);
-            addFooter(document);
-
-            document.close();
+            writeStatisticsReport(stats, outputStream);
             log.info("PDF report generated successfully, size: {} bytes", outputStream.size());
             return outputStream.toByteArray();
 
+        } catch (ServiceOverloadedException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error generating PDF report", e);
             return createErrorPdf(e.getMessage());
         }
     }
 
+    // Потоковая генерация: страницы записываются в outputStream по мере готовности,
+    // документ целиком в памяти не хранится. Поток не закрывается
+    public void writeStatisticsReport(Map<String, Object> stats, OutputStream outputStream) throws IOException {
+        acquireRenderPermit();
+        try {
+            PdfWriter writer = new PdfWriter(outputStream);
+            writer.setCloseStream(false);
+            // Document закрывает PdfDocument и PdfWriter и при ошибке в одном из разделов
+            try (Document document = new Document(new PdfDocument(writer), PageSize.A4, true)) {
+                // Установка шрифта для всего документа
+                document.setFont(createDocumentFont());
+
+                document.setMargins(20, 20, 20, 20);
+                addTitlePage(document, stats);
+                addPlatformOverview(document, stats);
+                addUserActivity(document, stats);
+                addEventStatistics(document, stats);
+                addCompletionRates(document, stats);
+                addPopularCategories(document, stats);
+                addPeriodActivity(document, stats);
+                addFooter(document);
+            }
+            outputStream.flush();
+        } finally {
+            renderPermits.release();
+        }
+    }
+
+    private void acquireRenderPermit() {
+        try {
+            if (!renderPermits.tryAcquire(renderWait.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("PDF rendering rejected: all {} render slots are busy", renderPermits.availablePermits());
+                throw new ServiceOverloadedException("Too many reports are being generated, please retry later");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceOverloadedException("Report generation was interrupted");
+        }
+    }
+
     private void addTitlePage(Document document, Map<String, Object> stats) {
         Paragraph title = createParagraph("СТАТИСТИЧЕСКИЙ ОТЧЕТ", 20, true, TextAlignment.CENTER);
         title.setMarginBottom(20);
@@ -156,9 +167,15 @@ public class PdfReportService {
 
         String generatedAt = LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm"));
         Paragraph date = createParagraph("Дата генерации: " + generatedAt, 10, false, TextAlignment.CENTER);
-        date.setMarginBottom(40);
+        date.setMarginBottom(5);
         document.add(date);
 
+        Map<String, Object> metadata = (Map<String, Object>) stats.get("reportMetadata");
+        String period = metadata != null ? getSafeString(metadata.get("timePeriod")) : "Все время";
+        Paragraph periodParagraph = createParagraph("Период: " + period, 10, false, TextAlignment.CENTER);
+        periodParagraph.setMarginBottom(40);
+        document.add(periodParagraph);
+
         LineSeparator line = new LineSeparator(new SolidLine());
         line.setMarginBottom(30);
         document.add(line);
@@ -305,6 +322,50 @@ public class PdfReportService {
         }
     }
 
+    private void addPeriodActivity(Document document, Map<String, Object> stats) {
+        Map<String, Object> activity = (Map<String, Object>) stats.get("periodActivity");
+        if (activity == null) {
+            return;
+        }
+
+        Paragraph header = createParagraph("АКТИВНОСТЬ ЗА ПЕРИОД: " + getSafeString(activity.get("period")),
+                16, true, TextAlignment.LEFT);
+        header.setMarginTop(20);
+        header.setMarginBottom(15);
+        document.add(header);
+
+        Table table = new Table(UnitValue.createPercentArray(new float[]{60, 40}));
+        table.setWidth(UnitValue.createPercentValue(100));
+        table.setMarginBottom(20);
+
+        table.addHeaderCell(createHeaderCell("Вид активности"));
+        table.addHeaderCell(createHeaderCell("Количество"));
+
+        addTableRow(table, "Создано мероприятий", formatNumber(activity.get("eventsCreated")));
+        addTableRow(table, "Присоединений к мероприятиям", formatNumber(activity.get("participantsJoined")));
+        addTableRow(table, "Сообщения в чатах", formatNumber(activity.get("chatMessages")));
+        addTableRow(table, "Комментарии", formatNumber(activity.get("comments")));
+        addTableRow(table, "Выполнено задач", formatNumber(activity.get("tasksCompleted")));
+        addTableRow(table, "Загружено изображений", formatNumber(activity.get("imagesUploaded")));
+        document.add(table);
+
+        List<Map<String, Object>> categoryList = (List<Map<String, Object>>) activity.get("categories");
+        if (categoryList != null && !categoryList.isEmpty()) {
+            Table categories = new Table(UnitValue.createPercentArray(new float[]{70, 30}));
+            categories.setWidth(UnitValue.createPercentValue(100));
+
+            categories.addHeaderCell(createHeaderCell("Категория"));
+            categories.addHeaderCell(createHeaderCell("Новых мероприятий"));
+
+            for (Map<String, Object> category : categoryList) {
+                categories.addCell(createCell(getSafeString(category.get("name"))));
+                categories.addCell(createCell(formatNumber(category.get("eventCount"))));
+            }
+
+            document.add(categories);
+        }
+    }
+
     private void addFooter(Document document) {
         document.add(new Paragraph("\n\n"));
         Paragraph footer = createParagraph("Отчет сгенерирован автоматически системой Events Platform", 8, false, TextAlignment.CENTER);
@@ -362,10 +423,7 @@ public class PdfReportService {
             PdfWriter writer = new PdfWriter(outputStream);
             PdfDocument pdfDoc = new PdfDocument(writer);
             Document document = new Document(pdfDoc);
-
-            if (russianFont != null) {
-                document.setFont(russianFont);
-            }
+            document.setFont(createDocumentFont());
 
             Paragraph errorTitle = createParagraph("ОШИБКА ГЕНЕРАЦИИ ОТЧЕТА", 16, true, TextAlignment.CENTER);
             errorTitle.setMarginBottom(20);
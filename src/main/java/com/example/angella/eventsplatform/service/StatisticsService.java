@@ -1,11 +1,28 @@
 package com.example.angella.eventsplatform.service;
 
+import com.example.angella.eventsplatform.model.ActivityStatistics;
+import com.example.angella.eventsplatform.model.CategoryStatistics;
+import com.example.angella.eventsplatform.model.EventStatusStatistics;
+import com.example.angella.eventsplatform.model.PlatformStatistics;
+import com.example.angella.eventsplatform.repository.ActivityRollupRepository;
+import com.example.angella.eventsplatform.repository.ActivityRollupRepository.ActivityTotalsRow;
+import com.example.angella.eventsplatform.repository.StatisticsRepository;
+import com.example.angella.eventsplatform.repository.StatisticsRepository.EventStatusRow;
+import com.example.angella.eventsplatform.repository.StatisticsRepository.PlatformStatisticsRow;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 
@@ -15,40 +32,81 @@ import java.util.*;
 @Transactional(readOnly = true)
 public class StatisticsService {
 
-    private final UserService userService;
-    private final EventService eventService;
-    private final CategoryService categoryService;
-    private final CommentService commentService;
-    private final ChatService chatService;
-    private final TaskService taskService;
-    private final ChecklistService checklistService;
+    private static final int POPULAR_CATEGORIES_LIMIT = 10;
+    private static final int DASHBOARD_CATEGORIES_LIMIT = 5;
+    private static final DateTimeFormatter REPORT_DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
+    private static final DateTimeFormatter PERIOD_DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+
+    private final StatisticsRepository statisticsRepository;
+    private final ActivityRollupRepository activityRollupRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.statistics.cache-ttl:PT30S}")
+    private Duration cacheTtl;
+
+    // Последний снимок статистики, переиспользуется в течение cacheTtl
+    private volatile PlatformStatistics cachedStatistics;
+
+    // Снимок статистики платформы: один запрос к БД не чаще раза в cacheTtl
+    public PlatformStatistics getPlatformStatistics() {
+        PlatformStatistics cached = cachedStatistics;
+        if (isFresh(cached)) {
+            return cached;
+        }
+
+        synchronized (this) {
+            cached = cachedStatistics;
+            if (!isFresh(cached)) {
+                cached = loadStatistics();
+                cachedStatistics = cached;
+            }
+            return cached;
+        }
+    }
+
+    // Статусы мероприятий для таблицы админ-панели; без кэша, чтобы счетчики совпадали с таблицей
+    public EventStatusStatistics getEventStatusStatistics() {
+        long upcoming = 0, active = 0, completed = 0, participants = 0;
+        for (EventStatusRow row : statisticsRepository.countEventsByStatus(Instant.now())) {
+            switch (row.getStatus()) {
+                case "UPCOMING" -> upcoming = row.getEvents();
+                case "COMPLETED" -> completed = row.getEvents();
+                default -> active = row.getEvents();
+            }
+            participants += row.getParticipants();
+        }
+        return new EventStatusStatistics(upcoming, active, completed, participants);
+    }
 
     public Map<String, Object> getAdminStatistics() {
         Map<String, Object> stats = new LinkedHashMap<>();
 
         try {
+            PlatformStatistics statistics = getPlatformStatistics();
+
             // Основная статистика
-            stats.put("totalUsers", userService.getTotalUsersCount());
-            stats.put("totalEvents", eventService.getTotalEventsCount());
-            stats.put("totalCategories", categoryService.getTotalCategoriesCount());
-            stats.put("upcomingEvents", eventService.getUpcomingEventsCount());
+            stats.put("totalUsers", statistics.getTotalUsers());
+            stats.put("totalEvents", statistics.getTotalEvents());
+            stats.put("totalCategories", statistics.getTotalCategories());
+            stats.put("upcomingEvents", statistics.getUpcomingEvents());
 
             // Активность
-            stats.put("averageParticipantsPerEvent", eventService.getAverageParticipantsPerEvent());
-            stats.put("totalComments", commentService.getTotalCommentsCount());
-            stats.put("totalChatMessages", chatService.getTotalMessagesCount());
-            stats.put("totalTasks", taskService.getTotalTasksCount());
-            stats.put("totalChecklistItems", checklistService.getTotalItemsCount());
+            stats.put("averageParticipantsPerEvent", statistics.getAverageParticipantsPerEvent());
+            stats.put("totalComments", statistics.getTotalComments());
+            stats.put("totalChatMessages", statistics.getTotalChatMessages());
+            stats.put("totalTasks", statistics.getTotalTasks());
+            stats.put("totalChecklistItems", statistics.getTotalChecklistItems());
 
             // Проценты выполнения
-            stats.put("completedTasksPercentage", taskService.getCompletedTasksPercentage());
-            stats.put("completedChecklistItemsPercentage", checklistService.getCompletedItemsPercentage());
+            stats.put("completedTasksPercentage", statistics.getCompletedTasksPercentage());
+            stats.put("completedChecklistItemsPercentage", statistics.getCompletedChecklistItemsPercentage());
 
             // Популярные категории
-            stats.put("mostPopularCategories", formatPopularCategories(eventService.getMostPopularCategories(5)));
+            stats.put("mostPopularCategories", formatPopularCategories(
+                    statistics.getPopularCategories(), DASHBOARD_CATEGORIES_LIMIT, "count"));
 
             // Дополнительная статистика
-            stats.put("reportGeneratedAt", LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm")));
+            stats.put("reportGeneratedAt", formatDate(statistics.getGeneratedAt()));
             stats.put("platformUptime", calculatePlatformUptime());
 
             log.info("Admin statistics generated successfully");
@@ -61,17 +119,63 @@ public class StatisticsService {
         return stats;
     }
 
+    // Статистика для админ-панели с активностью за период (границы включительно, null - без ограничения)
+    public Map<String, Object> getAdminStatistics(LocalDate from, LocalDate to) {
+        Map<String, Object> stats = getAdminStatistics();
+        if (from != null || to != null) {
+            stats.put("periodActivity", toActivityMap(getActivityStatistics(from, to)));
+        }
+        return stats;
+    }
+
+    // Активность за период по дневным агрегатам, без обращения к исходным таблицам
+    public ActivityStatistics getActivityStatistics(LocalDate from, LocalDate to) {
+        LocalDate start = from != null ? from : LocalDate.EPOCH;
+        LocalDate end = to != null ? to : LocalDate.now();
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+
+        ActivityTotalsRow totals = activityRollupRepository.sumTotals(start, end);
+        List<CategoryStatistics> categories = activityRollupRepository
+                .sumByCategory(start, end, POPULAR_CATEGORIES_LIMIT).stream()
+                .map(row -> new CategoryStatistics(row.getName(), row.getEventCount()))
+                .toList();
+
+        return new ActivityStatistics(
+                start,
+                end,
+                totals.getEventsCreated(),
+                totals.getParticipantsJoined(),
+                totals.getChatMessages(),
+                totals.getComments(),
+                totals.getTasksCompleted(),
+                totals.getImagesUploaded(),
+                categories
+        );
+    }
+
     public Map<String, Object> getDetailedStatistics() {
+        return getDetailedStatistics(null, null);
+    }
+
+    public Map<String, Object> getDetailedStatistics(LocalDate from, LocalDate to) {
         Map<String, Object> detailedStats = new LinkedHashMap<>();
 
         try {
+            PlatformStatistics statistics = getPlatformStatistics();
+
             // Основные метрики
-            detailedStats.put("platformOverview", getPlatformOverview());
-            detailedStats.put("userActivity", getUserActivityStats());
-            detailedStats.put("eventStatistics", getEventStatistics());
-            detailedStats.put("completionRates", getCompletionRates());
-            detailedStats.put("popularCategories", getPopularCategoriesDetailed());
-            detailedStats.put("reportMetadata", getReportMetadata());
+            detailedStats.put("platformOverview", getPlatformOverview(statistics));
+            detailedStats.put("userActivity", getUserActivityStats(statistics));
+            detailedStats.put("eventStatistics", getEventStatistics(statistics));
+            detailedStats.put("completionRates", getCompletionRates(statistics));
+            detailedStats.put("popularCategories", getPopularCategoriesDetailed(statistics));
+            detailedStats.put("reportMetadata", getReportMetadata(statistics, from, to));
+
+            if (from != null || to != null) {
+                detailedStats.put("periodActivity", toActivityMap(getActivityStatistics(from, to)));
+            }
 
         } catch (Exception e) {
             log.error("Error generating detailed statistics", e);
@@ -80,97 +184,141 @@ public class StatisticsService {
         return detailedStats;
     }
 
-    private Map<String, Object> getPlatformOverview() {
+    private PlatformStatistics loadStatistics() {
+        Instant now = Instant.now();
+        PlatformStatisticsRow row = statisticsRepository.aggregate(now, POPULAR_CATEGORIES_LIMIT);
+
+        PlatformStatistics statistics = new PlatformStatistics(
+                row.getTotalUsers(),
+                row.getTotalEvents(),
+                row.getUpcomingEvents(),
+                row.getTotalCategories(),
+                row.getAverageParticipants(),
+                row.getTotalComments(),
+                row.getTotalChatMessages(),
+                row.getEventsWithChats(),
+                row.getTotalTasks(),
+                row.getCompletedTasks(),
+                row.getTotalChecklistItems(),
+                row.getCompletedChecklistItems(),
+                parseCategories(row.getPopularCategories()),
+                now
+        );
+
+        log.debug("Platform statistics loaded in {} ms", Duration.between(now, Instant.now()).toMillis());
+        return statistics;
+    }
+
+    private boolean isFresh(PlatformStatistics statistics) {
+        return statistics != null && statistics.getGeneratedAt().plus(cacheTtl).isAfter(Instant.now());
+    }
+
+    private List<CategoryStatistics> parseCategories(String json) {
+        try {
+            List<Map<String, Object>> categories = objectMapper.readValue(json, new TypeReference<>() {});
+            return categories.stream()
+                    .map(category -> new CategoryStatistics(
+                            (String) category.get("name"),
+                            ((Number) category.get("eventCount")).longValue()))
+                    .toList();
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to parse popular categories: {}", json, e);
+            return List.of();
+        }
+    }
+
+    private Map<String, Object> getPlatformOverview(PlatformStatistics statistics) {
         Map<String, Object> overview = new LinkedHashMap<>();
-        overview.put("totalUsers", userService.getTotalUsersCount());
-        overview.put("totalEvents", eventService.getTotalEventsCount());
-        overview.put("activeEvents", eventService.getUpcomingEventsCount());
-        overview.put("totalCategories", categoryService.getTotalCategoriesCount());
-        overview.put("averageParticipants", eventService.getAverageParticipantsPerEvent());
+        overview.put("totalUsers", statistics.getTotalUsers());
+        overview.put("totalEvents", statistics.getTotalEvents());
+        overview.put("activeEvents", statistics.getUpcomingEvents());
+        overview.put("totalCategories", statistics.getTotalCategories());
+        overview.put("averageParticipants", statistics.getAverageParticipantsPerEvent());
         return overview;
     }
 
-    private Map<String, Object> getUserActivityStats() {
+    private Map<String, Object> getUserActivityStats(PlatformStatistics statistics) {
         Map<String, Object> activity = new LinkedHashMap<>();
-        activity.put("totalComments", commentService.getTotalCommentsCount());
-        activity.put("totalChatMessages", chatService.getTotalMessagesCount());
-        activity.put("totalTasksCreated", taskService.getTotalTasksCount());
-        activity.put("totalChecklistItems", checklistService.getTotalItemsCount());
-        activity.put("messagesPerUser", calculateMessagesPerUser());
+        activity.put("totalComments", statistics.getTotalComments());
+        activity.put("totalChatMessages", statistics.getTotalChatMessages());
+        activity.put("totalTasksCreated", statistics.getTotalTasks());
+        activity.put("totalChecklistItems", statistics.getTotalChecklistItems());
+        activity.put("messagesPerUser", statistics.getMessagesPerUser());
         return activity;
     }
 
-    private Map<String, Object> getEventStatistics() {
+    private Map<String, Object> getEventStatistics(PlatformStatistics statistics) {
         Map<String, Object> events = new LinkedHashMap<>();
-        events.put("totalEvents", eventService.getTotalEventsCount());
-        events.put("upcomingEvents", eventService.getUpcomingEventsCount());
-        events.put("averageParticipants", eventService.getAverageParticipantsPerEvent());
-        events.put("eventsWithChats", calculateEventsWithChats());
+        events.put("totalEvents", statistics.getTotalEvents());
+        events.put("upcomingEvents", statistics.getUpcomingEvents());
+        events.put("averageParticipants", statistics.getAverageParticipantsPerEvent());
+        events.put("eventsWithChats", statistics.getEventsWithChats());
         return events;
     }
 
-    private Map<String, Object> getCompletionRates() {
+    private Map<String, Object> getCompletionRates(PlatformStatistics statistics) {
         Map<String, Object> completion = new LinkedHashMap<>();
-        completion.put("tasksCompleted", taskService.getCompletedTasksPercentage());
-        completion.put("checklistItemsCompleted", checklistService.getCompletedItemsPercentage());
-        completion.put("overallCompletion", calculateOverallCompletion());
+        completion.put("tasksCompleted", statistics.getCompletedTasksPercentage());
+        completion.put("checklistItemsCompleted", statistics.getCompletedChecklistItemsPercentage());
+        completion.put("overallCompletion", statistics.getOverallCompletion());
         return completion;
     }
 
-    private Map<String, Object> getPopularCategoriesDetailed() {
+    private Map<String, Object> getPopularCategoriesDetailed(PlatformStatistics statistics) {
         Map<String, Object> categories = new LinkedHashMap<>();
-        List<Object[]> popularCategories = eventService.getMostPopularCategories(10);
-
-        List<Map<String, Object>> formattedCategories = new ArrayList<>();
-        for (Object[] categoryData : popularCategories) {
-            Map<String, Object> category = new HashMap<>();
-            category.put("name", categoryData[0]);
-            category.put("eventCount", categoryData[1]);
-            formattedCategories.add(category);
-        }
-
-        categories.put("categories", formattedCategories);
-        categories.put("totalUniqueCategories", categoryService.getTotalCategoriesCount());
+        categories.put("categories", formatPopularCategories(
+                statistics.getPopularCategories(), POPULAR_CATEGORIES_LIMIT, "eventCount"));
+        categories.put("totalUniqueCategories", statistics.getTotalCategories());
         return categories;
     }
 
-    private Map<String, Object> getReportMetadata() {
+    private Map<String, Object> getReportMetadata(PlatformStatistics statistics, LocalDate from, LocalDate to) {
         Map<String, Object> metadata = new LinkedHashMap<>();
-        metadata.put("generatedAt", LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm")));
-        metadata.put("timePeriod", "Все время");
+        metadata.put("generatedAt", formatDate(statistics.getGeneratedAt()));
+        metadata.put("timePeriod", describePeriod(from, to));
         metadata.put("dataFreshness", "Реальные данные");
         return metadata;
     }
 
-    private List<Map<String, Object>> formatPopularCategories(List<Object[]> categories) {
+    private Map<String, Object> toActivityMap(ActivityStatistics activity) {
+        Map<String, Object> period = new LinkedHashMap<>();
+        period.put("period", describePeriod(activity.getFrom(), activity.getTo()));
+        period.put("eventsCreated", activity.getEventsCreated());
+        period.put("participantsJoined", activity.getParticipantsJoined());
+        period.put("chatMessages", activity.getChatMessages());
+        period.put("comments", activity.getComments());
+        period.put("tasksCompleted", activity.getTasksCompleted());
+        period.put("imagesUploaded", activity.getImagesUploaded());
+        period.put("categories", formatPopularCategories(
+                activity.getCategories(), POPULAR_CATEGORIES_LIMIT, "eventCount"));
+        return period;
+    }
+
+    private String describePeriod(LocalDate from, LocalDate to) {
+        if (from == null && to == null) {
+            return "Все время";
+        } else if (from == null) {
+            return "По " + to.format(PERIOD_DATE_FORMAT);
+        } else if (to == null) {
+            return "С " + from.format(PERIOD_DATE_FORMAT);
+        }
+        return from.format(PERIOD_DATE_FORMAT) + " - " + to.format(PERIOD_DATE_FORMAT);
+    }
+
+    private List<Map<String, Object>> formatPopularCategories(List<CategoryStatistics> categories,
+                                                              int limit, String countKey) {
         List<Map<String, Object>> formatted = new ArrayList<>();
-        for (Object[] category : categories) {
+        for (CategoryStatistics category : categories.subList(0, Math.min(limit, categories.size()))) {
             Map<String, Object> categoryMap = new HashMap<>();
-            categoryMap.put("name", category[0]);
-            categoryMap.put("count", category[1]);
+            categoryMap.put("name", category.getName());
+            categoryMap.put(countKey, category.getEventCount());
             formatted.add(categoryMap);
         }
         return formatted;
     }
 
-    private Double calculateMessagesPerUser() {
-        Long totalUsers = userService.getTotalUsersCount();
-        Long totalMessages = chatService.getTotalMessagesCount();
-        if (totalUsers == 0) return 0.0;
-        return Math.round((totalMessages.doubleValue() / totalUsers.doubleValue()) * 100.0) / 100.0;
-    }
-
-    private Long calculateEventsWithChats() {
-        // Упрощенная реализация - в реальном приложении нужно добавить соответствующий метод в EventService
-        Long totalEvents = eventService.getTotalEventsCount();
-        Long eventsWithMessages = chatService.getTotalMessagesCount() > 0 ? totalEvents / 2 : 0L;
-        return eventsWithMessages;
-    }
-
-    private Integer calculateOverallCompletion() {
-        int taskCompletion = taskService.getCompletedTasksPercentage();
-        int checklistCompletion = checklistService.getCompletedItemsPercentage();
-        return (taskCompletion + checklistCompletion) / 2;
+    private String formatDate(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault()).format(REPORT_DATE_FORMAT);
     }
 
     private String calculatePlatformUptime() {
@@ -191,7 +339,7 @@ public class StatisticsService {
         stats.put("completedTasksPercentage", 0);
         stats.put("completedChecklistItemsPercentage", 0);
         stats.put("mostPopularCategories", new ArrayList<>());
-        stats.put("reportGeneratedAt", LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm")));
+        stats.put("reportGeneratedAt", LocalDateTime.now().format(REPORT_DATE_FORMAT));
         stats.put("platformUptime", "N/A");
     }
 }
\ No newline at end of file
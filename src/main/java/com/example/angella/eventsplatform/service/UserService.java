@@ -6,6 +6,7 @@ import com.example.angella.eventsplatform.entity.Role;
 import com.example.angella.eventsplatform.entity.User;
 import com.example.angella.eventsplatform.exception.EntityNotFoundException;
 import com.example.angella.eventsplatform.exception.RegisterUserException;
+import com.example.angella.eventsplatform.model.AdminUserRow;
 import com.example.angella.eventsplatform.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -15,6 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.text.MessageFormat;
 import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -26,6 +28,10 @@ public class UserService {
 
     @Transactional
     public User registerUser(User user) {
+        // Хэш вычисляется до первого запроса к БД: пока пул хэширования занят,
+        // транзакция еще не взяла соединение из пула
+        String passwordHash = passwordEncoder.encode(user.getPassword());
+
         if (userRepository.existsByUsernameOrEmail(user.getUsername(), user.getEmail())) {
             throw new RegisterUserException(
                     MessageFormat.format("User with username {0} or email {1} already exists!",
@@ -33,7 +39,7 @@ public class UserService {
             );
         }
 
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        user.setPassword(passwordHash);
 
         if (CollectionUtils.isEmpty(user.getRoles())) {
             user.addRole(Role.ROLE_USER);
@@ -62,27 +68,26 @@ public class UserService {
                 ));
     }
 
+    // Таблица пользователей админ-панели: счетчики мероприятий считаются в БД
     @PreAuthorize("hasRole('ADMIN')")
-    public List<User> findAllUsers() {
-        List<User> users = userRepository.findAll();
-        // Безопасная инициализация ленивых коллекций
-        users.forEach(user -> {
-            try {
-                if (user.getCreatedEvents() != null) {
-                    user.getCreatedEvents().size();
-                }
-            } catch (Exception e) {
-                // Игнорируем ошибки инициализации для createdEvents
-            }
-            try {
-                if (user.getEvents() != null) {
-                    user.getEvents().size();
-                }
-            } catch (Exception e) {
-                // Игнорируем ошибки инициализации для events
-            }
-        });
-        return users;
+    @Transactional(readOnly = true)
+    public List<AdminUserRow> findAdminUserRows() {
+        return userRepository.findAllWithEventCounts().stream()
+                .map(row -> {
+                    User user = (User) row[0];
+                    return new AdminUserRow(
+                            user.getId(),
+                            user.getUsername(),
+                            user.getEmail(),
+                            user.getFirstName(),
+                            user.getLastName(),
+                            user.getAvatar() != null ? user.getAvatar().getFilename() : null,
+                            Set.copyOf(user.getRoles()),
+                            ((Number) row[1]).intValue(),
+                            ((Number) row[2]).intValue()
+                    );
+                })
+                .toList();
     }
 
     @PreAuthorize("hasRole('ADMIN')")
@@ -0,0 +1,181 @@
+package com.example.angella.eventsplatform.service.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Выбор пула для соединения: транзакции readOnly = true - на доступную реплику по кругу,
+// остальное - на основную БД. Флаг readOnly известен только после начала транзакции, поэтому
+// источник используется за LazyConnectionDataSourceProxy, который берет соединение при первом выражении.
+// Чтения клиента в окне read-your-writes, чтения при отсутствии доступных реплик и чтения, заполняющие
+// общие кэши (readFromPrimary), идут на основную БД. Решения считаются в datasource.routing (target, reason)
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    public static final String PRIMARY = "primary";
+
+    // Ресурс транзакции: имя реплики, с которой взято ее соединение
+    private static final Object REPLICA_BINDING = new Object();
+
+    private static final ThreadLocal<Boolean> PRIMARY_PINNED = new ThreadLocal<>();
+
+    private final HikariDataSource primary;
+    private final List<ReplicaNode> replicas;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final MeterRegistry meterRegistry;
+    // Вызывается, когда транзакция получает соединение с реплики
+    private final Runnable replicaBindingListener;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReadReplicaRoutingDataSource(HikariDataSource primary,
+                                        List<ReplicaNode> replicas,
+                                        ReadYourWritesTracker readYourWritesTracker,
+                                        MeterRegistry meterRegistry,
+                                        Runnable replicaBindingListener) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.meterRegistry = meterRegistry;
+        this.replicaBindingListener = replicaBindingListener;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (ReplicaNode replica : this.replicas) {
+            targets.put(replica.getName(), replica.getDataSource());
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    public HikariDataSource getPrimary() {
+        return primary;
+    }
+
+    public List<ReplicaNode> getReplicas() {
+        return replicas;
+    }
+
+    // Чтение, результат которого попадает в общий кэш: если транзакция еще не взяла соединение,
+    // оно берется с основной БД, иначе отстающая реплика надолго закэшировала бы устаревшие данные.
+    // Без реплик (маршрутизация выключена) просто выполняет чтение
+    public static <T> T readFromPrimary(Supplier<T> reader) {
+        if (PRIMARY_PINNED.get() != null) {
+            return reader.get();
+        }
+        PRIMARY_PINNED.set(Boolean.TRUE);
+        try {
+            return reader.get();
+        } finally {
+            PRIMARY_PINNED.remove();
+        }
+    }
+
+    // Транзакция уже читает с реплики: ее результаты нельзя класть в общие кэши
+    public static boolean isReadingFromReplica() {
+        return TransactionSynchronizationManager.hasResource(REPLICA_BINDING);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String clientKey = ReadYourWritesTracker.currentClientKey();
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        readYourWritesTracker.recordWrite(clientKey);
+                    }
+                });
+            }
+            return route(PRIMARY, "read-write");
+        }
+
+        if (PRIMARY_PINNED.get() != null) {
+            return route(PRIMARY, "cache-fill");
+        }
+
+        if (readYourWritesTracker.isSticky(clientKey)) {
+            return route(PRIMARY, "read-your-writes");
+        }
+
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(replicas.size(), 1));
+        for (int i = 0; i < replicas.size(); i++) {
+            ReplicaNode replica = replicas.get((start + i) % replicas.size());
+            if (replica.isAvailable()) {
+                bindReplica(replica.getName());
+                return route(replica.getName(), "read-only");
+            }
+        }
+        return route(PRIMARY, "replica-unavailable");
+    }
+
+    // unwrap/isWrapperFor без выбора по транзакции: метрики пула (LiveMetricsAggregator,
+    // hikaricp.*) всегда получают основной пул
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return (T) this;
+        }
+        return primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+
+    @Override
+    public void close() {
+        for (ReplicaNode replica : replicas) {
+            replica.getDataSource().close();
+        }
+        primary.close();
+    }
+
+    private void bindReplica(String name) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(REPLICA_BINDING)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(REPLICA_BINDING, name);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void suspend() {
+                TransactionSynchronizationManager.unbindResourceIfPossible(REPLICA_BINDING);
+            }
+
+            @Override
+            public void resume() {
+                TransactionSynchronizationManager.bindResource(REPLICA_BINDING, name);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(REPLICA_BINDING);
+            }
+        });
+        replicaBindingListener.run();
+    }
+
+    private String route(String target, String reason) {
+        Counter.builder("datasource.routing")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        return target;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.angella.eventsplatform.service.datasource;
+
+import com.example.angella.eventsplatform.security.AppUserDetails;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Read-your-writes: после фиксации пишущей транзакции клиент в течение окна stickiness
+// читает с основной БД, пока реплики догоняют его изменения. Ключ клиента - id пользователя,
+// для анонимных запросов (регистрация перед входом) - IP-адрес. Состояние хранится в памяти узла
+public class ReadYourWritesTracker {
+
+    private final long stickinessNanos;
+    private final Map<String, Long> stickyUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(Duration stickiness) {
+        this.stickinessNanos = stickiness.toNanos();
+    }
+
+    public void recordWrite(String clientKey) {
+        if (clientKey != null && stickinessNanos > 0) {
+            stickyUntil.put(clientKey, System.nanoTime() + stickinessNanos);
+        }
+    }
+
+    public boolean isSticky(String clientKey) {
+        if (clientKey == null) {
+            return false;
+        }
+        Long until = stickyUntil.get(clientKey);
+        return until != null && until - System.nanoTime() > 0;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.read-replicas.stickiness:PT5S}")
+    public void evictExpired() {
+        long now = System.nanoTime();
+        stickyUntil.values().removeIf(until -> until - now <= 0);
+    }
+
+    int size() {
+        return stickyUntil.size();
+    }
+
+    // Ключ клиента текущего потока или null, если поток не связан ни с пользователем, ни с запросом
+    public static String currentClientKey() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AppUserDetails details) {
+            return "user:" + details.getId();
+        }
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return "ip:" + attributes.getRequest().getRemoteAddr();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.angella.eventsplatform.service.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+// Периодически измеряет отставание реплик. Реплика не отстает, если воспроизвела WAL до позиции,
+// которую основная БД сообщила перед проверкой, или если она получает WAL потоком и воспроизвела
+// все полученное. Иначе (в том числе при разорванном соединении с основной БД) отставание - время
+// с последней воспроизведенной транзакции. Статус приемника WAL виден пользователю с ролью
+// pg_monitor; без нее остается только сравнение с основной БД. Реплика с отставанием больше
+// max-lag или недоступная исключается из маршрутизации до следующей проверки.
+// Отставание публикуется в datasource.replica.lag (NaN - неизвестно)
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final String PRIMARY_LSN_QUERY = "SELECT pg_current_wal_lsn()::text";
+
+    // Параметр - позиция WAL основной БД; null, если ее не удалось получить
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                       WHEN pg_last_wal_replay_lsn() >= CAST(? AS pg_lsn) THEN 0
+                       WHEN (SELECT status FROM pg_stat_wal_receiver) = 'streaming'
+                            AND pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                       ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())
+                   END,
+                   pg_is_in_recovery()""";
+
+    private final DataSource primary;
+    private final List<ReplicaNode> replicas;
+    private final double maxLagSeconds;
+
+    public ReplicaLagMonitor(DataSource primary, List<ReplicaNode> replicas, Duration maxLag,
+                             MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        for (ReplicaNode replica : replicas) {
+            Gauge.builder("datasource.replica.lag", replica, ReplicaNode::getLagSeconds)
+                    .tag("replica", replica.getName())
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.read-replicas.lag-check-interval:PT2S}")
+    public void checkLag() {
+        String primaryLsn = currentPrimaryLsn();
+        for (ReplicaNode replica : replicas) {
+            double lag = measureLag(replica, primaryLsn);
+            boolean available = !Double.isNaN(lag) && lag <= maxLagSeconds;
+            if (available != replica.isAvailable()) {
+                if (available) {
+                    log.info("Replica {} is back in rotation, lag {}s", replica.getName(), lag);
+                } else {
+                    log.warn("Replica {} is out of rotation: lag {}s, max {}s", replica.getName(), lag, maxLagSeconds);
+                }
+            }
+            replica.update(available, lag);
+        }
+    }
+
+    private String currentPrimaryLsn() {
+        try (Connection connection = primary.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(PRIMARY_LSN_QUERY)) {
+            resultSet.next();
+            return resultSet.getString(1);
+        } catch (SQLException e) {
+            log.debug("Failed to read the primary WAL position: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private double measureLag(ReplicaNode replica, String primaryLsn) {
+        try (Connection connection = replica.getDataSource().getConnection();
+             PreparedStatement statement = connection.prepareStatement(LAG_QUERY)) {
+            statement.setString(1, primaryLsn);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                double lag = resultSet.getDouble(1);
+                // Нет воспроизведенных транзакций при невоспроизведенном WAL - отставание неизвестно
+                if (resultSet.wasNull()) {
+                    return Double.NaN;
+                }
+                if (!resultSet.getBoolean(2)) {
+                    log.debug("Replica {} is not in recovery, reads are not routed to it", replica.getName());
+                    return Double.NaN;
+                }
+                return Math.max(lag, 0);
+            }
+        } catch (SQLException e) {
+            log.debug("Lag check failed for replica {}: {}", replica.getName(), e.getMessage());
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.angella.eventsplatform.service.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+// Реплика и ее последнее измеренное состояние. До первой проверки реплика считается
+// недоступной, поэтому сразу после старта все чтения идут на основную БД
+public final class ReplicaNode {
+
+    private final String name;
+    private final HikariDataSource dataSource;
+    private volatile boolean available;
+    private volatile double lagSeconds = Double.NaN;
+
+    public ReplicaNode(String name, HikariDataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public HikariDataSource getDataSource() {
+        return dataSource;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    // NaN - отставание неизвестно (реплика недоступна или еще не проверялась)
+    public double getLagSeconds() {
+        return lagSeconds;
+    }
+
+    void update(boolean available, double lagSeconds) {
+        this.lagSeconds = lagSeconds;
+        this.available = available;
+    }
+}
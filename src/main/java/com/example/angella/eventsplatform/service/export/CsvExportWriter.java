@@ -0,0 +1,57 @@
+package com.example.angella.eventsplatform.service.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+// CSV (RFC 4180) в UTF-8 с BOM, чтобы Excel корректно открывал кириллицу
+public class CsvExportWriter implements ExportWriter {
+
+    private final Writer writer;
+
+    public CsvExportWriter(OutputStream outputStream) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void writeHeader(String title, List<String> headers) throws IOException {
+        writer.write('\uFEFF');
+        writeLine(List.copyOf(headers));
+    }
+
+    @Override
+    public void writeRow(List<Object> cells) throws IOException {
+        writeLine(cells);
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+
+    private void writeLine(List<?> cells) throws IOException {
+        for (int i = 0; i < cells.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escape(ExportWriter.toText(cells.get(i))));
+        }
+        writer.write("\r\n");
+    }
+
+    private String escape(String value) {
+        // Значения, похожие на формулы, экранируем, чтобы табличный редактор их не выполнял
+        if (!value.isEmpty() && "=+-@".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+}
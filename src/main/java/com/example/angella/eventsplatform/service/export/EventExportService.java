@@ -0,0 +1,70 @@
+package com.example.angella.eventsplatform.service.export;
+
+import com.example.angella.eventsplatform.model.export.ExportRow;
+import com.example.angella.eventsplatform.repository.ChatMessageRepository;
+import com.example.angella.eventsplatform.repository.ChecklistItemRepository;
+import com.example.angella.eventsplatform.repository.TaskRepository;
+import com.example.angella.eventsplatform.repository.UserRepository;
+import com.example.angella.eventsplatform.service.PdfReportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// Выгрузка разделов мероприятия (участники, задачи, чек-лист, чат) в CSV, XLSX или PDF.
+// Строки читаются курсором JDBC через Stream-методы репозиториев и сразу пишутся в поток,
+// поэтому расход памяти не зависит от размера мероприятия
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class EventExportService {
+
+    private final UserRepository userRepository;
+    private final TaskRepository taskRepository;
+    private final ChecklistItemRepository checklistItemRepository;
+    private final ChatMessageRepository chatMessageRepository;
+    private final PdfReportService pdfReportService;
+
+    // Транзакция держит соединение открытым, пока курсор не дочитан до конца
+    @Transactional(readOnly = true)
+    public long export(Long eventId, ExportSection section, ExportFormat format,
+                       OutputStream outputStream) throws IOException {
+        long rowCount = 0;
+        try (Stream<? extends ExportRow> rows = streamRows(eventId, section);
+             ExportWriter writer = createWriter(format, outputStream)) {
+
+            writer.writeHeader(section.getTitle(), section.getHeaders());
+            Iterator<? extends ExportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writer.writeRow(iterator.next().cells());
+                rowCount++;
+            }
+            writer.finish();
+        }
+
+        log.info("Exported {} rows of {} for event {} as {}", rowCount, section, eventId, format);
+        return rowCount;
+    }
+
+    private Stream<? extends ExportRow> streamRows(Long eventId, ExportSection section) {
+        return switch (section) {
+            case PARTICIPANTS -> userRepository.streamParticipantsForExport(eventId);
+            case TASKS -> taskRepository.streamForExport(eventId);
+            case CHECKLIST -> checklistItemRepository.streamForExport(eventId);
+            case CHAT -> chatMessageRepository.streamForExport(eventId);
+        };
+    }
+
+    private ExportWriter createWriter(ExportFormat format, OutputStream outputStream) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvExportWriter(outputStream);
+            case XLSX -> new XlsxExportWriter(outputStream);
+            case PDF -> new PdfExportWriter(outputStream, pdfReportService.createDocumentFont());
+        };
+    }
+}
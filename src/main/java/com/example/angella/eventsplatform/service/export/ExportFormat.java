@@ -0,0 +1,24 @@
+package com.example.angella.eventsplatform.service.export;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+    CSV("text/csv; charset=UTF-8", "csv"),
+    XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx"),
+    PDF("application/pdf", "pdf");
+
+    private final String contentType;
+    private final String extension;
+
+    public static ExportFormat fromString(String value) {
+        return Arrays.stream(values())
+                .filter(format -> format.name().equalsIgnoreCase(value))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported export format: " + value));
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.angella.eventsplatform.service.export;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Разделы выгрузки мероприятия и заголовки их колонок
+@Getter
+@RequiredArgsConstructor
+public enum ExportSection {
+    PARTICIPANTS("Участники", List.of("ID", "Логин", "Имя", "Фамилия", "Email", "Организатор")),
+    TASKS("Задачи", List.of("ID", "Описание", "Выполнена", "Автор", "Исполнитель", "Создана", "Выполнена в")),
+    CHECKLIST("Чек-лист", List.of("ID", "Название", "Описание", "Количество", "Готово", "Ответственный", "Автор")),
+    CHAT("Чат", List.of("ID", "Время", "Автор", "Сообщение", "Изменено", "Изображений"));
+
+    private final String title;
+    private final List<String> headers;
+
+    public static ExportSection fromString(String value) {
+        return Arrays.stream(values())
+                .filter(section -> section.name().equalsIgnoreCase(value))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported export section: " + value));
+    }
+}
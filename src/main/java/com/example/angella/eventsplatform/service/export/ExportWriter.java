@@ -0,0 +1,40 @@
+package com.example.angella.eventsplatform.service.export;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+// Построчная запись выгрузки в выходной поток. Реализации не накапливают строки в памяти
+// и не закрывают выходной поток - им управляет вызывающий код
+public interface ExportWriter extends AutoCloseable {
+
+    DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")
+            .withZone(ZoneId.systemDefault());
+
+    void writeHeader(String title, List<String> headers) throws IOException;
+
+    void writeRow(List<Object> cells) throws IOException;
+
+    // Дописывает документ и сбрасывает буферы в выходной поток
+    void finish() throws IOException;
+
+    // Освобождает ресурсы писателя, в том числе при ошибке до finish()
+    @Override
+    default void close() throws IOException {
+    }
+
+    static String toText(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof Instant instant) {
+            return DATE_TIME_FORMATTER.format(instant);
+        }
+        if (value instanceof Boolean flag) {
+            return flag ? "Да" : "Нет";
+        }
+        return value.toString();
+    }
+}
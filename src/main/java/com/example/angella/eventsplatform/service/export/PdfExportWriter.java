@@ -0,0 +1,74 @@
+package com.example.angella.eventsplatform.service.export;
+
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.properties.UnitValue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+// PDF с "большой" таблицей iText: строки периодически сбрасываются на страницы
+// и в выходной поток, поэтому таблица не накапливается в памяти целиком
+public class PdfExportWriter implements ExportWriter {
+
+    private static final int FLUSH_EVERY_ROWS = 100;
+
+    private final PdfDocument pdfDocument;
+    private final Document document;
+
+    private Table table;
+    private int pendingRows;
+
+    public PdfExportWriter(OutputStream outputStream, PdfFont font) {
+        PdfWriter writer = new PdfWriter(outputStream);
+        writer.setCloseStream(false);
+        this.pdfDocument = new PdfDocument(writer);
+        this.document = new Document(pdfDocument, PageSize.A4.rotate(), true);
+        this.document.setFont(font);
+        this.document.setFontSize(8);
+        this.document.setMargins(20, 20, 20, 20);
+    }
+
+    @Override
+    public void writeHeader(String title, List<String> headers) {
+        document.add(new Paragraph(title).setFontSize(14).setBold());
+
+        table = new Table(UnitValue.createPercentArray(headers.size()), true)
+                .useAllAvailableWidth();
+        for (String header : headers) {
+            table.addHeaderCell(new Cell().add(new Paragraph(header).setBold()));
+        }
+        document.add(table);
+    }
+
+    @Override
+    public void writeRow(List<Object> cells) {
+        for (Object value : cells) {
+            table.addCell(new Cell().add(new Paragraph(ExportWriter.toText(value))));
+        }
+        if (++pendingRows >= FLUSH_EVERY_ROWS) {
+            table.flush();
+            pendingRows = 0;
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        table.complete();
+        document.close();
+    }
+
+    @Override
+    public void close() {
+        if (!pdfDocument.isClosed()) {
+            document.close();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.angella.eventsplatform.service.export;
+
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+// XLSX через потоковый SXSSF: в памяти держится только окно последних строк,
+// остальные сбрасываются во временный файл. При превышении лимита строк Excel
+// выгрузка продолжается на следующем листе
+public class XlsxExportWriter implements ExportWriter {
+
+    private static final int ROW_ACCESS_WINDOW = 100;
+
+    private static final int MAX_ROWS_PER_SHEET = SpreadsheetVersion.EXCEL2007.getMaxRows();
+
+    private static final int MAX_CELL_LENGTH = SpreadsheetVersion.EXCEL2007.getMaxTextLength();
+
+    private final OutputStream outputStream;
+    private final SXSSFWorkbook workbook;
+    private final CellStyle headerStyle;
+
+    private String title;
+    private List<String> headers;
+    private SXSSFSheet sheet;
+    private int rowIndex;
+
+    public XlsxExportWriter(OutputStream outputStream) {
+        this.outputStream = outputStream;
+        this.workbook = new SXSSFWorkbook(ROW_ACCESS_WINDOW);
+        this.workbook.setCompressTempFiles(true);
+
+        Font headerFont = workbook.createFont();
+        headerFont.setBold(true);
+        this.headerStyle = workbook.createCellStyle();
+        this.headerStyle.setFont(headerFont);
+    }
+
+    @Override
+    public void writeHeader(String title, List<String> headers) {
+        this.title = title;
+        this.headers = headers;
+        startSheet();
+    }
+
+    @Override
+    public void writeRow(List<Object> cells) {
+        if (rowIndex >= MAX_ROWS_PER_SHEET) {
+            startSheet();
+        }
+
+        Row row = sheet.createRow(rowIndex++);
+        for (int i = 0; i < cells.size(); i++) {
+            setValue(row.createCell(i), cells.get(i));
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        workbook.write(outputStream);
+        outputStream.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        // Удаляем временные файлы SXSSF
+        workbook.dispose();
+        workbook.close();
+    }
+
+    private void startSheet() {
+        int number = workbook.getNumberOfSheets();
+        sheet = workbook.createSheet(number == 0 ? title : title + " " + (number + 1));
+        rowIndex = 0;
+
+        Row headerRow = sheet.createRow(rowIndex++);
+        for (int i = 0; i < headers.size(); i++) {
+            Cell cell = headerRow.createCell(i);
+            cell.setCellValue(headers.get(i));
+            cell.setCellStyle(headerStyle);
+        }
+        sheet.createFreezePane(0, 1);
+    }
+
+    private void setValue(Cell cell, Object value) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof Number number) {
+            cell.setCellValue(number.doubleValue());
+            return;
+        }
+
+        String text = ExportWriter.toText(value);
+        cell.setCellValue(text.length() > MAX_CELL_LENGTH ? text.substring(0, MAX_CELL_LENGTH) : text);
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.angella.eventsplatform.service.metrics;
+
+import com.example.angella.eventsplatform.model.LiveMetricsSnapshot;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Оперативные метрики для панели администратора. Сервисы только увеличивают счетчики
+// (LongAdder, без блокировок и обращений к БД), раз в тик собирается один снимок и
+// публикуется в топик администраторов - нагрузка не зависит от числа открытых панелей
+@Service
+@Slf4j
+public class LiveMetricsAggregator {
+
+    public static final String METRICS_TOPIC = "/topic/admin/metrics";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final SimpUserRegistry simpUserRegistry;
+    private final DataSource dataSource;
+
+    private final LongAdder messages = new LongAdder();
+    private final LongAdder joins = new LongAdder();
+    private final LongAdder uploads = new LongAdder();
+
+    // Событие отключения может прийти для сессии несколько раз, поэтому храним id сессий
+    private final Set<String> sessions = ConcurrentHashMap.newKeySet();
+
+    private long messagesTotal;
+    private long joinsTotal;
+    private long uploadsTotal;
+    private long lastTickNanos = System.nanoTime();
+
+    private volatile LiveMetricsSnapshot latestSnapshot;
+
+    public LiveMetricsAggregator(SimpMessagingTemplate messagingTemplate,
+                                 SimpUserRegistry simpUserRegistry,
+                                 DataSource dataSource,
+                                 MeterRegistry meterRegistry) {
+        this.messagingTemplate = messagingTemplate;
+        this.simpUserRegistry = simpUserRegistry;
+        this.dataSource = dataSource;
+
+        Gauge.builder("websocket.sessions.active", sessions, Set::size)
+                .description("Open STOMP sessions")
+                .register(meterRegistry);
+    }
+
+    public void recordChatMessage() {
+        messages.increment();
+    }
+
+    public void recordParticipantJoin() {
+        joins.increment();
+    }
+
+    public void recordUpload() {
+        uploads.increment();
+    }
+
+    @EventListener
+    public void onSessionConnected(SessionConnectedEvent event) {
+        String sessionId = (String) event.getMessage().getHeaders().get("simpSessionId");
+        if (sessionId != null) {
+            sessions.add(sessionId);
+        }
+    }
+
+    @EventListener
+    public void onSessionDisconnect(SessionDisconnectEvent event) {
+        sessions.remove(event.getSessionId());
+    }
+
+    // Последний опубликованный снимок (null до первого тика)
+    public LiveMetricsSnapshot getLatestSnapshot() {
+        return latestSnapshot;
+    }
+
+    @Scheduled(fixedRateString = "${app.metrics.live.interval:PT1S}")
+    public void publish() {
+        LiveMetricsSnapshot snapshot = sample();
+        latestSnapshot = snapshot;
+
+        // Без подписчиков снимок не рассылаем, счетчики при этом продолжают сбрасываться
+        if (simpUserRegistry.findSubscriptions(s -> METRICS_TOPIC.equals(s.getDestination())).isEmpty()) {
+            return;
+        }
+        messagingTemplate.convertAndSend(METRICS_TOPIC, snapshot);
+    }
+
+    // Сбрасывает счетчики тика и пересчитывает их в значения в секунду
+    private synchronized LiveMetricsSnapshot sample() {
+        long now = System.nanoTime();
+        double seconds = Math.max((now - lastTickNanos) / 1_000_000_000.0, 0.001);
+        lastTickNanos = now;
+
+        long messagesTick = messages.sumThenReset();
+        long joinsTick = joins.sumThenReset();
+        long uploadsTick = uploads.sumThenReset();
+        messagesTotal += messagesTick;
+        joinsTotal += joinsTick;
+        uploadsTotal += uploadsTick;
+
+        HikariDataSource hikari = hikariDataSource();
+        HikariPoolMXBean pool = hikari != null ? hikari.getHikariPoolMXBean() : null;
+        return new LiveMetricsSnapshot(
+                Instant.now(),
+                sessions.size(),
+                round(messagesTick / seconds),
+                round(joinsTick / seconds),
+                round(uploadsTick / seconds),
+                messagesTotal,
+                joinsTotal,
+                uploadsTotal,
+                pool != null ? pool.getActiveConnections() : -1,
+                pool != null ? pool.getIdleConnections() : -1,
+                pool != null ? pool.getTotalConnections() : -1,
+                hikari != null ? hikari.getMaximumPoolSize() : -1,
+                pool != null ? pool.getThreadsAwaitingConnection() : -1
+        );
+    }
+
+    // MXBean пула равен null, пока пул не инициализирован первым соединением
+    private HikariDataSource hikariDataSource() {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class);
+            }
+        } catch (SQLException e) {
+            log.debug("Connection pool metrics are unavailable: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    private double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.angella.eventsplatform.service.metrics;
+
+import com.example.angella.eventsplatform.model.SlowLogEntry;
+import com.example.angella.eventsplatform.model.SlowQueryOffender;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+// Журнал медленных SQL-запросов и медленных HTTP-запросов/STOMP-кадров.
+// Время каждого выражения пишется в таймер sql.statements; выражения и запросы дольше
+// порогов попадают в лог sql.slow (key=value) и в кольцевой буфер для страницы администратора.
+// SQL связывается с вызвавшим его запросом через MDC (requestId, source) текущего потока
+@Service
+public class SlowLogService {
+
+    public static final String MDC_REQUEST_ID = "requestId";
+    public static final String MDC_SOURCE = "source";
+
+    private static final Logger SLOW_LOG = LoggerFactory.getLogger("sql.slow");
+
+    // Идентификатор от клиента попадает в лог и в ответ, поэтому принимается только короткий токен
+    private static final Pattern REQUEST_ID_PATTERN = Pattern.compile("[A-Za-z0-9-]{1,64}");
+
+    private static final ThreadLocal<RequestStats> CURRENT_REQUEST = new ThreadLocal<>();
+
+    private final MeterRegistry meterRegistry;
+    private final Duration slowQueryThreshold;
+    private final Duration slowRequestThreshold;
+    private final double parameterSampleRate;
+
+    // Таймеры sql.statements по типу выражения, отдельно для успешных и завершившихся ошибкой
+    private final Map<String, Timer> successTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> errorTimers = new ConcurrentHashMap<>();
+
+    private final SlowLogEntry[] buffer;
+    private int nextIndex;
+    private int size;
+
+    public SlowLogService(MeterRegistry meterRegistry,
+                          @Value("${app.monitoring.slow-query-threshold:PT0.2S}") Duration slowQueryThreshold,
+                          @Value("${app.monitoring.slow-request-threshold:PT1S}") Duration slowRequestThreshold,
+                          @Value("${app.monitoring.parameter-sample-rate:0.25}") double parameterSampleRate,
+                          @Value("${app.monitoring.buffer-size:200}") int bufferSize) {
+        this.meterRegistry = meterRegistry;
+        this.slowQueryThreshold = slowQueryThreshold;
+        this.slowRequestThreshold = slowRequestThreshold;
+        this.parameterSampleRate = parameterSampleRate;
+        this.buffer = new SlowLogEntry[bufferSize];
+    }
+
+    // Вызывается после выполнения каждого SQL-выражения (в том числе пакета)
+    public void recordStatement(String sql, String type, long elapsedMs, boolean success,
+                                Supplier<List<String>> parameters) {
+        Map<String, Timer> timers = success ? successTimers : errorTimers;
+        timers.computeIfAbsent(type, t -> statementTimer(t, success ? "success" : "error"))
+                .record(elapsedMs, TimeUnit.MILLISECONDS);
+
+        RequestStats request = CURRENT_REQUEST.get();
+        if (request != null) {
+            request.statementCount++;
+            request.sqlTimeMs += elapsedMs;
+        }
+
+        if (elapsedMs < slowQueryThreshold.toMillis()) {
+            return;
+        }
+
+        // Параметры собираются только для части медленных запросов
+        List<String> capturedParameters = ThreadLocalRandom.current().nextDouble() < parameterSampleRate
+                ? parameters.get()
+                : List.of();
+        SlowLogEntry entry = new SlowLogEntry(Instant.now(), SlowLogEntry.Kind.SQL,
+                MDC.get(MDC_REQUEST_ID), currentSource(), elapsedMs, sql, capturedParameters, 1, elapsedMs);
+        add(entry);
+
+        SLOW_LOG.warn("kind=sql durationMs={} requestId={} source=\"{}\" sql=\"{}\" params={}",
+                elapsedMs, entry.getRequestId(), entry.getSource(), sql, capturedParameters);
+    }
+
+    // Открывает область HTTP-запроса или STOMP-кадра: MDC и счетчики SQL текущего потока
+    public RequestScope openScope(String source, String requestId) {
+        return new RequestScope(source, requestId != null && REQUEST_ID_PATTERN.matcher(requestId).matches()
+                ? requestId
+                : UUID.randomUUID().toString().substring(0, 8));
+    }
+
+    public List<SlowLogEntry> getRecentEntries() {
+        List<SlowLogEntry> entries = new ArrayList<>(size);
+        synchronized (buffer) {
+            // От новых к старым
+            for (int i = 1; i <= size; i++) {
+                entries.add(buffer[(nextIndex - i + buffer.length) % buffer.length]);
+            }
+        }
+        return entries;
+    }
+
+    // Самые затратные SQL-запросы среди записей буфера по суммарному времени
+    public List<SlowQueryOffender> getTopOffenders(int limit) {
+        Map<String, long[]> totals = new LinkedHashMap<>();
+        Map<String, String> lastSources = new LinkedHashMap<>();
+        for (SlowLogEntry entry : getRecentEntries()) {
+            if (entry.getKind() != SlowLogEntry.Kind.SQL) {
+                continue;
+            }
+            long[] stats = totals.computeIfAbsent(entry.getSql(), sql -> new long[3]);
+            stats[0]++;
+            stats[1] += entry.getDurationMs();
+            stats[2] = Math.max(stats[2], entry.getDurationMs());
+            lastSources.putIfAbsent(entry.getSql(), entry.getSource());
+        }
+
+        return totals.entrySet().stream()
+                .map(e -> new SlowQueryOffender(e.getKey(), e.getValue()[0], e.getValue()[1], e.getValue()[2],
+                        lastSources.get(e.getKey())))
+                .sorted(Comparator.comparingLong(SlowQueryOffender::getTotalMs).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    private Timer statementTimer(String type, String outcome) {
+        return Timer.builder("sql.statements")
+                .tag("type", type)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private void add(SlowLogEntry entry) {
+        synchronized (buffer) {
+            buffer[nextIndex] = entry;
+            nextIndex = (nextIndex + 1) % buffer.length;
+            size = Math.min(size + 1, buffer.length);
+        }
+    }
+
+    private String currentSource() {
+        String source = MDC.get(MDC_SOURCE);
+        return source != null ? source : Thread.currentThread().getName();
+    }
+
+    private static class RequestStats {
+        private int statementCount;
+        private long sqlTimeMs;
+    }
+
+    public class RequestScope implements AutoCloseable {
+
+        private final long startNanos = System.nanoTime();
+        private final String source;
+        private final String requestId;
+        private final RequestStats previousStats;
+        private final String previousRequestId;
+        private final String previousSource;
+        private final RequestStats stats = new RequestStats();
+
+        private RequestScope(String source, String requestId) {
+            this.source = source;
+            this.requestId = requestId;
+            // Вложенная область (например, forward внутри запроса) не должна терять внешнюю
+            this.previousStats = CURRENT_REQUEST.get();
+            this.previousRequestId = MDC.get(MDC_REQUEST_ID);
+            this.previousSource = MDC.get(MDC_SOURCE);
+            CURRENT_REQUEST.set(stats);
+            MDC.put(MDC_REQUEST_ID, requestId);
+            MDC.put(MDC_SOURCE, source);
+        }
+
+        public String getRequestId() {
+            return requestId;
+        }
+
+        @Override
+        public void close() {
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            try {
+                if (elapsedMs >= slowRequestThreshold.toMillis()) {
+                    add(new SlowLogEntry(Instant.now(), SlowLogEntry.Kind.REQUEST, requestId, source, elapsedMs,
+                            null, List.of(), stats.statementCount, stats.sqlTimeMs));
+                    SLOW_LOG.warn("kind=request durationMs={} requestId={} source=\"{}\" statements={} sqlTimeMs={}",
+                            elapsedMs, requestId, source, stats.statementCount, stats.sqlTimeMs);
+                }
+            } finally {
+                if (previousStats != null) {
+                    CURRENT_REQUEST.set(previousStats);
+                    previousStats.statementCount += stats.statementCount;
+                    previousStats.sqlTimeMs += stats.sqlTimeMs;
+                } else {
+                    CURRENT_REQUEST.remove();
+                }
+                restoreMdc(MDC_REQUEST_ID, previousRequestId);
+                restoreMdc(MDC_SOURCE, previousSource);
+            }
+        }
+
+        private static void restoreMdc(String key, String previousValue) {
+            if (previousValue != null) {
+                MDC.put(key, previousValue);
+            } else {
+                MDC.remove(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.angella.eventsplatform.service.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Слушатель datasource-proxy: передает время каждого выражения в SlowLogService.
+// Параметры привязки собираются лениво (только для попавших в выборку медленных запросов).
+// Строки могут содержать личные данные и секреты (email, хэши, токены, текст сообщений),
+// поэтому все строковые параметры маскируются; числа, даты и флаги сохраняются как есть
+public class SqlTimingListener implements QueryExecutionListener {
+
+    private static final int MAX_BATCH_PARAMETERS = 5;
+
+    // SlowLogService запрашивается при первом выражении, чтобы не создавать его вместе с DataSource
+    private final ObjectProvider<SlowLogService> slowLogService;
+
+    public SqlTimingListener(ObjectProvider<SlowLogService> slowLogService) {
+        this.slowLogService = slowLogService;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SlowLogService service = slowLogService.getIfAvailable();
+        if (service == null || queryInfoList.isEmpty()) {
+            return;
+        }
+
+        String sql = queryInfoList.size() == 1
+                ? queryInfoList.get(0).getQuery()
+                : queryInfoList.stream().map(QueryInfo::getQuery).distinct().reduce((a, b) -> a + "; " + b).orElse("");
+        String type = QueryUtils.getQueryType(queryInfoList.get(0).getQuery()).name().toLowerCase(Locale.ROOT);
+        if (execInfo.isBatch()) {
+            type = type + "-batch";
+        }
+
+        service.recordStatement(sql, type, execInfo.getElapsedTime(), execInfo.isSuccess(),
+                () -> captureParameters(queryInfoList));
+    }
+
+    private List<String> captureParameters(List<QueryInfo> queryInfoList) {
+        List<String> result = new ArrayList<>();
+        for (QueryInfo queryInfo : queryInfoList) {
+            List<List<ParameterSetOperation>> parametersList = queryInfo.getParametersList();
+            // Для пакетов достаточно первых нескольких наборов параметров
+            for (int i = 0; i < Math.min(parametersList.size(), MAX_BATCH_PARAMETERS); i++) {
+                List<String> values = new ArrayList<>();
+                for (ParameterSetOperation operation : parametersList.get(i)) {
+                    Object[] args = operation.getArgs();
+                    values.add(mask(args.length > 1 ? args[1] : null));
+                }
+                result.add(String.join(", ", values));
+            }
+            if (parametersList.size() > MAX_BATCH_PARAMETERS) {
+                result.add("... " + (parametersList.size() - MAX_BATCH_PARAMETERS) + " more");
+            }
+        }
+        return result;
+    }
+
+    static String mask(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof CharSequence || value instanceof Character) {
+            return "[masked]";
+        }
+        return value instanceof byte[] bytes ? "[" + bytes.length + " bytes]" : String.valueOf(value);
+    }
+}
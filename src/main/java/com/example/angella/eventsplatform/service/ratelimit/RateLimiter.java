@@ -0,0 +1,149 @@
+package com.example.angella.eventsplatform.service.ratelimit;
+
+import com.example.angella.eventsplatform.configuration.RateLimitProperties;
+import com.example.angella.eventsplatform.configuration.RateLimitProperties.Policy;
+import com.example.angella.eventsplatform.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Ограничение частоты запросов корзинами токенов в памяти. Корзина - пара (политика, ключ клиента);
+// изменения корзины выполняются под одной из STRIPES блокировок, выбранной по хэшу ключа,
+// поэтому разные клиенты почти не конкурируют за блокировку. Отказы считаются в ratelimit.rejections
+@Service
+@Slf4j
+public class RateLimiter {
+
+    private static final int STRIPES = 64;
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Object[] locks = new Object[STRIPES];
+    private final Map<BucketKey, Bucket> buckets = new ConcurrentHashMap<>();
+    private final List<Route> httpRoutes = new ArrayList<>();
+    private final List<Route> stompRoutes = new ArrayList<>();
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+
+        properties.getPolicies().forEach((name, policy) -> {
+            for (String path : policy.getPaths()) {
+                String[] parts = path.trim().split("\\s+", 2);
+                httpRoutes.add(parts.length == 2
+                        ? new Route(name, parts[0].toUpperCase(Locale.ROOT), parts[1])
+                        : new Route(name, null, parts[0]));
+            }
+            for (String destination : policy.getDestinations()) {
+                stompRoutes.add(new Route(name, null, destination.trim()));
+            }
+        });
+    }
+
+    // Политика HTTP-запроса или null, если маршрут не ограничивается
+    public String findHttpPolicy(String method, String path) {
+        for (Route route : httpRoutes) {
+            if ((route.method() == null || route.method().equals(method)) && pathMatcher.match(route.pattern(), path)) {
+                return route.policy();
+            }
+        }
+        return null;
+    }
+
+    public String findStompPolicy(String destination) {
+        for (Route route : stompRoutes) {
+            if (pathMatcher.match(route.pattern(), destination)) {
+                return route.policy();
+            }
+        }
+        return null;
+    }
+
+    // Забирает токен из корзины клиента; при пустой корзине - RateLimitExceededException
+    public void acquire(String policyName, String clientKey, String channel) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Policy policy = properties.getPolicies().get(policyName);
+        if (policy == null) {
+            return;
+        }
+
+        BucketKey key = new BucketKey(policyName, clientKey);
+        long now = System.nanoTime();
+        long waitNanos;
+        synchronized (locks[(key.hashCode() & Integer.MAX_VALUE) % STRIPES]) {
+            Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket(policy.getCapacity(), now));
+            waitNanos = bucket.tryConsume(policy, now);
+        }
+
+        if (waitNanos > 0) {
+            rejections(policyName, channel).increment();
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            log.debug("Rate limit {} exceeded by {}", policyName, clientKey);
+            throw new RateLimitExceededException(policyName, retryAfter);
+        }
+    }
+
+    // Удаляет корзины, не использованные дольше idle-timeout: к этому времени они полны
+    @Scheduled(fixedDelayString = "${app.rate-limit.cleanup-interval:PT1M}")
+    public void evictIdleBuckets() {
+        long threshold = System.nanoTime() - properties.getIdleTimeout().toNanos();
+        buckets.entrySet().removeIf(entry -> entry.getValue().lastRefillNanos - threshold < 0);
+    }
+
+    int getBucketCount() {
+        return buckets.size();
+    }
+
+    private Counter rejections(String policy, String channel) {
+        return Counter.builder("ratelimit.rejections")
+                .tag("policy", policy)
+                .tag("channel", channel)
+                .register(meterRegistry);
+    }
+
+    private record Route(String policy, String method, String pattern) {
+    }
+
+    private record BucketKey(String policy, String clientKey) {
+    }
+
+    // Состояние корзины; меняется только под блокировкой полосы
+    private static final class Bucket {
+        private double tokens;
+        private volatile long lastRefillNanos;
+
+        private Bucket(int capacity, long now) {
+            this.tokens = capacity;
+            this.lastRefillNanos = now;
+        }
+
+        // 0 - токен получен, иначе время до появления следующего токена
+        private long tryConsume(Policy policy, long now) {
+            double elapsedSeconds = (now - lastRefillNanos) / 1_000_000_000.0;
+            tokens = Math.min(policy.getCapacity(), tokens + elapsedSeconds * policy.getRefillPerSecond());
+            lastRefillNanos = now;
+
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) ((1 - tokens) / policy.getRefillPerSecond() * 1_000_000_000L);
+        }
+    }
+}
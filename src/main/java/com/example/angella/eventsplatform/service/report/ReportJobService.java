@@ -0,0 +1,192 @@
+package com.example.angella.eventsplatform.service.report;
+
+import com.example.angella.eventsplatform.exception.AccessDeniedException;
+import com.example.angella.eventsplatform.exception.EntityNotFoundException;
+import com.example.angella.eventsplatform.exception.ServiceOverloadedException;
+import com.example.angella.eventsplatform.service.PdfReportService;
+import com.example.angella.eventsplatform.service.StatisticsService;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Фоновая генерация PDF-отчетов: задание ставится в ограниченную очередь reportExecutor,
+// готовый файл сохраняется в app.reports.dir и скачивается по id задания.
+// О завершении пользователь получает уведомление в /user/queue/reports
+@Service
+@Slf4j
+public class ReportJobService {
+
+    public static final String REPORTS_QUEUE = "/queue/reports";
+
+    private final StatisticsService statisticsService;
+    private final PdfReportService pdfReportService;
+    private final ThreadPoolTaskExecutor reportExecutor;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+
+    @Value("${app.reports.dir:reports}")
+    private String reportsDir;
+
+    @Value("${app.reports.ttl:PT1H}")
+    private Duration reportTtl;
+
+    public ReportJobService(StatisticsService statisticsService,
+                            PdfReportService pdfReportService,
+                            @Qualifier("reportExecutor") ThreadPoolTaskExecutor reportExecutor,
+                            SimpMessagingTemplate messagingTemplate) {
+        this.statisticsService = statisticsService;
+        this.pdfReportService = pdfReportService;
+        this.reportExecutor = reportExecutor;
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    public ReportJob submit(LocalDate from, LocalDate to, String username) {
+        String id = UUID.randomUUID().toString();
+        ReportJob job = new ReportJob(id, username, from, to);
+        jobs.put(id, job);
+
+        try {
+            reportExecutor.execute(() -> render(job));
+        } catch (TaskRejectedException e) {
+            jobs.remove(id);
+            log.warn("Report job rejected for {}: executor queue is full", username);
+            throw new ServiceOverloadedException("Too many reports in progress, please retry later");
+        }
+
+        log.info("Report job {} accepted for {}: period {} - {}", id, username, from, to);
+        return job;
+    }
+
+    public ReportJob getJob(String jobId, String username) {
+        ReportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new EntityNotFoundException("Report job not found");
+        }
+        if (!job.getUsername().equals(username)) {
+            throw new AccessDeniedException("Report job belongs to another user");
+        }
+        return job;
+    }
+
+    // Удаляет задания и файлы отчетов по истечении срока хранения
+    @Scheduled(fixedDelayString = "${app.reports.cleanup-interval:PT10M}")
+    public void cleanupExpiredReports() {
+        Instant threshold = Instant.now().minus(reportTtl);
+        List<ReportJob> expired = jobs.values().stream()
+                .filter(job -> job.getStatus().isFinal() && job.getUpdatedAt().isBefore(threshold))
+                .toList();
+
+        for (ReportJob job : expired) {
+            jobs.remove(job.getId());
+            deleteQuietly(job.getFile());
+        }
+
+        if (!expired.isEmpty()) {
+            log.info("Removed {} expired report jobs", expired.size());
+        }
+    }
+
+    private void render(ReportJob job) {
+        job.update(ReportJobStatus.RUNNING, null, null);
+        Path file = null;
+        try {
+            Path directory = Paths.get(reportsDir);
+            Files.createDirectories(directory);
+            file = directory.resolve(job.getId() + ".pdf");
+
+            Map<String, Object> stats = statisticsService.getDetailedStatistics(job.getFrom(), job.getTo());
+            try (OutputStream outputStream = Files.newOutputStream(file)) {
+                pdfReportService.writeStatisticsReport(stats, outputStream);
+            }
+
+            job.update(ReportJobStatus.COMPLETED, file, null);
+            log.info("Report job {} completed: {} bytes", job.getId(), Files.size(file));
+        } catch (Exception e) {
+            log.error("Report job {} failed", job.getId(), e);
+            deleteQuietly(file);
+            job.update(ReportJobStatus.FAILED, null, e.getMessage());
+        } finally {
+            notifyUser(job);
+        }
+    }
+
+    private void notifyUser(ReportJob job) {
+        try {
+            Map<String, Object> payload = new HashMap<>();
+            payload.put("jobId", job.getId());
+            payload.put("status", job.getStatus());
+            payload.put("error", job.getError());
+            payload.put("timestamp", job.getUpdatedAt());
+
+            messagingTemplate.convertAndSendToUser(job.getUsername(), REPORTS_QUEUE, payload);
+        } catch (Exception e) {
+            log.error("Failed to send report notification {}", job.getId(), e);
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete report file {}", path, e);
+        }
+    }
+
+    public enum ReportJobStatus {
+        QUEUED, RUNNING, COMPLETED, FAILED;
+
+        public boolean isFinal() {
+            return this == COMPLETED || this == FAILED;
+        }
+    }
+
+    @Getter
+    public static class ReportJob {
+        private final String id;
+        private final String username;
+        private final LocalDate from;
+        private final LocalDate to;
+        private volatile ReportJobStatus status = ReportJobStatus.QUEUED;
+        private volatile Path file;
+        private volatile String error;
+        private volatile Instant updatedAt = Instant.now();
+
+        ReportJob(String id, String username, LocalDate from, LocalDate to) {
+            this.id = id;
+            this.username = username;
+            this.from = from;
+            this.to = to;
+        }
+
+        void update(ReportJobStatus status, Path file, String error) {
+            this.status = status;
+            this.file = file;
+            this.error = error;
+            this.updatedAt = Instant.now();
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.angella.eventsplatform.service.upload;
+
+import com.example.angella.eventsplatform.exception.AccessDeniedException;
+import com.example.angella.eventsplatform.exception.EntityNotFoundException;
+import com.example.angella.eventsplatform.exception.ServiceOverloadedException;
+import com.example.angella.eventsplatform.exception.UploadException;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Асинхронная загрузка изображений: поток запроса только сохраняет байты во временный файл,
+// сохранение в БД и рассылка выполняются на ограниченном пуле imageUploadExecutor.
+// Результат отправляется пользователю в /user/queue/uploads и доступен по id загрузки
+@Service
+@Slf4j
+public class AsyncImageUploadService {
+
+    public static final String UPLOADS_QUEUE = "/queue/uploads";
+
+    private final ImageAttachmentService imageAttachmentService;
+    private final ThreadPoolTaskExecutor imageUploadExecutor;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    private final Map<String, AsyncUpload> uploads = new ConcurrentHashMap<>();
+
+    @Value("${app.upload.dir:uploads}")
+    private String uploadDir;
+
+    @Value("${app.upload.async.status-ttl:PT15M}")
+    private Duration statusTtl;
+
+    public AsyncImageUploadService(ImageAttachmentService imageAttachmentService,
+                                   @Qualifier("imageUploadExecutor") ThreadPoolTaskExecutor imageUploadExecutor,
+                                   SimpMessagingTemplate messagingTemplate) {
+        this.imageAttachmentService = imageAttachmentService;
+        this.imageUploadExecutor = imageUploadExecutor;
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    public AsyncUpload submit(UploadTarget target, Long targetId, MultipartFile file,
+                              Long userId, String username) {
+        if (file == null || file.isEmpty()) {
+            throw new UploadException("File cannot be empty");
+        }
+
+        // Права проверяем синхронно - 202 не должен возвращаться для заведомо запрещенной загрузки
+        imageAttachmentService.checkAccess(target, targetId, userId);
+
+        String id = UUID.randomUUID().toString();
+        String originalFilename = file.getOriginalFilename();
+        String contentType = file.getContentType();
+        Path spooled = spool(id, file);
+        AsyncUpload upload = new AsyncUpload(id, userId, username, target, targetId);
+        uploads.put(id, upload);
+
+        try {
+            imageUploadExecutor.execute(() -> process(upload, spooled, originalFilename, contentType));
+        } catch (TaskRejectedException e) {
+            uploads.remove(id);
+            deleteQuietly(spooled);
+            log.warn("Async upload rejected for user {}: executor queue is full", userId);
+            throw new ServiceOverloadedException("Too many uploads in progress, please retry later");
+        }
+
+        log.info("Async upload {} accepted for user {}: target={}, targetId={}", id, userId, target, targetId);
+        return upload;
+    }
+
+    public AsyncUpload getUpload(String uploadId, Long userId) {
+        AsyncUpload upload = uploads.get(uploadId);
+        if (upload == null) {
+            throw new EntityNotFoundException("Upload not found");
+        }
+        if (!upload.getUserId().equals(userId)) {
+            throw new AccessDeniedException("Upload belongs to another user");
+        }
+        return upload;
+    }
+
+    // Удаляет завершенные записи о загрузках по истечении срока хранения статуса
+    @Scheduled(fixedDelayString = "${app.upload.async.cleanup-interval:PT5M}")
+    public void cleanupFinishedUploads() {
+        Instant threshold = Instant.now().minus(statusTtl);
+        uploads.values().removeIf(upload -> upload.getStatus().isFinal()
+                && upload.getUpdatedAt().isBefore(threshold));
+    }
+
+    private void process(AsyncUpload upload, Path spooled, String originalFilename, String contentType) {
+        upload.update(AsyncUploadStatus.PROCESSING, null, null);
+        try {
+            PathMultipartFile file = new PathMultipartFile(spooled, originalFilename, contentType);
+            String url = imageAttachmentService.attach(upload.getTarget(), upload.getTargetId(), file, upload.getUserId());
+            upload.update(AsyncUploadStatus.COMPLETED, url, null);
+            log.info("Async upload {} completed: {}", upload.getId(), url);
+        } catch (Exception e) {
+            log.warn("Async upload {} failed: {}", upload.getId(), e.getMessage());
+            upload.update(AsyncUploadStatus.FAILED, null, e.getMessage());
+        } finally {
+            deleteQuietly(spooled);
+            notifyUser(upload);
+        }
+    }
+
+    private void notifyUser(AsyncUpload upload) {
+        try {
+            Map<String, Object> payload = new HashMap<>();
+            payload.put("uploadId", upload.getId());
+            payload.put("status", upload.getStatus());
+            payload.put("target", upload.getTarget());
+            payload.put("targetId", upload.getTargetId());
+            payload.put("url", upload.getUrl());
+            payload.put("error", upload.getError());
+            payload.put("timestamp", upload.getUpdatedAt());
+
+            messagingTemplate.convertAndSendToUser(upload.getUsername(), UPLOADS_QUEUE, payload);
+        } catch (Exception e) {
+            log.error("Failed to send upload notification {}", upload.getId(), e);
+        }
+    }
+
+    private Path spool(String id, MultipartFile file) {
+        try {
+            Path directory = Paths.get(uploadDir, ".async");
+            Files.createDirectories(directory);
+            Path spooled = directory.resolve(id + ".part");
+            file.transferTo(spooled);
+            return spooled;
+        } catch (IOException e) {
+            log.error("Failed to spool upload {}", id, e);
+            throw new UploadException("Failed to accept file");
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete spooled upload {}", path, e);
+        }
+    }
+
+    public enum AsyncUploadStatus {
+        ACCEPTED, PROCESSING, COMPLETED, FAILED;
+
+        public boolean isFinal() {
+            return this == COMPLETED || this == FAILED;
+        }
+    }
+
+    @Getter
+    public static class AsyncUpload {
+        private final String id;
+        private final Long userId;
+        private final String username;
+        private final UploadTarget target;
+        private final Long targetId;
+        private volatile AsyncUploadStatus status = AsyncUploadStatus.ACCEPTED;
+        private volatile String url;
+        private volatile String error;
+        private volatile Instant updatedAt = Instant.now();
+
+        AsyncUpload(String id, Long userId, String username, UploadTarget target, Long targetId) {
+            this.id = id;
+            this.userId = userId;
+            this.username = username;
+            this.target = target;
+            this.targetId = targetId;
+        }
+
+        void update(AsyncUploadStatus status, String url, String error) {
+            this.status = status;
+            this.url = url;
+            this.error = error;
+            this.updatedAt = Instant.now();
+        }
+    }
+}
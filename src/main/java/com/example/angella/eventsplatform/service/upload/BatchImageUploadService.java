@@ -0,0 +1,147 @@
+package com.example.angella.eventsplatform.service.upload;
+
+import com.example.angella.eventsplatform.entity.Event;
+import com.example.angella.eventsplatform.entity.Image;
+import com.example.angella.eventsplatform.entity.User;
+import com.example.angella.eventsplatform.exception.EntityNotFoundException;
+import com.example.angella.eventsplatform.exception.UploadException;
+import com.example.angella.eventsplatform.repository.EventRepository;
+import com.example.angella.eventsplatform.repository.UserRepository;
+import com.example.angella.eventsplatform.service.ChatService;
+import com.example.angella.eventsplatform.service.ImageService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+// Пакетная загрузка нескольких изображений одним запросом.
+// Проверка и запись файлов выполняются параллельно на ограниченном пуле imageUploadExecutor,
+// сохранение в БД - одной транзакцией, привязка к сообщению - одним UPDATE
+@Service
+@Slf4j
+public class BatchImageUploadService {
+
+    private final ImageService imageService;
+    private final ChatService chatService;
+    private final ImageAttachmentService imageAttachmentService;
+    private final EventRepository eventRepository;
+    private final UserRepository userRepository;
+    private final ThreadPoolTaskExecutor imageUploadExecutor;
+
+    @Value("${app.upload.batch.max-files:10}")
+    private int maxFiles;
+
+    public BatchImageUploadService(ImageService imageService,
+                                   ChatService chatService,
+                                   ImageAttachmentService imageAttachmentService,
+                                   EventRepository eventRepository,
+                                   UserRepository userRepository,
+                                   @Qualifier("imageUploadExecutor") ThreadPoolTaskExecutor imageUploadExecutor) {
+        this.imageService = imageService;
+        this.chatService = chatService;
+        this.imageAttachmentService = imageAttachmentService;
+        this.eventRepository = eventRepository;
+        this.userRepository = userRepository;
+        this.imageUploadExecutor = imageUploadExecutor;
+    }
+
+    // Временные изображения мероприятия, которые затем прикрепляются к сообщению по id
+    public List<Image> uploadTemporaryImages(List<MultipartFile> files, Long eventId, Long userId) {
+        validateBatch(files);
+        imageAttachmentService.checkAccess(UploadTarget.EVENT, eventId, userId);
+
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new EntityNotFoundException("Event not found"));
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new EntityNotFoundException("User not found"));
+
+        List<Image> storedImages = storeInParallel(files);
+        try {
+            return imageService.saveTemporaryImages(storedImages, event, user);
+        } catch (RuntimeException e) {
+            imageService.discardImageFiles(storedImages);
+            throw e;
+        }
+    }
+
+    // Изображения сразу прикрепляются к сообщению, участники получают одно уведомление
+    public List<Image> uploadToMessage(List<MultipartFile> files, Long messageId, Long userId) {
+        validateBatch(files);
+        imageAttachmentService.checkAccess(UploadTarget.CHAT, messageId, userId);
+
+        List<Image> storedImages = storeInParallel(files);
+        try {
+            return chatService.addImagesToMessage(messageId, storedImages, userId);
+        } catch (RuntimeException e) {
+            imageService.discardImageFiles(storedImages);
+            throw e;
+        }
+    }
+
+    private void validateBatch(List<MultipartFile> files) {
+        if (files == null || files.isEmpty()) {
+            throw new UploadException("No files to upload");
+        }
+        if (files.size() > maxFiles) {
+            throw new UploadException("Too many files, maximum is " + maxFiles);
+        }
+    }
+
+    private List<Image> storeInParallel(List<MultipartFile> files) {
+        List<CompletableFuture<Image>> futures = new ArrayList<>(files.size());
+        for (MultipartFile file : files) {
+            futures.add(submitStore(file));
+        }
+
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            // Удаляем уже записанные файлы, пакет принимается целиком или не принимается
+            List<Image> written = futures.stream()
+                    .filter(future -> !future.isCompletedExceptionally())
+                    .map(CompletableFuture::join)
+                    .toList();
+            imageService.discardImageFiles(written);
+
+            Throwable cause = e.getCause() instanceof UncheckedIOException io ? io.getCause() : e.getCause();
+            log.warn("Batch upload failed: {}", cause.getMessage());
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new UploadException("Failed to store image: " + cause.getMessage());
+        }
+
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    private CompletableFuture<Image> submitStore(MultipartFile file) {
+        try {
+            return CompletableFuture.supplyAsync(() -> store(file), imageUploadExecutor);
+        } catch (TaskRejectedException e) {
+            // Пул занят - обрабатываем в текущем потоке, ограничивая параллелизм естественным образом
+            try {
+                return CompletableFuture.completedFuture(store(file));
+            } catch (RuntimeException ex) {
+                return CompletableFuture.failedFuture(ex);
+            }
+        }
+    }
+
+    private Image store(MultipartFile file) {
+        try {
+            return imageService.storeImageFile(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
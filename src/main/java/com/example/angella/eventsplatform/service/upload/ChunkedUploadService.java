@@ -0,0 +1,293 @@
+package com.example.angella.eventsplatform.service.upload;
+
+import com.example.angella.eventsplatform.exception.AccessDeniedException;
+import com.example.angella.eventsplatform.exception.EntityNotFoundException;
+import com.example.angella.eventsplatform.exception.UploadException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Возобновляемая загрузка изображений частями.
+// Клиент создает сессию, отправляет чанки с указанием смещения (повторная отправка
+// уже принятых байт допускается), затем завершает загрузку с проверкой SHA-256.
+// Сессии хранятся в памяти узла, временные файлы - в каталоге uploadDir/.chunks
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChunkedUploadService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ImageAttachmentService imageAttachmentService;
+
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+
+    @Value("${app.upload.dir:uploads}")
+    private String uploadDir;
+
+    @Value("${app.upload.chunked.max-file-size:10MB}")
+    private DataSize maxFileSize;
+
+    @Value("${app.upload.chunked.max-chunk-size:2MB}")
+    private DataSize maxChunkSize;
+
+    @Value("${app.upload.chunked.session-ttl:PT30M}")
+    private Duration sessionTtl;
+
+    public UploadSession createSession(UploadTarget target, Long targetId, String filename,
+                                       String contentType, long totalSize, String checksum, Long userId) {
+        if (filename == null || filename.isBlank()) {
+            throw new UploadException("File name cannot be empty");
+        }
+        if (totalSize <= 0 || totalSize > maxFileSize.toBytes()) {
+            throw new UploadException("File size must be between 1 byte and " + maxFileSize.toMegabytes() + "MB");
+        }
+
+        // Проверяем права заранее, чтобы не принимать мегабайты, которые потом будут отвергнуты
+        imageAttachmentService.checkAccess(target, targetId, userId);
+
+        String id = UUID.randomUUID().toString();
+        Path file = chunksDirectory().resolve(id + ".part");
+        try {
+            Files.createFile(file);
+        } catch (IOException e) {
+            log.error("Failed to create temporary upload file {}", file, e);
+            throw new UploadException("Failed to create upload session");
+        }
+
+        UploadSession session = new UploadSession(id, userId, target, targetId, filename,
+                contentType, totalSize, normalizeChecksum(checksum), file);
+        sessions.put(id, session);
+
+        log.info("Upload session {} created by user {}: target={}, targetId={}, size={}",
+                id, userId, target, targetId, totalSize);
+        return session;
+    }
+
+    public UploadSession getSession(String sessionId, Long userId) {
+        UploadSession session = sessions.get(sessionId);
+        if (session == null) {
+            throw new EntityNotFoundException("Upload session not found");
+        }
+        if (!session.getUserId().equals(userId)) {
+            throw new AccessDeniedException("Upload session belongs to another user");
+        }
+        return session;
+    }
+
+    // Записывает чанк по указанному смещению позиционной записью в FileChannel
+    public UploadSession appendChunk(String sessionId, long offset, InputStream data, Long userId) {
+        UploadSession session = getSession(sessionId, userId);
+
+        synchronized (session) {
+            if (session.isCompleted()) {
+                throw new UploadException("Upload session is already completed");
+            }
+            if (offset < 0 || offset > session.getReceivedBytes()) {
+                throw new UploadException("Invalid offset " + offset + ", expected at most " + session.getReceivedBytes());
+            }
+
+            long position = offset;
+            long chunkLimit = maxChunkSize.toBytes();
+            try (FileChannel channel = FileChannel.open(session.getFile(), StandardOpenOption.WRITE)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = data.read(buffer)) != -1) {
+                    if (position + read > session.getTotalSize()) {
+                        throw new UploadException("Chunk exceeds declared file size");
+                    }
+                    if (position - offset + read > chunkLimit) {
+                        throw new UploadException("Chunk exceeds " + maxChunkSize.toKilobytes() + "KB limit");
+                    }
+                    ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, read);
+                    while (byteBuffer.hasRemaining()) {
+                        position += channel.write(byteBuffer, position);
+                    }
+                }
+            } catch (IOException e) {
+                log.warn("Failed to write chunk for upload session {} at offset {}", sessionId, offset, e);
+                throw new UploadException("Failed to write chunk, retry from offset " + session.getReceivedBytes());
+            } finally {
+                // Даже при обрыве соединения засчитываем непрерывно записанные байты
+                session.advanceTo(position);
+            }
+
+            log.debug("Upload session {}: received {}/{} bytes",
+                    sessionId, session.getReceivedBytes(), session.getTotalSize());
+            return session;
+        }
+    }
+
+    // Проверяет целостность файла и передает его в ImageService
+    public UploadSession complete(String sessionId, String checksum, Long userId) {
+        UploadSession session = getSession(sessionId, userId);
+
+        synchronized (session) {
+            if (session.isCompleted()) {
+                return session;
+            }
+            if (session.getReceivedBytes() != session.getTotalSize()) {
+                throw new UploadException("Upload is incomplete: received " + session.getReceivedBytes()
+                        + " of " + session.getTotalSize() + " bytes");
+            }
+
+            String expected = checksum != null ? normalizeChecksum(checksum) : session.getChecksum();
+            if (expected == null) {
+                throw new UploadException("SHA-256 checksum is required to complete the upload");
+            }
+            String actual = sha256(session.getFile());
+            if (!expected.equals(actual)) {
+                throw new UploadException("Checksum mismatch, upload must be restarted");
+            }
+
+            try {
+                PathMultipartFile file = new PathMultipartFile(
+                        session.getFile(), session.getFilename(), session.getContentType());
+                session.setUrl(imageAttachmentService.attach(
+                        session.getTarget(), session.getTargetId(), file, session.getUserId()));
+                session.setCompleted(true);
+            } catch (IOException e) {
+                log.error("Failed to finalize upload session {}", sessionId, e);
+                throw new UploadException("Failed to finalize upload");
+            }
+
+            discard(session);
+            log.info("Upload session {} completed: {}", sessionId, session.getUrl());
+            return session;
+        }
+    }
+
+    public void abort(String sessionId, Long userId) {
+        UploadSession session = getSession(sessionId, userId);
+        synchronized (session) {
+            discard(session);
+        }
+        log.info("Upload session {} aborted by user {}", sessionId, userId);
+    }
+
+    // Удаляет брошенные сессии вместе с временными файлами
+    @Scheduled(fixedDelayString = "${app.upload.chunked.cleanup-interval:PT5M}")
+    public void cleanupExpiredSessions() {
+        Instant threshold = Instant.now().minus(sessionTtl);
+        List<UploadSession> expired = sessions.values().stream()
+                .filter(session -> session.getLastActivity().isBefore(threshold))
+                .toList();
+
+        for (UploadSession session : expired) {
+            synchronized (session) {
+                discard(session);
+            }
+        }
+
+        if (!expired.isEmpty()) {
+            log.info("Removed {} expired upload sessions", expired.size());
+        }
+    }
+
+    private void discard(UploadSession session) {
+        sessions.remove(session.getId());
+        try {
+            Files.deleteIfExists(session.getFile());
+        } catch (IOException e) {
+            log.warn("Failed to delete temporary upload file {}", session.getFile(), e);
+        }
+    }
+
+    private Path chunksDirectory() {
+        Path directory = Paths.get(uploadDir, ".chunks");
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            log.error("Failed to create chunk directory {}", directory, e);
+            throw new UploadException("Upload storage is not available");
+        }
+        return directory;
+    }
+
+    private String sha256(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            log.error("Failed to calculate checksum for {}", file, e);
+            throw new UploadException("Failed to verify checksum");
+        }
+    }
+
+    private String normalizeChecksum(String checksum) {
+        return checksum == null || checksum.isBlank() ? null : checksum.trim().toLowerCase();
+    }
+
+    @Getter
+    public static class UploadSession {
+        private final String id;
+        private final Long userId;
+        private final UploadTarget target;
+        private final Long targetId;
+        private final String filename;
+        private final String contentType;
+        private final long totalSize;
+        private final String checksum;
+        private final Path file;
+        private volatile long receivedBytes;
+        private volatile Instant lastActivity = Instant.now();
+        private volatile boolean completed;
+        private volatile String url;
+
+        UploadSession(String id, Long userId, UploadTarget target, Long targetId, String filename,
+                      String contentType, long totalSize, String checksum, Path file) {
+            this.id = id;
+            this.userId = userId;
+            this.target = target;
+            this.targetId = targetId;
+            this.filename = filename;
+            this.contentType = contentType;
+            this.totalSize = totalSize;
+            this.checksum = checksum;
+            this.file = file;
+        }
+
+        void advanceTo(long position) {
+            if (position > receivedBytes) {
+                receivedBytes = position;
+            }
+            lastActivity = Instant.now();
+        }
+
+        void setCompleted(boolean completed) {
+            this.completed = completed;
+        }
+
+        void setUrl(String url) {
+            this.url = url;
+        }
+    }
+}
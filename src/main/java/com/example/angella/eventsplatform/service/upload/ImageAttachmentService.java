@@ -0,0 +1,56 @@
+package com.example.angella.eventsplatform.service.upload;
+
+import com.example.angella.eventsplatform.entity.ChatMessage;
+import com.example.angella.eventsplatform.entity.Image;
+import com.example.angella.eventsplatform.exception.AccessDeniedException;
+import com.example.angella.eventsplatform.exception.UploadException;
+import com.example.angella.eventsplatform.service.ChatService;
+import com.example.angella.eventsplatform.service.EventAccessService;
+import com.example.angella.eventsplatform.service.ImageService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.Comparator;
+
+// Общая точка передачи загруженного файла в ImageService/ChatService
+// для разных протоколов загрузки (частями, асинхронно)
+@Service
+@RequiredArgsConstructor
+public class ImageAttachmentService {
+
+    private final ImageService imageService;
+    private final ChatService chatService;
+    private final EventAccessService eventAccessService;
+
+    // Быстрая проверка прав до приема файла
+    public void checkAccess(UploadTarget target, Long targetId, Long userId) {
+        if (target == null) {
+            throw new UploadException("Upload target is required");
+        }
+        if (target != UploadTarget.AVATAR && targetId == null) {
+            throw new UploadException("Target id is required for " + target);
+        }
+        if (target == UploadTarget.EVENT && !eventAccessService.hasParticipant(targetId, userId)) {
+            throw new AccessDeniedException("Only event participants can upload images");
+        }
+        if (target == UploadTarget.CHAT && !chatService.isMessageAuthor(targetId, userId)) {
+            throw new AccessDeniedException("Only message author can add images");
+        }
+    }
+
+    // Привязывает файл к цели и возвращает URL сохраненного изображения
+    public String attach(UploadTarget target, Long targetId, MultipartFile file, Long userId) {
+        return switch (target) {
+            case AVATAR -> imageService.uploadAvatar(file, userId);
+            case EVENT -> imageService.uploadEventImage(file, targetId, userId);
+            case CHAT -> {
+                ChatMessage message = chatService.addImageToMessage(targetId, file, userId);
+                yield message.getImages().stream()
+                        .max(Comparator.comparing(Image::getId))
+                        .map(image -> "/images/" + image.getFilename())
+                        .orElse(null);
+            }
+        };
+    }
+}
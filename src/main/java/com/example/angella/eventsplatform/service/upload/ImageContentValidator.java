@@ -0,0 +1,208 @@
+package com.example.angella.eventsplatform.service.upload;
+
+import com.example.angella.eventsplatform.exception.ServiceOverloadedException;
+import com.example.angella.eventsplatform.exception.UploadException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Проверка загружаемых изображений по содержимому, а не по заявленному клиентом Content-Type.
+// Формат определяется по сигнатуре (JPEG, PNG, GIF), размеры читаются из заголовков без
+// декодирования пикселей. Изображения с размером больше лимита мегапикселей отклоняются.
+// Проверка выполняется на отдельном ограниченном пуле imageValidationExecutor с таймаутом
+@Component
+@Slf4j
+public class ImageContentValidator {
+
+    private static final byte[] PNG_SIGNATURE = {
+            (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'
+    };
+
+    private final ThreadPoolTaskExecutor imageValidationExecutor;
+
+    @Value("${app.upload.validation.max-megapixels:40}")
+    private long maxMegapixels;
+
+    @Value("${app.upload.validation.timeout:PT5S}")
+    private Duration timeout;
+
+    public ImageContentValidator(
+            @Qualifier("imageValidationExecutor") ThreadPoolTaskExecutor imageValidationExecutor) {
+        this.imageValidationExecutor = imageValidationExecutor;
+    }
+
+    public ImageInfo validate(MultipartFile file) {
+        Future<ImageInfo> future;
+        try {
+            future = imageValidationExecutor.submit(() -> inspect(file));
+        } catch (TaskRejectedException e) {
+            log.warn("Image validation rejected for {}: executor queue is full", file.getOriginalFilename());
+            throw new ServiceOverloadedException("Too many images are being processed, please retry later");
+        }
+
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("Image validation timed out for {}", file.getOriginalFilename());
+            throw new UploadException("Image validation timed out");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new UploadException("Image validation was interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            log.warn("Failed to read image {}", file.getOriginalFilename(), e.getCause());
+            throw new UploadException("Failed to read image");
+        }
+    }
+
+    private ImageInfo inspect(MultipartFile file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(file.getInputStream()))) {
+            byte[] header = new byte[8];
+            in.mark(header.length);
+            int read = in.readNBytes(header, 0, header.length);
+            in.reset();
+
+            ImageInfo info;
+            if (read >= 3 && (header[0] & 0xFF) == 0xFF && (header[1] & 0xFF) == 0xD8 && (header[2] & 0xFF) == 0xFF) {
+                info = readJpeg(in);
+            } else if (read == 8 && startsWith(header, PNG_SIGNATURE)) {
+                info = readPng(in);
+            } else if (read >= 6 && (startsWith(header, "GIF87a".getBytes()) || startsWith(header, "GIF89a".getBytes()))) {
+                info = readGif(in);
+            } else {
+                throw new UploadException("Unsupported file format: content is not a JPEG, PNG or GIF image");
+            }
+
+            checkDimensions(info);
+            return info;
+        } catch (EOFException e) {
+            throw new UploadException("Image header is truncated");
+        }
+    }
+
+    private void checkDimensions(ImageInfo info) {
+        if (info.width() <= 0 || info.height() <= 0) {
+            throw new UploadException("Image has invalid dimensions");
+        }
+        long pixels = (long) info.width() * info.height();
+        if (pixels > maxMegapixels * 1_000_000L) {
+            log.warn("Rejected image {}x{}: exceeds {} megapixels", info.width(), info.height(), maxMegapixels);
+            throw new UploadException("Image resolution exceeds " + maxMegapixels + " megapixels");
+        }
+    }
+
+    // PNG: сигнатура (8 байт), затем чанк IHDR - длина, тип, ширина и высота (big-endian)
+    private ImageInfo readPng(DataInputStream in) throws IOException {
+        in.skipNBytes(8);
+        in.skipNBytes(4);
+        byte[] type = in.readNBytes(4);
+        if (!"IHDR".equals(new String(type))) {
+            throw new UploadException("PNG image has no IHDR header");
+        }
+        int width = in.readInt();
+        int height = in.readInt();
+        return new ImageInfo("image/png", width, height);
+    }
+
+    // GIF: сигнатура (6 байт), затем ширина и высота логического экрана (little-endian)
+    private ImageInfo readGif(DataInputStream in) throws IOException {
+        in.skipNBytes(6);
+        int width = readUnsignedShortLittleEndian(in);
+        int height = readUnsignedShortLittleEndian(in);
+        return new ImageInfo("image/gif", width, height);
+    }
+
+    // JPEG: проходим по сегментам до маркера SOFn, в котором записаны высота и ширина
+    private ImageInfo readJpeg(DataInputStream in) throws IOException {
+        in.skipNBytes(2);
+        while (true) {
+            int marker = nextJpegMarker(in);
+            if (marker == 0xD9 || marker == 0xDA) {
+                throw new UploadException("JPEG image has no frame header");
+            }
+            if (marker == 0x01 || (marker >= 0xD0 && marker <= 0xD7)) {
+                continue; // маркеры без длины
+            }
+
+            int length = in.readUnsignedShort();
+            if (length < 2) {
+                throw new UploadException("JPEG image has a malformed segment");
+            }
+            if (isStartOfFrame(marker)) {
+                in.skipNBytes(1); // точность выборки
+                int height = in.readUnsignedShort();
+                int width = in.readUnsignedShort();
+                return new ImageInfo("image/jpeg", width, height);
+            }
+            in.skipNBytes(length - 2);
+        }
+    }
+
+    private int nextJpegMarker(DataInputStream in) throws IOException {
+        int value = in.readUnsignedByte();
+        if (value != 0xFF) {
+            throw new UploadException("JPEG image has a malformed segment");
+        }
+        // Допускаются заполняющие байты 0xFF перед маркером
+        while (value == 0xFF) {
+            value = in.readUnsignedByte();
+        }
+        return value;
+    }
+
+    // SOF0-SOF15, кроме DHT (C4), JPG (C8) и DAC (CC)
+    private boolean isStartOfFrame(int marker) {
+        return marker >= 0xC0 && marker <= 0xCF && marker != 0xC4 && marker != 0xC8 && marker != 0xCC;
+    }
+
+    private int readUnsignedShortLittleEndian(InputStream in) throws IOException {
+        int low = in.read();
+        int high = in.read();
+        if ((low | high) < 0) {
+            throw new EOFException();
+        }
+        return (high << 8) | low;
+    }
+
+    private boolean startsWith(byte[] data, byte[] prefix) {
+        if (data.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (data[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public record ImageInfo(String contentType, int width, int height) {
+
+        public String getExtension() {
+            return switch (contentType) {
+                case "image/png" -> ".png";
+                case "image/gif" -> ".gif";
+                default -> ".jpg";
+            };
+        }
+    }
+}
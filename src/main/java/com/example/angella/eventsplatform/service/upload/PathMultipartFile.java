@@ -0,0 +1,72 @@
+package com.example.angella.eventsplatform.service.upload;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+// MultipartFile поверх файла на диске - позволяет передать собранный из чанков файл
+// в существующую логику ImageService без повторного чтения в память
+public class PathMultipartFile implements MultipartFile {
+
+    private final Path path;
+    private final String originalFilename;
+    private final String contentType;
+    private final long size;
+
+    public PathMultipartFile(Path path, String originalFilename, String contentType) throws IOException {
+        this.path = path;
+        this.originalFilename = originalFilename;
+        this.contentType = contentType;
+        this.size = Files.size(path);
+    }
+
+    @Override
+    public String getName() {
+        return "file";
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public byte[] getBytes() throws IOException {
+        return Files.readAllBytes(path);
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return Files.newInputStream(path);
+    }
+
+    @Override
+    public void transferTo(File dest) throws IOException {
+        transferTo(dest.toPath());
+    }
+
+    @Override
+    public void transferTo(Path dest) throws IOException {
+        Files.copy(path, dest, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.angella.eventsplatform.service.upload;
+
+// Куда будет привязано изображение после завершения загрузки
+public enum UploadTarget {
+    AVATAR,
+    EVENT,
+    CHAT
+}
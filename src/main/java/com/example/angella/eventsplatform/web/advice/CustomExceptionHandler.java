@@ -1,12 +1,18 @@
 package com.example.angella.eventsplatform.web.advice;
 
 import com.example.angella.eventsplatform.exception.AccessDeniedException;
+import com.example.angella.eventsplatform.exception.AuthenticationOverloadedException;
 import com.example.angella.eventsplatform.exception.EntityNotFoundException;
+import com.example.angella.eventsplatform.exception.RateLimitExceededException;
+import com.example.angella.eventsplatform.exception.ServiceOverloadedException;
+import com.example.angella.eventsplatform.exception.UploadException;
 import com.example.angella.eventsplatform.web.dto.ErrorResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -79,6 +85,73 @@ public class CustomExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    @ExceptionHandler(UploadException.class)
+    public ResponseEntity<ErrorResponse> handleUploadError(UploadException ex) {
+        log.warn("Upload rejected: {}", ex.getMessage());
+
+        ErrorResponse error = ErrorResponse.builder()
+                .code("UPLOAD_ERROR")
+                .message(ex.getMessage())
+                .timestamp(LocalDateTime.now())
+                .build();
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ErrorResponse> handleOverload(ServiceOverloadedException ex) {
+        log.warn("Request rejected, service overloaded: {}", ex.getMessage());
+
+        ErrorResponse error = ErrorResponse.builder()
+                .code("SERVICE_OVERLOADED")
+                .message(ex.getMessage())
+                .timestamp(LocalDateTime.now())
+                .build();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(error);
+    }
+
+    // Ошибки аутентификации в контроллерах (выдача токена доступа)
+    @ExceptionHandler(AuthenticationException.class)
+    public ResponseEntity<ErrorResponse> handleAuthenticationFailure(AuthenticationException ex) {
+        log.info("Authentication failed: {}", ex.getMessage());
+
+        ErrorResponse error = ErrorResponse.builder()
+                .code("AUTHENTICATION_FAILED")
+                .message("Invalid username or password")
+                .timestamp(LocalDateTime.now())
+                .build();
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
+    }
+
+    @ExceptionHandler(AuthenticationOverloadedException.class)
+    public ResponseEntity<ErrorResponse> handleAuthenticationOverload(AuthenticationOverloadedException ex) {
+        log.warn("Authentication rejected, password hashing overloaded: {}", ex.getMessage());
+
+        ErrorResponse error = ErrorResponse.builder()
+                .code("SERVICE_OVERLOADED")
+                .message(ex.getMessage())
+                .timestamp(LocalDateTime.now())
+                .build();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(error);
+    }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleRateLimit(RateLimitExceededException ex) {
+        log.debug("Request rejected by rate limit: {}", ex.getMessage());
+
+        ErrorResponse error = ErrorResponse.builder()
+                .code("RATE_LIMITED")
+                .message(ex.getMessage())
+                .timestamp(LocalDateTime.now())
+                .build();
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(error);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<?> handleSystemError(Exception ex, HttpServletRequest request) {
         String errorId = "ERR-" + System.currentTimeMillis();
@@ -1,12 +1,16 @@
 package com.example.angella.eventsplatform.web.controller;
 
 import com.example.angella.eventsplatform.entity.*;
+import com.example.angella.eventsplatform.model.AdminEventRow;
+import com.example.angella.eventsplatform.model.AdminUserRow;
+import com.example.angella.eventsplatform.model.EventStatusStatistics;
 import com.example.angella.eventsplatform.service.*;
 import com.example.angella.eventsplatform.web.dto.ChecklistTemplateRequest;
 import com.example.angella.eventsplatform.web.dto.TemplateItemRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.InputStreamResource;
+import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -14,10 +18,10 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import java.io.ByteArrayInputStream;
-import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -42,7 +46,7 @@ public class AdminController {
 
     @GetMapping("/users")
     public String userManagement(Model model) {
-        List<User> users = userService.findAllUsers();
+        List<AdminUserRow> users = userService.findAdminUserRows();
         model.addAttribute("users", users);
         return "admin/users";
     }
@@ -77,38 +81,30 @@ public class AdminController {
     }
 
     @GetMapping("/events")
-    public String eventManagement(Model model) {
-        try {
-            List<Event> allEvents = eventService.findAll();
-
-            // Безопасный расчет статистики
-            long totalParticipants = allEvents.stream()
-                    .mapToLong(event -> event.getParticipants() != null ? event.getParticipants().size() : 0)
-                    .sum();
-
-            Instant now = Instant.now();
-            long activeEvents = allEvents.stream()
-                    .filter(event -> {
-                        if (event.getStartTime() == null || event.getEndTime() == null) return false;
-                        return event.getStartTime().isBefore(now) && event.getEndTime().isAfter(now);
-                    })
-                    .count();
-
-            long upcomingEvents = allEvents.stream()
-                    .filter(event -> event.getStartTime() != null && event.getStartTime().isAfter(now))
-                    .count();
+    public String eventManagement(@RequestParam(defaultValue = "0") int page,
+                                  @RequestParam(defaultValue = "20") int size,
+                                  @RequestParam(defaultValue = "startTime") String sort,
+                                  @RequestParam(defaultValue = "desc") String direction,
+                                  @RequestParam(required = false) String q,
+                                  Model model) {
+        int pageSize = Math.min(Math.max(size, 1), 100);
+        boolean ascending = "asc".equalsIgnoreCase(direction);
+
+        model.addAttribute("sort", sort);
+        model.addAttribute("direction", ascending ? "asc" : "desc");
+        model.addAttribute("q", q);
+        model.addAttribute("size", pageSize);
 
-            long completedEvents = allEvents.stream()
-                    .filter(event -> event.getEndTime() != null && event.getEndTime().isBefore(now))
-                    .count();
+        try {
+            Page<AdminEventRow> events = eventService.findAdminEventPage(Math.max(page, 0), pageSize, sort, ascending, q);
+            EventStatusStatistics statistics = statisticsService.getEventStatusStatistics();
 
-            // Передаем безопасные значения
-            model.addAttribute("events", allEvents != null ? allEvents : List.of());
-            model.addAttribute("totalEvents", allEvents != null ? allEvents.size() : 0);
-            model.addAttribute("totalParticipants", totalParticipants);
-            model.addAttribute("activeEvents", activeEvents);
-            model.addAttribute("upcomingEvents", upcomingEvents);
-            model.addAttribute("completedEvents", completedEvents);
+            model.addAttribute("events", events);
+            model.addAttribute("totalEvents", statistics.getTotalEvents());
+            model.addAttribute("totalParticipants", statistics.getTotalParticipants());
+            model.addAttribute("activeEvents", statistics.getActiveEvents());
+            model.addAttribute("upcomingEvents", statistics.getUpcomingEvents());
+            model.addAttribute("completedEvents", statistics.getCompletedEvents());
 
             return "admin/events";
 
@@ -116,7 +112,7 @@ public class AdminController {
             log.error("Error in event management", e);
             // Значения по умолчанию при ошибке
             model.addAttribute("error", "Ошибка загрузки мероприятий: " + e.getMessage());
-            model.addAttribute("events", List.of());
+            model.addAttribute("events", Page.empty());
             model.addAttribute("totalEvents", 0);
             model.addAttribute("totalParticipants", 0);
             model.addAttribute("activeEvents", 0);
@@ -345,9 +341,15 @@ public class AdminController {
 
     @GetMapping("/report")
     @PreAuthorize("hasRole('ADMIN')")
-    public String viewReport(Model model) {
+    public String viewReport(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            Model model) {
+        model.addAttribute("from", from);
+        model.addAttribute("to", to);
         try {
-            Map<String, Object> stats = statisticsService.getAdminStatistics();
+            validatePeriod(from, to);
+            Map<String, Object> stats = statisticsService.getAdminStatistics(from, to);
             model.addAttribute("stats", stats);
             model.addAttribute("reportDate", LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm")));
             model.addAttribute("activeUsers", userService.getTotalUsersCount());
@@ -372,21 +374,18 @@ public class AdminController {
 
     @GetMapping("/generate-pdf-report")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<InputStreamResource> generatePdfReport() {
+    public ResponseEntity<StreamingResponseBody> generatePdfReport(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (isInvalidPeriod(from, to)) {
+            return ResponseEntity.badRequest().build();
+        }
         try {
-            Map<String, Object> stats = statisticsService.getDetailedStatistics();
-            byte[] pdfBytes = pdfReportService.generateStatisticsReport(stats);
-
+            Map<String, Object> stats = statisticsService.getDetailedStatistics(from, to);
             String filename = "platform-report-" +
                     LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd-HH-mm")) + ".pdf";
 
-            InputStreamResource resource = new InputStreamResource(new ByteArrayInputStream(pdfBytes));
-
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
-                    .contentType(MediaType.APPLICATION_PDF)
-                    .contentLength(pdfBytes.length)
-                    .body(resource);
+            return streamPdf(stats, filename);
 
         } catch (Exception e) {
             log.error("Error generating PDF report", e);
@@ -403,7 +402,10 @@ public class AdminController {
             Model model) {
 
         try {
-            Map<String, Object> customStats = statisticsService.getAdminStatistics();
+            LocalDate from = parseDate(startDate);
+            LocalDate to = parseDate(endDate);
+            validatePeriod(from, to);
+            Map<String, Object> customStats = statisticsService.getAdminStatistics(from, to);
 
             // Добавляем параметры отчета
             customStats.put("reportType", getReportTypeDisplayName(reportType));
@@ -425,6 +427,30 @@ public class AdminController {
         return "admin/dashboard";
     }
 
+    // PDF записывается напрямую в ответ, без промежуточного массива байт
+    private ResponseEntity<StreamingResponseBody> streamPdf(Map<String, Object> stats, String filename) {
+        StreamingResponseBody body = outputStream -> pdfReportService.writeStatisticsReport(stats, outputStream);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
+                .contentType(MediaType.APPLICATION_PDF)
+                .body(body);
+    }
+
+    private LocalDate parseDate(String date) {
+        return date == null || date.isBlank() ? null : LocalDate.parse(date);
+    }
+
+    private void validatePeriod(LocalDate from, LocalDate to) {
+        if (isInvalidPeriod(from, to)) {
+            throw new IllegalArgumentException("Дата начала периода позже даты окончания");
+        }
+    }
+
+    private boolean isInvalidPeriod(LocalDate from, LocalDate to) {
+        return from != null && to != null && from.isAfter(to);
+    }
+
     private String getReportTypeDisplayName(String reportType) {
         switch (reportType) {
             case "users": return "Отчет по пользователям";
@@ -448,21 +474,18 @@ public class AdminController {
 
     @GetMapping("/download-pdf-report")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<InputStreamResource> downloadPdfReport() {
+    public ResponseEntity<StreamingResponseBody> downloadPdfReport(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (isInvalidPeriod(from, to)) {
+            return ResponseEntity.badRequest().build();
+        }
         try {
-            Map<String, Object> stats = statisticsService.getDetailedStatistics();
-            byte[] pdfBytes = pdfReportService.generateStatisticsReport(stats);
-
+            Map<String, Object> stats = statisticsService.getDetailedStatistics(from, to);
             String filename = "platform-report-" +
                     LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd")) + ".pdf";
 
-            InputStreamResource resource = new InputStreamResource(new ByteArrayInputStream(pdfBytes));
-
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
-                    .contentType(MediaType.APPLICATION_PDF)
-                    .contentLength(pdfBytes.length)
-                    .body(resource);
+            return streamPdf(stats, filename);
 
         } catch (Exception e) {
             log.error("Error generating PDF report", e);
@@ -0,0 +1,95 @@
+package com.example.angella.eventsplatform.web.controller;
+
+import com.example.angella.eventsplatform.service.upload.AsyncImageUploadService;
+import com.example.angella.eventsplatform.service.upload.AsyncImageUploadService.AsyncUpload;
+import com.example.angella.eventsplatform.service.upload.UploadTarget;
+import com.example.angella.eventsplatform.utils.AuthUtils;
+import com.example.angella.eventsplatform.web.dto.AsyncUploadDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+// Асинхронный режим загрузки: ответ 202 с id загрузки, результат приходит
+// в /user/queue/uploads или запрашивается через GET /api/v1/images/async/{uploadId}
+@RestController
+@RequestMapping("/api/v1/images/async")
+@RequiredArgsConstructor
+public class AsyncImageUploadController {
+
+    private final AsyncImageUploadService asyncImageUploadService;
+
+    @PostMapping("/avatar")
+    @PreAuthorize("hasAnyRole('ROLE_USER', 'ROLE_ADMIN')")
+    public ResponseEntity<AsyncUploadDto> uploadAvatar(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam("file") MultipartFile file) {
+
+        return accepted(submit(UploadTarget.AVATAR, null, file, userDetails));
+    }
+
+    @PostMapping("/event/{eventId}")
+    @PreAuthorize("hasAnyRole('ROLE_USER', 'ROLE_ADMIN')")
+    public ResponseEntity<AsyncUploadDto> uploadEventImage(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable Long eventId,
+            @RequestParam("file") MultipartFile file) {
+
+        return accepted(submit(UploadTarget.EVENT, eventId, file, userDetails));
+    }
+
+    @PostMapping("/chat/{messageId}")
+    @PreAuthorize("hasAnyRole('ROLE_USER', 'ROLE_ADMIN')")
+    public ResponseEntity<AsyncUploadDto> uploadChatImage(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable Long messageId,
+            @RequestParam("file") MultipartFile file) {
+
+        return accepted(submit(UploadTarget.CHAT, messageId, file, userDetails));
+    }
+
+    @GetMapping("/{uploadId}")
+    @PreAuthorize("hasAnyRole('ROLE_USER', 'ROLE_ADMIN')")
+    public ResponseEntity<AsyncUploadDto> getUpload(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable String uploadId) {
+
+        AsyncUpload upload = asyncImageUploadService.getUpload(
+                uploadId,
+                AuthUtils.getCurrentUserId(userDetails)
+        );
+        return ResponseEntity.ok(toDto(upload));
+    }
+
+    private AsyncUpload submit(UploadTarget target, Long targetId, MultipartFile file, UserDetails userDetails) {
+        return asyncImageUploadService.submit(
+                target,
+                targetId,
+                file,
+                AuthUtils.getCurrentUserId(userDetails),
+                userDetails.getUsername()
+        );
+    }
+
+    private ResponseEntity<AsyncUploadDto> accepted(AsyncUpload upload) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .header("Location", "/api/v1/images/async/" + upload.getId())
+                .body(toDto(upload));
+    }
+
+    private AsyncUploadDto toDto(AsyncUpload upload) {
+        return new AsyncUploadDto(
+                upload.getId(),
+                upload.getStatus(),
+                upload.getTarget(),
+                upload.getTargetId(),
+                upload.getUrl(),
+                upload.getError(),
+                upload.getUpdatedAt()
+        );
+    }
+}
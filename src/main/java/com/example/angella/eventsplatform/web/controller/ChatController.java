@@ -39,11 +39,11 @@ public class ChatController {
     public ResponseEntity<PageResponse<ChatMessageDto>> getMessages(
             @PathVariable Long eventId,
             PageModel pageModel) {
-        var page = chatService.getMessages(eventId, pageModel);
+        var page = chatService.getMessageViews(eventId, pageModel);
         return ResponseEntity.ok(new PageResponse<>(
                 page.getTotalElements(),
                 page.getTotalPages(),
-                page.map(chatMessageMapper::toDto).getContent()
+                page.getContent()
         ));
     }
 
@@ -1,12 +1,11 @@
 package com.example.angella.eventsplatform.web.controller;
 
-import com.example.angella.eventsplatform.entity.ChatMessage;
-import com.example.angella.eventsplatform.entity.Event;
 import com.example.angella.eventsplatform.entity.User;
+import com.example.angella.eventsplatform.exception.AccessDeniedException;
+import com.example.angella.eventsplatform.model.ChatRoomView;
+import com.example.angella.eventsplatform.model.EventCardView;
 import com.example.angella.eventsplatform.model.PageModel;
 import com.example.angella.eventsplatform.service.EventService;
-import com.example.angella.eventsplatform.service.TaskService;
-import com.example.angella.eventsplatform.service.ChecklistService;
 import com.example.angella.eventsplatform.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -20,11 +19,8 @@ import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.List;
 
-import com.example.angella.eventsplatform.mapper.ChatMessageMapper;
 import com.example.angella.eventsplatform.service.ChatService;
 
-import java.util.stream.Collectors;
-
 @Controller
 @RequestMapping("/chats")
 @RequiredArgsConstructor
@@ -32,10 +28,7 @@ public class ChatPageController {
 
     private final EventService eventService;
     private final UserService userService;
-    private final TaskService taskService;
-    private final ChecklistService checklistService;
     private final ChatService chatService;
-    private final ChatMessageMapper chatMessageMapper;
 
     @GetMapping
     public String chatsPage(@AuthenticationPrincipal UserDetails userDetails, Model model) {
@@ -47,7 +40,7 @@ public class ChatPageController {
             User user = userService.findByUsername(userDetails.getUsername());
 
             // Получаем ВСЕ мероприятия пользователя (будущие и прошедшие)
-            List<Event> allUserEvents = eventService.findAllUserEvents(user.getId());
+            List<EventCardView> allUserEvents = eventService.findAllUserEvents(user.getId());
 
             model.addAttribute("events", allUserEvents);
             model.addAttribute("currentUser", user);
@@ -70,33 +63,20 @@ public class ChatPageController {
             }
 
             User user = userService.findByUsername(userDetails.getUsername());
-            Event event = eventService.getEventForDetailView(eventId);
-
-            // Проверяем, что пользователь является участником события
-            if (!event.getParticipants().stream()
-                    .anyMatch(participant -> participant.getId().equals(user.getId()))) {
-                return "redirect:/chats?error=access_denied";
-            }
-
-            //Загружаем сообщения чата
-            PageModel pageModel = new PageModel(page, size);
-            List<ChatMessage> chatMessages = chatService.getMessages(eventId, pageModel).getContent();
 
-            // Преобразуем в DTO для отображения
-            var chatMessageDtos = chatMessages.stream()
-                    .map(chatMessageMapper::toDto)
-                    .collect(Collectors.toList());
+            // Участники и сообщения чата подготовлены сервисом; задачи и чек-лист страница загружает через API
+            ChatRoomView room = chatService.getChatRoom(eventId, user.getId(), new PageModel(page, size));
 
-            model.addAttribute("event", event);
+            model.addAttribute("event", room);
             model.addAttribute("currentUser", user);
-            model.addAttribute("tasks", taskService.getTasksForEvent(eventId));
-            model.addAttribute("checklist", checklistService.getChecklistForEvent(eventId));
-            model.addAttribute("participants", event.getParticipants());
-            model.addAttribute("chatMessages", chatMessageDtos); // Добавляем сообщения
+            model.addAttribute("participants", room.getParticipants());
+            model.addAttribute("chatMessages", room.getMessages());
             model.addAttribute("page", page);
             model.addAttribute("size", size);
 
             return "chats/room";
+        } catch (AccessDeniedException e) {
+            return "redirect:/chats?error=access_denied";
         } catch (Exception e) {
             return "redirect:/chats?error=not_found";
         }
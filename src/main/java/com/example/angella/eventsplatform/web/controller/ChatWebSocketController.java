@@ -6,7 +6,6 @@ import com.example.angella.eventsplatform.mapper.ChatMessageMapper;
 import com.example.angella.eventsplatform.mapper.ChecklistMapper;
 import com.example.angella.eventsplatform.mapper.TaskMapper;
 import com.example.angella.eventsplatform.repository.ChatMessageRepository;
-import com.example.angella.eventsplatform.repository.ImageRepository;
 import com.example.angella.eventsplatform.repository.UserRepository;
 import com.example.angella.eventsplatform.service.ChatService;
 import com.example.angella.eventsplatform.service.TaskService;
@@ -47,7 +46,6 @@ public class ChatWebSocketController {
     private final ChecklistMapper checklistMapper;
     private final UserRepository userRepository;
     private final ChatMessageRepository chatMessageRepository;
-    private final ImageRepository imageRepository;
 
     private Long getUserId(Principal principal) {
         if (principal == null) return null;
@@ -125,32 +123,12 @@ public class ChatWebSocketController {
     }
 
     private void attachImagesToMessage(Long messageId, List<Long> imageIds, Long userId) {
-        for (Long imageId : imageIds) {
-            try {
-                log.debug("Прикрепление изображения {} к сообщению {}", imageId, messageId);
-
-                Image image = imageRepository.findById(imageId)
-                        .orElseThrow(() -> {
-                            log.warn("Изображение {} не найдено", imageId);
-                            return new EntityNotFoundException("Изображение не найдено: " + imageId);
-                        });
-
-                // Проверяем права (только владелец изображения может прикрепить)
-                if (!image.getUser().getId().equals(userId)) {
-                    log.warn("Пользователь {} пытается прикрепить чужое изображение {}",
-                            userId, imageId);
-                    continue;
-                }
-
-                // Прикрепляем к сообщению
-                image.setChatMessage(chatMessageRepository.getReferenceById(messageId));
-                imageRepository.save(image);
-
-                log.info("Изображение {} прикреплено к сообщению {}", imageId, messageId);
-
-            } catch (Exception e) {
-                log.error("Ошибка прикрепления изображения {}: {}", imageId, e.getMessage());
-            }
+        try {
+            // Один UPDATE с проверкой владельца вместо загрузки и сохранения каждого изображения
+            int attached = chatService.attachImages(messageId, imageIds, userId);
+            log.info("Прикреплено {} из {} изображений к сообщению {}", attached, imageIds.size(), messageId);
+        } catch (Exception e) {
+            log.error("Ошибка прикрепления изображений к сообщению {}: {}", messageId, e.getMessage());
         }
     }
 
@@ -0,0 +1,119 @@
+package com.example.angella.eventsplatform.web.controller;
+
+import com.example.angella.eventsplatform.service.upload.ChunkedUploadService;
+import com.example.angella.eventsplatform.service.upload.ChunkedUploadService.UploadSession;
+import com.example.angella.eventsplatform.utils.AuthUtils;
+import com.example.angella.eventsplatform.web.dto.CreateUploadSessionRequest;
+import com.example.angella.eventsplatform.web.dto.UploadSessionDto;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+// Возобновляемая загрузка изображений частями:
+// POST /uploads -> PUT /uploads/{id} (заголовок Upload-Offset, тело - байты чанка)
+// -> POST /uploads/{id}/complete. GET /uploads/{id} возвращает принятое смещение для продолжения
+@RestController
+@RequestMapping("/api/v1/images/uploads")
+@RequiredArgsConstructor
+public class ChunkedUploadController {
+
+    private final ChunkedUploadService chunkedUploadService;
+
+    @PostMapping
+    @PreAuthorize("hasAnyRole('ROLE_USER', 'ROLE_ADMIN')")
+    public ResponseEntity<UploadSessionDto> createSession(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @Valid @RequestBody CreateUploadSessionRequest request) {
+
+        UploadSession session = chunkedUploadService.createSession(
+                request.getTarget(),
+                request.getTargetId(),
+                request.getFilename(),
+                request.getContentType(),
+                request.getTotalSize(),
+                request.getChecksum(),
+                AuthUtils.getCurrentUserId(userDetails)
+        );
+        return ResponseEntity.status(HttpStatus.CREATED).body(toDto(session));
+    }
+
+    @PutMapping("/{sessionId}")
+    @PreAuthorize("hasAnyRole('ROLE_USER', 'ROLE_ADMIN')")
+    public ResponseEntity<UploadSessionDto> uploadChunk(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable String sessionId,
+            @RequestHeader("Upload-Offset") long offset,
+            HttpServletRequest request) throws IOException {
+
+        UploadSession session = chunkedUploadService.appendChunk(
+                sessionId,
+                offset,
+                request.getInputStream(),
+                AuthUtils.getCurrentUserId(userDetails)
+        );
+        return ResponseEntity.ok()
+                .header("Upload-Offset", String.valueOf(session.getReceivedBytes()))
+                .body(toDto(session));
+    }
+
+    @GetMapping("/{sessionId}")
+    @PreAuthorize("hasAnyRole('ROLE_USER', 'ROLE_ADMIN')")
+    public ResponseEntity<UploadSessionDto> getSession(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable String sessionId) {
+
+        UploadSession session = chunkedUploadService.getSession(
+                sessionId,
+                AuthUtils.getCurrentUserId(userDetails)
+        );
+        return ResponseEntity.ok()
+                .header("Upload-Offset", String.valueOf(session.getReceivedBytes()))
+                .body(toDto(session));
+    }
+
+    @PostMapping("/{sessionId}/complete")
+    @PreAuthorize("hasAnyRole('ROLE_USER', 'ROLE_ADMIN')")
+    public ResponseEntity<UploadSessionDto> complete(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable String sessionId,
+            @RequestParam(required = false) String checksum) {
+
+        UploadSession session = chunkedUploadService.complete(
+                sessionId,
+                checksum,
+                AuthUtils.getCurrentUserId(userDetails)
+        );
+        return ResponseEntity.ok(toDto(session));
+    }
+
+    @DeleteMapping("/{sessionId}")
+    @PreAuthorize("hasAnyRole('ROLE_USER', 'ROLE_ADMIN')")
+    public ResponseEntity<Void> abort(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable String sessionId) {
+
+        chunkedUploadService.abort(sessionId, AuthUtils.getCurrentUserId(userDetails));
+        return ResponseEntity.noContent().build();
+    }
+
+    private UploadSessionDto toDto(UploadSession session) {
+        return new UploadSessionDto(
+                session.getId(),
+                session.getTarget(),
+                session.getTargetId(),
+                session.getFilename(),
+                session.getTotalSize(),
+                session.getReceivedBytes(),
+                session.isCompleted(),
+                session.getUrl()
+        );
+    }
+}
@@ -16,7 +16,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -36,15 +35,13 @@ public class EventController {
         Long creatorId = AuthUtils.getCurrentUserId(userDetails);
         request.setCreatorId(creatorId);
 
-        EventDto createdEvent = eventMapper.toDto(
-                eventService.create(eventMapper.toEntity(request), creatorId)
-        );
+        Event event = eventService.create(eventMapper.toEntity(request), creatorId);
+        EventDto createdEvent = eventService.getEventView(event.getId());
 
         return ResponseEntity.status(HttpStatus.CREATED).body(createdEvent);
     }
 
     @PutMapping("/{id}")
-    @Transactional
     @AccessAnnotation(checkBy = AccessCheckType.EVENT)
     public ResponseEntity<EventDto> updateEvent(
             @AuthenticationPrincipal UserDetails userDetails,
@@ -52,8 +49,8 @@ public class EventController {
             @Valid @RequestBody UpdateEventRequest request) {
 
         Long currentUserId = AuthUtils.getCurrentUserId(userDetails);
-        Event updatedEvent = eventService.updateEvent(id, request, currentUserId);
-        EventDto dto = eventMapper.toDto(updatedEvent);
+        eventService.updateEvent(id, request, currentUserId);
+        EventDto dto = eventService.getEventView(id);
 
         return ResponseEntity.ok(dto);
     }
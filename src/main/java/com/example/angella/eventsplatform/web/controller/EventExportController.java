@@ -0,0 +1,53 @@
+package com.example.angella.eventsplatform.web.controller;
+
+import com.example.angella.eventsplatform.aop.AccessAnnotation;
+import com.example.angella.eventsplatform.aop.AccessCheckType;
+import com.example.angella.eventsplatform.service.export.EventExportService;
+import com.example.angella.eventsplatform.service.export.ExportFormat;
+import com.example.angella.eventsplatform.service.export.ExportSection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/v1/events")
+@RequiredArgsConstructor
+public class EventExportController {
+
+    private final EventExportService eventExportService;
+
+    // Права проверяются до начала ответа, сама выгрузка пишется в поток асинхронно
+    @GetMapping("/{id}/export/{section}")
+    @PreAuthorize("hasRole('ROLE_USER')")
+    @AccessAnnotation(checkBy = AccessCheckType.EVENT)
+    public ResponseEntity<StreamingResponseBody> exportEvent(
+            @PathVariable Long id,
+            @PathVariable String section,
+            @RequestParam(defaultValue = "csv") String format) {
+
+        ExportSection exportSection;
+        ExportFormat exportFormat;
+        try {
+            exportSection = ExportSection.fromString(section);
+            exportFormat = ExportFormat.fromString(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        String filename = String.format("event-%d-%s.%s",
+                id, exportSection.name().toLowerCase(Locale.ROOT), exportFormat.getExtension());
+        StreamingResponseBody body = outputStream ->
+                eventExportService.export(id, exportSection, exportFormat, outputStream);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .body(body);
+    }
+}
@@ -5,6 +5,7 @@ import com.example.angella.eventsplatform.entity.Image;
 import com.example.angella.eventsplatform.mapper.ImageMapper;
 import com.example.angella.eventsplatform.service.ChatService;
 import com.example.angella.eventsplatform.service.ImageService;
+import com.example.angella.eventsplatform.service.upload.BatchImageUploadService;
 import com.example.angella.eventsplatform.utils.AuthUtils;
 import com.example.angella.eventsplatform.web.dto.ImageDto;
 import lombok.RequiredArgsConstructor;
@@ -26,6 +27,7 @@ public class ImageController {
     private final ImageService imageService;
     private final ChatService chatService;
     private final ImageMapper imageMapper;
+    private final BatchImageUploadService batchImageUploadService;
 
     // АВАТАР ПОЛЬЗОВАТЕЛЯ
     @PostMapping("/avatar")
@@ -73,6 +75,24 @@ public class ImageController {
         return ResponseEntity.ok("Image successfully added to message");
     }
 
+    // НЕСКОЛЬКО ИЗОБРАЖЕНИЙ ДЛЯ ЧАТА ОДНИМ ЗАПРОСОМ
+    @PostMapping("/chat/{messageId}/batch")
+    @PreAuthorize("hasRole('ROLE_USER')")
+    public ResponseEntity<List<ImageDto>> uploadChatImages(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable Long messageId,
+            @RequestParam("files") List<MultipartFile> files) {
+
+        List<Image> images = batchImageUploadService.uploadToMessage(
+                files,
+                messageId,
+                AuthUtils.getCurrentUserId(userDetails)
+        );
+        return ResponseEntity.ok(images.stream()
+                .map(imageMapper::toDto)
+                .collect(Collectors.toList()));
+    }
+
     // ПОЛУЧЕНИЕ ИЗОБРАЖЕНИЙ СООБЩЕНИЯ ЧАТА
     @GetMapping("/chat/{messageId}")
     @PreAuthorize("hasRole('ROLE_USER')")
@@ -5,6 +5,7 @@ import com.example.angella.eventsplatform.exception.AccessDeniedException;
 import com.example.angella.eventsplatform.mapper.ImageMapper;
 import com.example.angella.eventsplatform.service.EventAccessService;
 import com.example.angella.eventsplatform.service.ImageService;
+import com.example.angella.eventsplatform.service.upload.BatchImageUploadService;
 import com.example.angella.eventsplatform.utils.AuthUtils;
 import com.example.angella.eventsplatform.web.dto.ImageDto;
 import lombok.RequiredArgsConstructor;
@@ -16,6 +17,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/images")
@@ -26,6 +28,7 @@ public class ImageUploadController {
     private final ImageService imageService;
     private final EventAccessService eventAccessService;
     private final ImageMapper imageMapper;
+    private final BatchImageUploadService batchImageUploadService;
 
     @PostMapping("/upload")
     public ResponseEntity<ImageDto> uploadImageForChat(
@@ -47,12 +50,7 @@ public class ImageUploadController {
             throw new IllegalArgumentException("Файл слишком большой. Максимальный размер: 10MB");
         }
 
-        // Проверка типа файла
-        if (!imageFile.getContentType().startsWith("image/")) {
-            throw new IllegalArgumentException("Файл должен быть изображением");
-        }
-
-        // Сохраняем изображение
+        // Тип файла проверяется по содержимому при сохранении (ImageContentValidator)
         Image savedImage = imageService.saveTemporaryImage(imageFile, eventId, userId);
 
         log.info("Изображение сохранено: ID={}, filename={}",
@@ -60,4 +58,22 @@ public class ImageUploadController {
 
         return ResponseEntity.ok(imageMapper.toDto(savedImage));
     }
-}
\ No newline at end of file
+
+    // Несколько изображений одним запросом, обрабатываются параллельно
+    @PostMapping("/upload/batch")
+    public ResponseEntity<List<ImageDto>> uploadImagesForChat(
+            @RequestParam Long eventId,
+            @RequestParam("images") List<MultipartFile> imageFiles,
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        log.info("Пакетная загрузка {} изображений для события {}", imageFiles.size(), eventId);
+
+        List<Image> savedImages = batchImageUploadService.uploadTemporaryImages(
+                imageFiles,
+                eventId,
+                AuthUtils.getCurrentUserId(userDetails)
+        );
+
+        return ResponseEntity.ok(savedImages.stream().map(imageMapper::toDto).toList());
+    }
+}
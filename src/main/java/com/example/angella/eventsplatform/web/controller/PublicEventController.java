@@ -1,6 +1,5 @@
 package com.example.angella.eventsplatform.web.controller;
 
-import com.example.angella.eventsplatform.mapper.EventMapper;
 import com.example.angella.eventsplatform.model.EventFilterModel;
 import com.example.angella.eventsplatform.service.EventService;
 import com.example.angella.eventsplatform.web.dto.EventDto;
@@ -20,26 +19,25 @@ import java.util.List;
 public class PublicEventController {
 
     private final EventService eventService;
-    private final EventMapper eventMapper;
 
     @GetMapping("/filter")
     public ResponseEntity<PageResponse<EventDto>> getEvents(EventFilterModel filterModel) {
-        var page = eventService.filter(filterModel);
+        var page = eventService.filterViews(filterModel);
 
         return ResponseEntity.ok(new PageResponse<>(
                 page.getTotalElements(),
                 page.getTotalPages(),
-                eventMapper.toDtoList(page.getContent())
+                page.getContent()
         ));
     }
 
     @GetMapping
     public ResponseEntity<List<EventDto>> getEvents() {
-        return ResponseEntity.ok(eventMapper.toDtoList(eventService.findAll()));
+        return ResponseEntity.ok(eventService.findAllViews());
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<EventDto> getEventById(@PathVariable Long id) {
-        return ResponseEntity.ok(eventMapper.toDto(eventService.getById(id)));
+        return ResponseEntity.ok(eventService.getEventView(id));
     }
 }
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.example.angella.eventsplatform.web.controller;
+
+import com.example.angella.eventsplatform.service.report.ReportJobService;
+import com.example.angella.eventsplatform.service.report.ReportJobService.ReportJob;
+import com.example.angella.eventsplatform.service.report.ReportJobService.ReportJobStatus;
+import com.example.angella.eventsplatform.web.dto.ReportJobDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+// Фоновая генерация PDF-отчетов: ответ 202 с id задания, готовый отчет
+// скачивается через GET /api/v1/admin/reports/{jobId}/download
+@RestController
+@RequestMapping("/api/v1/admin/reports")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class ReportJobController {
+
+    private final ReportJobService reportJobService;
+
+    @PostMapping
+    public ResponseEntity<ReportJobDto> submit(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        if (from != null && to != null && from.isAfter(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        ReportJob job = reportJobService.submit(from, to, userDetails.getUsername());
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .header(HttpHeaders.LOCATION, "/api/v1/admin/reports/" + job.getId())
+                .body(toDto(job));
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ReportJobDto> getJob(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable String jobId) {
+
+        return ResponseEntity.ok(toDto(reportJobService.getJob(jobId, userDetails.getUsername())));
+    }
+
+    @GetMapping("/{jobId}/download")
+    public ResponseEntity<Resource> download(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable String jobId) {
+
+        ReportJob job = reportJobService.getJob(jobId, userDetails.getUsername());
+        if (job.getStatus() != ReportJobStatus.COMPLETED) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=platform-report-" + jobId + ".pdf")
+                .contentType(MediaType.APPLICATION_PDF)
+                .body(new FileSystemResource(job.getFile()));
+    }
+
+    private ReportJobDto toDto(ReportJob job) {
+        String downloadUrl = job.getStatus() == ReportJobStatus.COMPLETED
+                ? "/api/v1/admin/reports/" + job.getId() + "/download"
+                : null;
+        return new ReportJobDto(
+                job.getId(),
+                job.getStatus(),
+                job.getFrom(),
+                job.getTo(),
+                downloadUrl,
+                job.getError(),
+                job.getUpdatedAt()
+        );
+    }
+}
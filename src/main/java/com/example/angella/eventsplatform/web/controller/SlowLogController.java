@@ -0,0 +1,39 @@
+package com.example.angella.eventsplatform.web.controller;
+
+import com.example.angella.eventsplatform.model.SlowLogEntry;
+import com.example.angella.eventsplatform.service.metrics.SlowLogService;
+import com.example.angella.eventsplatform.web.dto.SlowLogDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+// Журнал медленных SQL-запросов и HTTP/STOMP-запросов из кольцевого буфера
+@RestController
+@RequestMapping("/api/v1/admin/slow-log")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class SlowLogController {
+
+    private final SlowLogService slowLogService;
+
+    @GetMapping
+    public ResponseEntity<SlowLogDto> getSlowLog(
+            @RequestParam(defaultValue = "10") int top,
+            @RequestParam(required = false) SlowLogEntry.Kind kind) {
+
+        if (top < 1 || top > 100) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<SlowLogEntry> entries = slowLogService.getRecentEntries().stream()
+                .filter(entry -> kind == null || entry.getKind() == kind)
+                .toList();
+        return ResponseEntity.ok(new SlowLogDto(slowLogService.getTopOffenders(top), entries));
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.angella.eventsplatform.web.controller;
+
+import com.example.angella.eventsplatform.security.AccessTokenService;
+import com.example.angella.eventsplatform.security.AppUserDetails;
+import com.example.angella.eventsplatform.web.dto.TokenRequest;
+import com.example.angella.eventsplatform.web.dto.TokenResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+// Выдача токена доступа по имени и паролю. HTTP-сессия не создается
+@RestController
+@RequestMapping("/api/v1/public/token")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.security.token", name = "enabled", havingValue = "true")
+public class TokenController {
+
+    private final AuthenticationManager authenticationManager;
+    private final AccessTokenService accessTokenService;
+
+    @PostMapping
+    public ResponseEntity<TokenResponse> issueToken(@Valid @RequestBody TokenRequest request) {
+        Authentication authentication = authenticationManager.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated(request.getUsername(), request.getPassword()));
+
+        var token = accessTokenService.issue((AppUserDetails) authentication.getPrincipal());
+        return ResponseEntity.ok(new TokenResponse(token.value(), "Bearer",
+                accessTokenService.getTtl().toSeconds(), token.expiresAt()));
+    }
+}
@@ -1,11 +1,14 @@
 package com.example.angella.eventsplatform.web.controller;
 
+import com.example.angella.eventsplatform.entity.Category;
 import com.example.angella.eventsplatform.entity.Comment;
 import com.example.angella.eventsplatform.entity.Event;
-import com.example.angella.eventsplatform.entity.Image;
 import com.example.angella.eventsplatform.entity.User;
 import com.example.angella.eventsplatform.exception.EntityNotFoundException;
 import com.example.angella.eventsplatform.mapper.EventMapper;
+import com.example.angella.eventsplatform.model.EventCardView;
+import com.example.angella.eventsplatform.model.EventDetailsView;
+import com.example.angella.eventsplatform.model.EventMembership;
 import com.example.angella.eventsplatform.service.*;
 import com.example.angella.eventsplatform.web.dto.CreateEventRequest;
 import com.example.angella.eventsplatform.web.dto.UpdateEventRequest;
@@ -36,6 +39,7 @@ public class WebController {
     private final EventMapper eventMapper;
     private final CommentService commentService;
     private final ImageService imageService;
+    private final EventAccessService eventAccessService;
 
     @GetMapping("/")
     public String home(Model model, Authentication authentication) {
@@ -45,8 +49,8 @@ public class WebController {
 
             // Подготавливаем статистику
             Map<String, Long> stats = new HashMap<>();
-            stats.put("eventsCount", (long) eventService.findAll().size());
-            stats.put("usersCount", (long) userService.findAllUsers().size());
+            stats.put("eventsCount", eventService.getTotalEventsCount());
+            stats.put("usersCount", userService.getTotalUsersCount());
             stats.put("categoriesCount", (long) categoryService.findAll().size());
             stats.put("citiesCount", (long) eventService.getAllCities().size());
 
@@ -75,7 +79,7 @@ public class WebController {
                          @RequestParam(required = false, defaultValue = "newest") String sort) {
         try {
             // Получаем только будущие мероприятия
-            List<Event> events = eventService.findAllFutureEvents();
+            List<EventCardView> events = new ArrayList<>(eventService.findAllFutureEvents());
 
             // Применяем фильтры
             if (search != null && !search.isEmpty()) {
@@ -84,30 +88,36 @@ public class WebController {
                         .collect(Collectors.toList());
             }
 
+            List<Category> categories = categoryService.findAll();
+
             if (categoryId != null) {
+                // Карточки содержат названия категорий, фильтр приходит по id
+                Optional<String> categoryName = categories.stream()
+                        .filter(category -> category.getId().equals(categoryId))
+                        .map(Category::getName)
+                        .findFirst();
                 events = events.stream()
-                        .filter(event -> event.getCategories().stream()
-                                .anyMatch(category -> category.getId().equals(categoryId)))
+                        .filter(event -> categoryName.isPresent() && event.getCategories().contains(categoryName.get()))
                         .collect(Collectors.toList());
             }
 
             if (city != null && !city.isEmpty()) {
                 events = events.stream()
-                        .filter(event -> event.getLocation().getCity().equalsIgnoreCase(city))
+                        .filter(event -> event.getCity().equalsIgnoreCase(city))
                         .collect(Collectors.toList());
             }
 
             if ("oldest".equals(sort)) {
-                events.sort(Comparator.comparing(Event::getStartTime).reversed()); // "Сначала дальние"
+                events.sort(Comparator.comparing(EventCardView::getStartTime).reversed()); // "Сначала дальние"
             } else {
-                events.sort(Comparator.comparing(Event::getStartTime)); // "Сначала ближние" (по умолчанию)
+                events.sort(Comparator.comparing(EventCardView::getStartTime)); // "Сначала ближние" (по умолчанию)
             }
 
             // Получаем список уникальных городов для фильтра
             List<String> cities = eventService.getAllCities();
 
             model.addAttribute("events", events);
-            model.addAttribute("categories", categoryService.findAll());
+            model.addAttribute("categories", categories);
             model.addAttribute("cities", cities);
             model.addAttribute("searchTerm", search);
             model.addAttribute("selectedCategory", categoryId);
@@ -131,10 +141,8 @@ public class WebController {
 
         try {
             User user = userService.findByUsername(authentication.getName());
-            List<Event> events = eventService.findUserEventsWithImages(user.getId());
-
-            // Сортируем по дате (новые сначала)
-            events.sort(Comparator.comparing(Event::getStartTime).reversed());
+            // Сервис возвращает мероприятия отсортированными по дате (новые сначала)
+            List<EventCardView> events = eventService.findUserEventsWithImages(user.getId());
 
             model.addAttribute("events", events);
             model.addAttribute("categories", categoryService.findAll());
@@ -158,7 +166,9 @@ public class WebController {
     public String login(@RequestParam(required = false) String error,
                         @RequestParam(required = false) String logout,
                         Model model) {
-        if (error != null) {
+        if ("busy".equals(error)) {
+            model.addAttribute("error", "Слишком много попыток входа, повторите через несколько секунд");
+        } else if (error != null) {
             model.addAttribute("error", "Неверные учетные данные");
         }
         if (logout != null) {
@@ -366,26 +376,23 @@ public class WebController {
     public String eventDetail(@PathVariable Long id, Model model,
                                @AuthenticationPrincipal UserDetails userDetails) {
         try {
-            // Загружаем событие БЕЗ комментариев в основном запросе
-            Event event = eventService.getByIdWithRelations(id);
+            // Мероприятие по плану Event.detail, изображения - из манифеста
+            EventDetailsView event = eventService.getEventForDetailView(id);
 
             // Комментарии загружаем отдельно
             List<Comment> comments = commentService.findAllByEventId(id);
 
-            // Получаем изображения события
-            List<Image> eventImages = imageService.getEventImages(id);
-            Image mainImage = eventImages != null && !eventImages.isEmpty() ? eventImages.get(0) : null;
-
             model.addAttribute("event", event);
             model.addAttribute("comments", comments);
-            model.addAttribute("mainImage", mainImage); // Используем первое изображение как основное
-            model.addAttribute("eventImages", eventImages);
+            model.addAttribute("mainImage", event.getMainImage()); // Первое изображение - основное
+            model.addAttribute("eventImages", event.getImages());
 
             if (userDetails != null) {
                 User currentUser = userService.findByUsername(userDetails.getUsername());
                 model.addAttribute("currentUser", currentUser);
-                model.addAttribute("isParticipant", eventService.hasParticipant(id, currentUser.getId()));
-                model.addAttribute("isCreator", eventService.isEventCreator(id, currentUser.getId()));
+                EventMembership membership = eventAccessService.getMembership(id, currentUser.getId());
+                model.addAttribute("isParticipant", membership.isParticipant());
+                model.addAttribute("isCreator", membership.isCreator());
             } else {
                 model.addAttribute("isParticipant", false);
                 model.addAttribute("isCreator", false);
@@ -413,15 +420,14 @@ public class WebController {
 
         try {
             User user = userService.findByUsername(authentication.getName());
-            Event existingEvent = eventService.getById(id);
 
             // Проверяем, что пользователь - создатель мероприятия
-            if (!existingEvent.getCreator().getId().equals(user.getId())) {
+            if (!eventService.isEventCreator(id, user.getId())) {
                 return "redirect:/event/details/" + id + "?error=access_denied";
             }
 
             // Обновляем событие
-            Event updatedEvent = eventService.updateEvent(id, request, user.getId());
+            eventService.updateEvent(id, request, user.getId());
 
             // Обработка загрузки нового изображения
             if (eventImage != null && !eventImage.isEmpty()) {
@@ -438,8 +444,7 @@ public class WebController {
         } catch (Exception e) {
             log.error("Error updating event", e);
             model.addAttribute("error", "Ошибка при обновлении мероприятия: " + e.getMessage());
-            Event event = eventService.getById(id);
-            model.addAttribute("event", event);
+            model.addAttribute("event", eventService.getEventForDetailView(id));
             model.addAttribute("categories", categoryService.findAll());
             return "events/edit";
         }
@@ -455,10 +460,10 @@ public class WebController {
 
         try {
             User user = userService.findByUsername(authentication.getName());
-            Event event = eventService.getById(id);
+            EventDetailsView event = eventService.getEventForDetailView(id);
 
             // Проверяем, что пользователь - создатель мероприятия
-            if (!event.getCreator().getId().equals(user.getId())) {
+            if (!event.getCreatorId().equals(user.getId())) {
                 return "redirect:/event/details/" + id + "?error=access_denied";
             }
 
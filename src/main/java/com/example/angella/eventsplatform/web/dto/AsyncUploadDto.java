@@ -0,0 +1,22 @@
+package com.example.angella.eventsplatform.web.dto;
+
+import com.example.angella.eventsplatform.service.upload.AsyncImageUploadService.AsyncUploadStatus;
+import com.example.angella.eventsplatform.service.upload.UploadTarget;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AsyncUploadDto {
+    private String uploadId;
+    private AsyncUploadStatus status;
+    private UploadTarget target;
+    private Long targetId;
+    private String url;
+    private String error;
+    private Instant updatedAt;
+}
@@ -0,0 +1,28 @@
+package com.example.angella.eventsplatform.web.dto;
+
+import com.example.angella.eventsplatform.service.upload.UploadTarget;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+@Data
+public class CreateUploadSessionRequest {
+    @NotNull(message = "Тип загрузки обязателен")
+    private UploadTarget target;
+
+    // id события или сообщения чата, для аватара не требуется
+    private Long targetId;
+
+    @NotBlank(message = "Имя файла не может быть пустым")
+    private String filename;
+
+    private String contentType;
+
+    @NotNull(message = "Размер файла обязателен")
+    @Positive(message = "Размер файла должен быть положительным")
+    private Long totalSize;
+
+    // SHA-256 всего файла в hex, можно передать и при завершении загрузки
+    private String checksum;
+}
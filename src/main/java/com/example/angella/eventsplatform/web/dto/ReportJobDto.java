@@ -0,0 +1,22 @@
+package com.example.angella.eventsplatform.web.dto;
+
+import com.example.angella.eventsplatform.service.report.ReportJobService.ReportJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobDto {
+    private String jobId;
+    private ReportJobStatus status;
+    private LocalDate from;
+    private LocalDate to;
+    private String downloadUrl;
+    private String error;
+    private Instant updatedAt;
+}
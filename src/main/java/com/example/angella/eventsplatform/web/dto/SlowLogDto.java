@@ -0,0 +1,17 @@
+package com.example.angella.eventsplatform.web.dto;
+
+import com.example.angella.eventsplatform.model.SlowLogEntry;
+import com.example.angella.eventsplatform.model.SlowQueryOffender;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlowLogDto {
+    private List<SlowQueryOffender> topOffenders;
+    private List<SlowLogEntry> entries;
+}
@@ -0,0 +1,18 @@
+package com.example.angella.eventsplatform.web.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TokenRequest {
+
+    @NotBlank(message = "Username must be set!")
+    private String username;
+
+    @NotBlank(message = "Password must be set!")
+    private String password;
+}
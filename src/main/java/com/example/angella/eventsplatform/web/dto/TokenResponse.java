@@ -0,0 +1,17 @@
+package com.example.angella.eventsplatform.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenResponse {
+    private String accessToken;
+    private String tokenType;
+    private long expiresIn;
+    private Instant expiresAt;
+}
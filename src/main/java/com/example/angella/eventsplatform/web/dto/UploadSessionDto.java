@@ -0,0 +1,20 @@
+package com.example.angella.eventsplatform.web.dto;
+
+import com.example.angella.eventsplatform.service.upload.UploadTarget;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionDto {
+    private String id;
+    private UploadTarget target;
+    private Long targetId;
+    private String filename;
+    private long totalSize;
+    private long receivedBytes;
+    private boolean completed;
+    private String url;
+}
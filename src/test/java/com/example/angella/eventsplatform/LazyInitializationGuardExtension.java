@@ -0,0 +1,69 @@
+package com.example.angella.eventsplatform;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxy;
+import ch.qos.logback.core.AppenderBase;
+import org.hibernate.LazyInitializationException;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.opentest4j.AssertionFailedError;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Тесты идут с выключенным hibernate.enable_lazy_load_no_trans (application-test.yml).
+// Контроллеры перехватывают исключения и только пишут их в лог, поэтому ленивая загрузка
+// вне транзакции ищется в залогированных ошибках: любая такая ошибка роняет тест
+public class LazyInitializationGuardExtension implements BeforeEachCallback, AfterEachCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(LazyInitializationGuardExtension.class);
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        LazyInitializationAppender appender = new LazyInitializationAppender();
+        appender.start();
+        rootLogger().addAppender(appender);
+        context.getStore(NAMESPACE).put(context.getUniqueId(), appender);
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        LazyInitializationAppender appender = context.getStore(NAMESPACE)
+                .remove(context.getUniqueId(), LazyInitializationAppender.class);
+        if (appender == null) {
+            return;
+        }
+        rootLogger().detachAppender(appender);
+        appender.stop();
+
+        if (!appender.failures.isEmpty() && context.getExecutionException().isEmpty()) {
+            throw new AssertionFailedError(String.format("Lazy loading outside a transaction in %s:%n  %s",
+                    context.getDisplayName(), String.join(System.lineSeparator() + "  ", appender.failures)));
+        }
+    }
+
+    private static Logger rootLogger() {
+        return (Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+    }
+
+    private static class LazyInitializationAppender extends AppenderBase<ILoggingEvent> {
+
+        private final List<String> failures = new CopyOnWriteArrayList<>();
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            for (IThrowableProxy proxy = event.getThrowableProxy(); proxy != null; proxy = proxy.getCause()) {
+                if (proxy instanceof ThrowableProxy throwableProxy
+                        && throwableProxy.getThrowable() instanceof LazyInitializationException) {
+                    failures.add(event.getLoggerName() + ": " + proxy.getMessage());
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.angella.eventsplatform;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Максимальное число SQL-запросов в теле тестового метода (без @BeforeEach).
+// Перед началом подсчета контекст персистентности сбрасывается и очищается
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+    int max();
+}
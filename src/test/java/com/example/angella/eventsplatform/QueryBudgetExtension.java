@@ -0,0 +1,61 @@
+package com.example.angella.eventsplatform;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.opentest4j.AssertionFailedError;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+
+// Проверка @QueryBudget: считает запросы, выполненные телом теста в его потоке
+public class QueryBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        if (findBudget(context) == null) {
+            return;
+        }
+        flushAndClear(context);
+        QueryCountInspector.start();
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        QueryBudget budget = findBudget(context);
+        if (budget == null) {
+            return;
+        }
+
+        List<String> statements = QueryCountInspector.stop();
+        // Упавший тест не перекрываем ошибкой бюджета
+        if (context.getExecutionException().isPresent()) {
+            return;
+        }
+        if (statements.size() > budget.max()) {
+            throw new AssertionFailedError(String.format("Query budget exceeded in %s: %d statements, max %d%s",
+                    context.getDisplayName(), statements.size(), budget.max(),
+                    QueryCountInspector.describe(statements)));
+        }
+    }
+
+    // Запросы не должны прятаться в кэше первого уровня или откладываться до flush
+    static void flushAndClear(ExtensionContext context) {
+        EntityManagerFactory entityManagerFactory = SpringExtension.getApplicationContext(context)
+                .getBean(EntityManagerFactory.class);
+        EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+        if (entityManager != null) {
+            entityManager.flush();
+            entityManager.clear();
+        }
+    }
+
+    private QueryBudget findBudget(ExtensionContext context) {
+        return context.getTestMethod()
+                .map(method -> method.getAnnotation(QueryBudget.class))
+                .orElse(null);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.angella.eventsplatform;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Подсчет SQL-запросов Hibernate в текущем потоке. Подключается в application-test.yml
+// (hibernate.session_factory.statement_inspector); запросы собираются только между start() и stop()
+public class QueryCountInspector implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = STATEMENTS.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    public static void start() {
+        STATEMENTS.set(new ArrayList<>());
+    }
+
+    public static List<String> stop() {
+        List<String> statements = STATEMENTS.get();
+        STATEMENTS.remove();
+        return statements != null ? statements : List.of();
+    }
+
+    static String describe(List<String> statements) {
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < statements.size(); i++) {
+            description.append(System.lineSeparator()).append(i + 1).append(". ").append(statements.get(i));
+        }
+        return description.toString();
+    }
+}
@@ -1,7 +1,16 @@
 package com.example.angella.eventsplatform;
 
+import com.example.angella.eventsplatform.entity.Category;
+import com.example.angella.eventsplatform.entity.Event;
+import com.example.angella.eventsplatform.entity.Location;
 import com.example.angella.eventsplatform.repository.*;
+import com.example.angella.eventsplatform.service.EventService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
@@ -12,12 +21,32 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 @SpringBootTest
 @ActiveProfiles("test")
 @Testcontainers
 @Transactional
+@ExtendWith({QueryBudgetExtension.class, LazyInitializationGuardExtension.class})
 public abstract class ServiceIntegrationTest {
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EventService eventService;
+
     @Container
     static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16.1")
             .withDatabaseName("testdb")
@@ -48,4 +77,89 @@ public abstract class ServiceIntegrationTest {
         categoryRepository.deleteAll();
         userRepository.deleteAll();
     }
-}
\ No newline at end of file
+
+    // Мероприятие на завтра с местом проведения "Test City"; категории создаются по именам
+    protected Event createEvent(Long creatorId, String... categoryNames) {
+        return createEvent(creatorId, "Test Event", Instant.now().plus(1, ChronoUnit.DAYS), categoryNames);
+    }
+
+    // Мероприятие длительностью в час с заданным началом, в том числе уже прошедшее или идущее
+    protected Event createEvent(Long creatorId, String name, Instant startTime, String... categoryNames) {
+        Event event = new Event();
+        event.setName(name);
+        event.setDescription(name + " description");
+        event.setStartTime(startTime);
+        event.setEndTime(startTime.plus(1, ChronoUnit.HOURS));
+
+        Location location = new Location();
+        location.setCity("Test City");
+        location.setStreet("Test Street");
+        event.setLocation(location);
+
+        Set<Category> categories = new HashSet<>();
+        for (String categoryName : categoryNames) {
+            Category category = new Category();
+            category.setName(categoryName);
+            categories.add(category);
+        }
+        event.setCategories(categories);
+
+        return eventService.create(event, creatorId);
+    }
+
+    // SQL-запросы, выполненные действием в текущем потоке. Изменения предварительно
+    // сбрасываются в БД, а контекст персистентности очищается
+    protected List<String> captureQueries(Runnable action) {
+        entityManager.flush();
+        entityManager.clear();
+        QueryCountInspector.start();
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            QueryCountInspector.stop();
+            throw e;
+        }
+        return QueryCountInspector.stop();
+    }
+
+    protected void assertQueryBudget(int max, Runnable action) {
+        List<String> statements = captureQueries(action);
+        assertTrue(statements.size() <= max, () -> String.format("Query budget exceeded: %d statements, max %d%s",
+                statements.size(), max, QueryCountInspector.describe(statements)));
+    }
+
+    // Число обращений к БД (выполнений JDBC, пакет - одно обращение) по метрике sql.statements;
+    // typePrefix отбирает тип выражения, например "insert" - одиночные и пакетные вставки
+    protected long jdbcRoundTrips(String typePrefix) {
+        return meterRegistry.find("sql.statements").timers().stream()
+                .filter(timer -> {
+                    String type = timer.getId().getTag("type");
+                    return type != null && type.startsWith(typePrefix);
+                })
+                .mapToLong(Timer::count)
+                .sum();
+    }
+
+    // Содержимое тестового изображения: корректный заголовок формата с заданными
+    // размерами, дополненный до нужного размера произвольными байтами
+    protected static byte[] imageContent(String contentType, int width, int height, int size) {
+        ByteBuffer header = ByteBuffer.allocate(64);
+        switch (contentType) {
+            case "image/png" -> header.put(new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'})
+                    .putInt(13).put("IHDR".getBytes()).putInt(width).putInt(height);
+            case "image/gif" -> header.put("GIF89a".getBytes()).order(ByteOrder.LITTLE_ENDIAN)
+                    .putShort((short) width).putShort((short) height);
+            default -> header.put(new byte[]{(byte) 0xFF, (byte) 0xD8})
+                    .put(new byte[]{(byte) 0xFF, (byte) 0xE0}).putShort((short) 16).put(new byte[14])
+                    .put(new byte[]{(byte) 0xFF, (byte) 0xC0}).putShort((short) 17).put((byte) 8)
+                    .putShort((short) height).putShort((short) width);
+        }
+
+        byte[] content = new byte[Math.max(size, header.position())];
+        System.arraycopy(header.array(), 0, content, 0, header.position());
+        for (int i = header.position(); i < content.length; i++) {
+            content[i] = (byte) (i % 256);
+        }
+        return content;
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.angella.eventsplatform.security;
+
+import com.example.angella.eventsplatform.QueryBudget;
+import com.example.angella.eventsplatform.ServiceIntegrationTest;
+import com.example.angella.eventsplatform.entity.*;
+import com.example.angella.eventsplatform.exception.ServiceOverloadedException;
+import com.example.angella.eventsplatform.repository.UserRepository;
+import com.example.angella.eventsplatform.service.EventService;
+import com.example.angella.eventsplatform.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserDetailsServiceImplIT extends ServiceIntegrationTest {
+
+    // Верхняя граница сериализованного SecurityContext одной сессии
+    private static final int MAX_SESSION_CONTEXT_BYTES = 1024;
+
+    @Autowired private UserDetailsServiceImpl userDetailsService;
+    @Autowired private AuthenticationManager authenticationManager;
+    @Autowired private UserService userService;
+    @Autowired private EventService eventService;
+    @Autowired private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setUsername("principal");
+        user.setEmail("principal@test.com");
+        user.setPassword("secret-password");
+        user = userService.registerUser(user);
+    }
+
+    @Test
+    @QueryBudget(max = 1)
+    void loadUserByUsername_ShouldReadCredentialsInSingleQuery() {
+        AppUserDetails details = (AppUserDetails) userDetailsService.loadUserByUsername("principal");
+
+        assertEquals(user.getId(), details.getId());
+        assertEquals("principal", details.getUsername());
+        assertNotNull(details.getPassword());
+        assertEquals(Set.of("ROLE_USER"), AuthorityUtils.authorityListToSet(details.getAuthorities()));
+        // Полномочия вычислены заранее и не пересоздаются при каждом вызове
+        assertSame(details.getAuthorities(), details.getAuthorities());
+    }
+
+    @Test
+    void loadUserByUsername_ShouldThrowForUnknownUser() {
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("missing"));
+    }
+
+    @Test
+    void authenticate_ShouldEraseStoredPasswordHash() {
+        Authentication authentication = authenticate();
+
+        AppUserDetails details = (AppUserDetails) authentication.getPrincipal();
+        assertNull(details.getPassword());
+        assertNull(authentication.getCredentials());
+        assertEquals(user.getId(), details.getId());
+    }
+
+    @Test
+    void authenticate_ShouldRehashPasswordWithWeakerWorkFactor() {
+        userRepository.updatePasswordHash("principal", new BCryptPasswordEncoder(4).encode("secret-password"));
+
+        authenticate();
+
+        // В тестовом профиле app.security.bcrypt-strength = 5
+        String storedHash = userRepository.findCredentialsByUsername("principal").get(0).getPassword();
+        assertTrue(storedHash.startsWith("$2a$05$"), storedHash);
+        assertNotNull(authenticate());
+    }
+
+    @Test
+    void boundedPasswordEncoder_ShouldRejectWhenExecutorIsSaturated() throws InterruptedException {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(0);
+        executor.initialize();
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(
+                    new BCryptPasswordEncoder(4), executor, Duration.ofSeconds(5));
+
+            // Единственный поток занят, очереди нет - отказ без ожидания
+            executor.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            assertThrows(ServiceOverloadedException.class, () -> encoder.encode("pw"));
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void sessionFootprint_ShouldNotDependOnUserActivity() {
+        int before = serializedSize(new SecurityContextImpl(authenticate()));
+
+        User organizer = userService.registerUser(newUser("organizer"));
+        for (int i = 0; i < 5; i++) {
+            Event event = createEvent(organizer.getId(), "Footprint");
+            eventService.addParticipant(event.getId(), user.getId());
+        }
+        int after = serializedSize(new SecurityContextImpl(authenticate()));
+
+        assertEquals(before, after, "Principal must not carry the user's events");
+        assertTrue(after < MAX_SESSION_CONTEXT_BYTES, () -> "Session security context takes " + after + " bytes");
+    }
+
+    private Authentication authenticate() {
+        return authenticationManager.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated("principal", "secret-password"));
+    }
+
+    private int serializedSize(Object value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.size();
+    }
+
+    private User newUser(String username) {
+        User newUser = new User();
+        newUser.setUsername(username);
+        newUser.setEmail(username + "@test.com");
+        newUser.setPassword("password");
+        return newUser;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.angella.eventsplatform.service;
+
+import com.example.angella.eventsplatform.ServiceIntegrationTest;
+import com.example.angella.eventsplatform.entity.Event;
+import com.example.angella.eventsplatform.entity.User;
+import com.example.angella.eventsplatform.exception.AccessDeniedException;
+import com.example.angella.eventsplatform.exception.EntityNotFoundException;
+import com.example.angella.eventsplatform.service.upload.AsyncImageUploadService;
+import com.example.angella.eventsplatform.service.upload.UploadTarget;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockMultipartFile;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Проверки, выполняемые синхронно в потоке запроса до постановки задачи в пул
+class AsyncImageUploadServiceIT extends ServiceIntegrationTest {
+
+    @Autowired private AsyncImageUploadService asyncImageUploadService;
+    @Autowired private UserService userService;
+
+    private User user1;
+    private User user2;
+    private Event testEvent;
+    private MockMultipartFile file;
+
+    @BeforeEach
+    void setUp() {
+        user1 = createUser("user1", "user1@test.com");
+        user2 = createUser("user2", "user2@test.com");
+        testEvent = createEvent(user1.getId());
+        file = new MockMultipartFile("file", "photo.jpg", "image/jpeg", imageContent("image/jpeg", 640, 480, 1024));
+    }
+
+    @Test
+    void submit_ForEventWithoutParticipation_ShouldBeRejectedSynchronously() {
+        assertThrows(AccessDeniedException.class, () ->
+                asyncImageUploadService.submit(UploadTarget.EVENT, testEvent.getId(), file,
+                        user2.getId(), user2.getUsername())
+        );
+    }
+
+    @Test
+    void getUpload_WithUnknownId_ShouldThrowNotFound() {
+        assertThrows(EntityNotFoundException.class, () ->
+                asyncImageUploadService.getUpload("unknown", user1.getId())
+        );
+    }
+
+    private User createUser(String username, String email) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(email);
+        user.setPassword("password");
+        return userService.registerUser(user);
+    }
+}
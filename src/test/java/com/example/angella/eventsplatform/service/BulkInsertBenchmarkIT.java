@@ -0,0 +1,111 @@
+package com.example.angella.eventsplatform.service;
+
+import com.example.angella.eventsplatform.ServiceIntegrationTest;
+import com.example.angella.eventsplatform.entity.ChecklistItem;
+import com.example.angella.eventsplatform.entity.Event;
+import com.example.angella.eventsplatform.entity.User;
+import com.example.angella.eventsplatform.repository.ChecklistItemRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Нагрузочный сценарий: массовая вставка с пакетами JDBC и без них (число обращений к БД и пропускная способность).
+// Не входит в обычный прогон тестов, запуск: ./gradlew benchmark
+@Tag("benchmark")
+class BulkInsertBenchmarkIT extends ServiceIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkInsertBenchmarkIT.class);
+
+    private static final int ROWS = 5_000;
+    private static final int ROUNDS = 5;
+
+    @PersistenceContext private EntityManager entityManager;
+    @Autowired private ChecklistItemRepository checklistItemRepository;
+    @Autowired private UserService userService;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+    private int batchSize;
+
+    @Test
+    void bulkInsert_ShouldSendRowsInJdbcBatches() {
+        User creator = new User();
+        creator.setUsername("bulkcreator");
+        creator.setEmail("bulkcreator@test.com");
+        creator.setPassword("password");
+        creator = userService.registerUser(creator);
+        Event event = createEvent(creator.getId());
+
+        // Прогрев
+        insertRows(event, creator, 1);
+        insertRows(event, creator, null);
+
+        double unbatchedRate = 0;
+        double batchedRate = 0;
+        long unbatchedRoundTrips = 0;
+        long batchedRoundTrips = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            InsertResult unbatched = insertRows(event, creator, 1);
+            InsertResult batched = insertRows(event, creator, null);
+            unbatchedRate += unbatched.rowsPerSecond();
+            batchedRate += batched.rowsPerSecond();
+            unbatchedRoundTrips += unbatched.roundTrips();
+            batchedRoundTrips += batched.roundTrips();
+        }
+        unbatchedRate /= ROUNDS;
+        batchedRate /= ROUNDS;
+
+        log.info(String.format("""
+                        Bulk insert of %d checklist items (average of %d rounds):
+                          batch size 1:   %.0f rows/s, %d round trips
+                          configured:     %.0f rows/s (x%.1f), %d round trips""",
+                ROWS, ROUNDS, unbatchedRate, unbatchedRoundTrips / ROUNDS,
+                batchedRate, batchedRate / unbatchedRate, batchedRoundTrips / ROUNDS));
+
+        // Время зависит от машины и только выводится; проверяется число обращений к БД
+        assertEquals((long) ROWS * ROUNDS, unbatchedRoundTrips);
+        assertTrue(batchedRoundTrips <= (long) Math.ceilDiv(ROWS, batchSize) * ROUNDS,
+                () -> "Expected inserts in batches of " + batchSize + ", got " + batchedRoundTrips + " round trips");
+    }
+
+    private record InsertResult(double rowsPerSecond, long roundTrips) {
+    }
+
+    // Вставка ROWS строк с заданным размером пакета (null - из конфигурации)
+    private InsertResult insertRows(Event event, User creator, Integer batchSize) {
+        Session session = entityManager.unwrap(Session.class);
+        session.setJdbcBatchSize(batchSize);
+
+        List<ChecklistItem> items = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            ChecklistItem item = new ChecklistItem();
+            item.setName("Bulk Item " + i);
+            item.setEvent(event);
+            item.setCreatedBy(creator);
+            items.add(item);
+        }
+
+        long roundTripsBefore = jdbcRoundTrips("insert");
+        long start = System.nanoTime();
+        checklistItemRepository.saveAll(items);
+        entityManager.flush();
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        long roundTrips = jdbcRoundTrips("insert") - roundTripsBefore;
+
+        // Ссылки на мероприятие и пользователя остаются отсоединенными: для вставки нужен только id
+        entityManager.clear();
+        session.setJdbcBatchSize(null);
+        return new InsertResult(ROWS / seconds, roundTrips);
+    }
+}
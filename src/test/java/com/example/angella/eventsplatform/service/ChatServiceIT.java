@@ -220,4 +220,30 @@ class ChatServiceIT extends ServiceIntegrationTest {
 
         assertFalse(isAuthor);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getMessages_ShouldNotQueryPerMessage() {
+        User guest = new User();
+        guest.setUsername("chatguest");
+        guest.setEmail("chatguest@test.com");
+        guest.setPassword("password");
+        Long guestId = userService.registerUser(guest).getId();
+        Long eventId = testEvent.getId();
+        Long authorId = testUser.getId();
+        eventService.addParticipant(eventId, guestId);
+
+        createMessages(eventId, authorId, guestId, 3);
+        int fewMessages = captureQueries(() -> chatService.getMessages(eventId, new PageModel(0, 50))).size();
+
+        createMessages(eventId, authorId, guestId, 30);
+        int manyMessages = captureQueries(() -> chatService.getMessages(eventId, new PageModel(0, 50))).size();
+
+        assertEquals(fewMessages, manyMessages, "Number of queries must not depend on the number of messages");
+    }
+
+    private void createMessages(Long eventId, Long firstAuthorId, Long secondAuthorId, int count) {
+        for (int i = 0; i < count; i++) {
+            chatService.createMessage("Message " + i, eventId, i % 2 == 0 ? firstAuthorId : secondAuthorId);
+        }
+    }
+}
@@ -14,6 +14,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -246,6 +247,29 @@ class ChecklistServiceIT extends ServiceIntegrationTest {
         assertFalse(checklistService.isItemCreator(item.getId(), participant1.getId()));
     }
 
+    @Test
+    void saveAll_ShouldInsertItemsInJdbcBatches() {
+        List<ChecklistItem> items = IntStream.range(0, 120)
+                .mapToObj(i -> {
+                    ChecklistItem item = new ChecklistItem();
+                    item.setName("Batch Item " + i);
+                    item.setEvent(testEvent);
+                    item.setCreatedBy(organizer);
+                    return item;
+                })
+                .toList();
+        checklistItemRepository.flush();
+        long before = jdbcRoundTrips("insert");
+
+        checklistItemRepository.saveAll(items);
+        checklistItemRepository.flush();
+
+        // 120 строк при batch_size 50 - три пакета, а не 120 отдельных INSERT
+        long roundTrips = jdbcRoundTrips("insert") - before;
+        assertTrue(roundTrips <= 3, "Expected batched inserts, got " + roundTrips + " round-trips");
+        assertTrue(items.stream().allMatch(item -> item.getId() != null));
+    }
+
     // Вспомогательные методы
     private User createUser(String username, String email) {
         User user = new User();
@@ -271,4 +295,4 @@ class ChecklistServiceIT extends ServiceIntegrationTest {
         event.setCreator(creator);
         return eventService.create(event, creator.getId());
     }
-}
\ No newline at end of file
+}
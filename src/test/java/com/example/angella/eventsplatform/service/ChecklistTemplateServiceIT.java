@@ -0,0 +1,111 @@
+package com.example.angella.eventsplatform.service;
+
+import com.example.angella.eventsplatform.ServiceIntegrationTest;
+import com.example.angella.eventsplatform.entity.*;
+import com.example.angella.eventsplatform.exception.AccessDeniedException;
+import com.example.angella.eventsplatform.exception.EntityNotFoundException;
+import com.example.angella.eventsplatform.repository.ChecklistTemplateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChecklistTemplateServiceIT extends ServiceIntegrationTest {
+
+    private static final int TEMPLATE_ITEMS = 40;
+
+    @Autowired private ChecklistTemplateService templateService;
+    @Autowired private ChecklistService checklistService;
+    @Autowired private ChecklistTemplateRepository templateRepository;
+    @Autowired private EventService eventService;
+    @Autowired private UserService userService;
+
+    private User organizer;
+    private User participant;
+    private User outsider;
+    private Event event;
+    private ChecklistTemplate template;
+
+    @BeforeEach
+    void setUp() {
+        organizer = createUser("templateorganizer");
+        participant = createUser("templateparticipant");
+        outsider = createUser("templateoutsider");
+        event = createEvent(organizer.getId());
+        eventService.addParticipant(event.getId(), participant.getId());
+        template = createTemplate(TEMPLATE_ITEMS);
+    }
+
+    @Test
+    void applyTemplate_ShouldCreateAllItems() {
+        List<ChecklistItem> items = templateService.applyTemplateToEvent(
+                template.getId(), event.getId(), participant.getId());
+
+        assertEquals(TEMPLATE_ITEMS, items.size());
+        assertTrue(items.stream().allMatch(item -> item.getId() != null && item.getCreatedAt() != null));
+        assertTrue(items.stream().allMatch(item -> Boolean.TRUE.equals(item.getFromTemplate())));
+        assertEquals("templateparticipant", items.get(0).getCreatedBy().getUsername());
+
+        // Элемент по умолчанию при создании мероприятия + элементы шаблона
+        assertEquals(TEMPLATE_ITEMS + 1, checklistService.getChecklistForEvent(event.getId()).size());
+    }
+
+    @Test
+    void applyTemplate_ShouldUseConstantNumberOfStatements() {
+        long insertsBefore = jdbcRoundTrips("insert");
+
+        List<String> statements = captureQueries(() ->
+                templateService.applyTemplateToEvent(template.getId(), event.getId(), participant.getId()));
+
+        // Проверка участия, элементы шаблона, блок id из последовательности и имя автора
+        long selects = statements.stream()
+                .filter(sql -> sql.trim().toLowerCase(Locale.ROOT).startsWith("select"))
+                .count();
+        assertTrue(selects <= 4, "Too many queries: " + statements);
+        assertEquals(1, jdbcRoundTrips("insert") - insertsBefore, "Items must be inserted in one batch");
+    }
+
+    @Test
+    void applyTemplate_ByNonParticipant_ShouldThrowAccessDenied() {
+        assertThrows(AccessDeniedException.class, () ->
+                templateService.applyTemplateToEvent(template.getId(), event.getId(), outsider.getId()));
+    }
+
+    @Test
+    void applyTemplate_WithUnknownTemplateOrEvent_ShouldThrowNotFound() {
+        assertThrows(EntityNotFoundException.class, () ->
+                templateService.applyTemplateToEvent(-1L, event.getId(), participant.getId()));
+        assertThrows(EntityNotFoundException.class, () ->
+                templateService.applyTemplateToEvent(template.getId(), -1L, participant.getId()));
+    }
+
+    private ChecklistTemplate createTemplate(int itemCount) {
+        ChecklistTemplate newTemplate = new ChecklistTemplate();
+        newTemplate.setName("Camping");
+        newTemplate.setCategory(TemplateCategory.values()[0]);
+
+        List<TemplateItem> templateItems = new ArrayList<>();
+        for (int i = 0; i < itemCount; i++) {
+            TemplateItem item = new TemplateItem();
+            item.setName("Template Item " + i);
+            item.setDefaultQuantity(i % 3 + 1);
+            item.setTemplate(newTemplate);
+            templateItems.add(item);
+        }
+        newTemplate.getItems().addAll(templateItems);
+        return templateRepository.save(newTemplate);
+    }
+
+    private User createUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@test.com");
+        user.setPassword("password");
+        return userService.registerUser(user);
+    }
+}
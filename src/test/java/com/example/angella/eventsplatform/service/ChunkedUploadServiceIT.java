@@ -0,0 +1,134 @@
+package com.example.angella.eventsplatform.service;
+
+import com.example.angella.eventsplatform.ServiceIntegrationTest;
+import com.example.angella.eventsplatform.entity.Event;
+import com.example.angella.eventsplatform.entity.Image;
+import com.example.angella.eventsplatform.entity.User;
+import com.example.angella.eventsplatform.exception.AccessDeniedException;
+import com.example.angella.eventsplatform.exception.UploadException;
+import com.example.angella.eventsplatform.service.upload.ChunkedUploadService;
+import com.example.angella.eventsplatform.service.upload.ChunkedUploadService.UploadSession;
+import com.example.angella.eventsplatform.service.upload.UploadTarget;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayInputStream;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkedUploadServiceIT extends ServiceIntegrationTest {
+
+    @Autowired private ChunkedUploadService chunkedUploadService;
+    @Autowired private ImageService imageService;
+    @Autowired private UserService userService;
+
+    private User user1;
+    private User user2;
+    private Event testEvent;
+    private byte[] content;
+
+    @BeforeEach
+    void setUp() {
+        user1 = createUser("user1", "user1@test.com");
+        user2 = createUser("user2", "user2@test.com");
+        testEvent = createEvent(user1.getId());
+
+        content = imageContent("image/jpeg", 1920, 1080, 300 * 1024);
+    }
+
+    @Test
+    void upload_InChunks_ShouldAttachImageToEvent() throws Exception {
+        UploadSession session = createEventSession(user1);
+        int half = content.length / 2;
+
+        chunkedUploadService.appendChunk(session.getId(), 0, chunk(0, half), user1.getId());
+        // Повторная отправка части уже принятых байт после обрыва соединения
+        chunkedUploadService.appendChunk(session.getId(), half - 1024, chunk(half - 1024, half), user1.getId());
+        UploadSession uploaded = chunkedUploadService.appendChunk(
+                session.getId(), half, chunk(half, content.length), user1.getId());
+
+        assertEquals(content.length, uploaded.getReceivedBytes());
+
+        UploadSession completed = chunkedUploadService.complete(session.getId(), sha256(content), user1.getId());
+
+        assertTrue(completed.isCompleted());
+        assertTrue(completed.getUrl().startsWith("/images/"));
+
+        List<Image> images = imageService.getEventImages(testEvent.getId());
+        assertEquals(1, images.size());
+        assertEquals(content.length, images.get(0).getSize());
+    }
+
+    @Test
+    void appendChunk_WithGap_ShouldBeRejected() {
+        UploadSession session = createEventSession(user1);
+
+        assertThrows(UploadException.class, () ->
+                chunkedUploadService.appendChunk(session.getId(), 1024, chunk(1024, 2048), user1.getId())
+        );
+    }
+
+    @Test
+    void complete_WithWrongChecksum_ShouldBeRejected() {
+        UploadSession session = createEventSession(user1);
+        chunkedUploadService.appendChunk(session.getId(), 0, chunk(0, content.length), user1.getId());
+
+        assertThrows(UploadException.class, () ->
+                chunkedUploadService.complete(session.getId(), "00", user1.getId())
+        );
+        assertTrue(imageService.getEventImages(testEvent.getId()).isEmpty());
+    }
+
+    @Test
+    void complete_BeforeAllChunksReceived_ShouldBeRejected() throws Exception {
+        UploadSession session = createEventSession(user1);
+        chunkedUploadService.appendChunk(session.getId(), 0, chunk(0, 1024), user1.getId());
+
+        assertThrows(UploadException.class, () ->
+                chunkedUploadService.complete(session.getId(), sha256(content), user1.getId())
+        );
+    }
+
+    @Test
+    void session_OfAnotherUser_ShouldNotBeAccessible() {
+        UploadSession session = createEventSession(user1);
+
+        assertThrows(AccessDeniedException.class, () ->
+                chunkedUploadService.appendChunk(session.getId(), 0, chunk(0, 1024), user2.getId())
+        );
+    }
+
+    @Test
+    void createSession_ForEventWithoutParticipation_ShouldThrowAccessDenied() {
+        assertThrows(AccessDeniedException.class, () ->
+                chunkedUploadService.createSession(UploadTarget.EVENT, testEvent.getId(), "photo.jpg",
+                        "image/jpeg", content.length, null, user2.getId())
+        );
+    }
+
+    private UploadSession createEventSession(User user) {
+        return chunkedUploadService.createSession(UploadTarget.EVENT, testEvent.getId(), "photo.jpg",
+                "image/jpeg", content.length, null, user.getId());
+    }
+
+    private ByteArrayInputStream chunk(int from, int to) {
+        return new ByteArrayInputStream(Arrays.copyOfRange(content, from, to));
+    }
+
+    private String sha256(byte[] data) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+    }
+
+    private User createUser(String username, String email) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(email);
+        user.setPassword("password");
+        return userService.registerUser(user);
+    }
+}
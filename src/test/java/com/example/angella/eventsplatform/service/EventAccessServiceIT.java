@@ -0,0 +1,85 @@
+package com.example.angella.eventsplatform.service;
+
+import com.example.angella.eventsplatform.ServiceIntegrationTest;
+import com.example.angella.eventsplatform.entity.*;
+import com.example.angella.eventsplatform.exception.AccessDeniedException;
+import com.example.angella.eventsplatform.model.EventMembership;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventAccessServiceIT extends ServiceIntegrationTest {
+
+    @Autowired private EventAccessService eventAccessService;
+    @Autowired private EventService eventService;
+    @Autowired private UserService userService;
+    @Autowired private ChatService chatService;
+
+    private User creator;
+    private User guest;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        creator = createUser("access-creator");
+        guest = createUser("access-guest");
+        event = createEvent(creator.getId(), "Access");
+    }
+
+    @Test
+    void getMembership_ShouldReadBothFlagsInSingleQuery() {
+        // Добавление участника сбрасывает закэшированные проверки мероприятия
+        eventService.addParticipant(event.getId(), guest.getId());
+        EventMembership[] memberships = new EventMembership[1];
+
+        assertEquals(1, captureQueries(() ->
+                memberships[0] = eventAccessService.getMembership(event.getId(), guest.getId())).size());
+        assertFalse(memberships[0].isCreator());
+        assertTrue(memberships[0].isParticipant());
+
+        EventMembership creatorMembership = eventAccessService.getMembership(event.getId(), creator.getId());
+        assertTrue(creatorMembership.isCreator());
+        assertTrue(creatorMembership.isParticipant());
+    }
+
+    @Test
+    void repeatedChecks_ShouldBeServedFromCache() {
+        eventAccessService.getMembership(event.getId(), creator.getId());
+
+        assertTrue(captureQueries(() -> {
+            assertTrue(eventAccessService.isEventCreator(event.getId(), creator.getId()));
+            assertTrue(eventAccessService.hasParticipant(event.getId(), creator.getId()));
+            assertTrue(eventAccessService.canRemoveParticipant(event.getId(), creator.getId(), guest.getId()));
+        }).isEmpty());
+    }
+
+    @Test
+    void membershipChanges_ShouldInvalidateCachedDecision() {
+        assertFalse(eventAccessService.hasParticipant(event.getId(), guest.getId()));
+        assertThrows(AccessDeniedException.class,
+                () -> chatService.createMessage("Hello", event.getId(), guest.getId()));
+
+        eventService.addParticipant(event.getId(), guest.getId());
+        assertTrue(eventAccessService.hasParticipant(event.getId(), guest.getId()));
+        assertNotNull(chatService.createMessage("Hello", event.getId(), guest.getId()));
+
+        eventService.removeParticipant(event.getId(), guest.getId());
+        assertFalse(eventAccessService.hasParticipant(event.getId(), guest.getId()));
+    }
+
+    @Test
+    void getMembership_ShouldDenyUnknownEventOrUser() {
+        assertEquals(EventMembership.NONE, eventAccessService.getMembership(Long.MAX_VALUE, creator.getId()));
+        assertEquals(EventMembership.NONE, eventAccessService.getMembership(event.getId(), null));
+    }
+
+    private User createUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@test.com");
+        user.setPassword("password");
+        return userService.registerUser(user);
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.angella.eventsplatform.service;
+
+import com.example.angella.eventsplatform.ServiceIntegrationTest;
+import com.example.angella.eventsplatform.entity.*;
+import com.example.angella.eventsplatform.repository.ChatMessageRepository;
+import com.example.angella.eventsplatform.service.export.EventExportService;
+import com.example.angella.eventsplatform.service.export.ExportFormat;
+import com.example.angella.eventsplatform.service.export.ExportSection;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.ChainListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventExportServiceIT extends ServiceIntegrationTest {
+
+    private static final int MESSAGES = 1200;
+
+    @Autowired private EventExportService eventExportService;
+    @Autowired private EventService eventService;
+    @Autowired private UserService userService;
+    @Autowired private TaskService taskService;
+    @Autowired private ChatMessageRepository chatMessageRepository;
+    @Autowired private DataSource dataSource;
+
+    private User creator;
+    private User participant;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        creator = createUser("organizer", "organizer@test.com");
+        participant = createUser("guest", "guest@test.com");
+        event = createEvent(creator.getId());
+        eventService.addParticipant(event.getId(), participant.getId());
+    }
+
+    @Test
+    void exportParticipants_ShouldWriteCsvWithHeaderAndRows() throws Exception {
+        String csv = exportAsString(ExportSection.PARTICIPANTS, ExportFormat.CSV);
+
+        String[] lines = csv.split("\r\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("\uFEFFID,Логин"));
+        assertTrue(lines[1].contains("guest,") && lines[1].endsWith(",Нет"));
+        assertTrue(lines[2].contains("organizer,") && lines[2].endsWith(",Да"));
+    }
+
+    @Test
+    void exportTasks_ShouldEscapeCsvValues() throws Exception {
+        taskService.createTask("Купить воду, хлеб и \"сок\"", event.getId(), creator.getId(), participant.getId());
+        taskService.createTask("=HYPERLINK(\"http://example.com\")", event.getId(), creator.getId(), null);
+
+        String csv = exportAsString(ExportSection.TASKS, ExportFormat.CSV);
+
+        assertTrue(csv.contains("\"Купить воду, хлеб и \"\"сок\"\"\""));
+        assertTrue(csv.contains(",guest,"));
+        assertTrue(csv.contains("\"'=HYPERLINK(\"\"http://example.com\"\")\""));
+    }
+
+    @Test
+    void exportChat_ShouldStreamAllMessagesToXlsx() throws Exception {
+        saveMessages(MESSAGES);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        long rows = eventExportService.export(event.getId(), ExportSection.CHAT, ExportFormat.XLSX, output);
+
+        // Приветственное сообщение создается вместе с мероприятием
+        assertEquals(MESSAGES + 1, rows);
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(output.toByteArray()))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertEquals("Чат", sheet.getSheetName());
+            assertEquals(MESSAGES + 1, sheet.getLastRowNum());
+            assertEquals("Автор", sheet.getRow(0).getCell(2).getStringCellValue());
+            assertEquals("Message " + (MESSAGES - 1),
+                    sheet.getRow(MESSAGES + 1).getCell(3).getStringCellValue());
+        }
+    }
+
+    @Test
+    void exportChat_ShouldStreamAllMessagesToPdf() throws Exception {
+        saveMessages(MESSAGES);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        eventExportService.export(event.getId(), ExportSection.CHAT, ExportFormat.PDF, output);
+
+        try (PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(output.toByteArray())))) {
+            assertTrue(document.getNumberOfPages() > 1);
+            assertTrue(PdfTextExtractor.getTextFromPage(document.getPage(1)).contains("Message 0"));
+            String lastPage = PdfTextExtractor.getTextFromPage(document.getPage(document.getNumberOfPages()));
+            assertTrue(lastPage.contains("Message " + (MESSAGES - 1)));
+        }
+    }
+
+    // Поток строк читается курсором: запрос выполняется в транзакции (auto-commit выключен)
+    // с заданным fetch size, иначе драйвер PostgreSQL загружает весь результат в память
+    @Test
+    void exportChat_ShouldReadRowsThroughServerSideCursor() throws Exception {
+        saveMessages(MESSAGES);
+
+        List<String> cursorSettings = new CopyOnWriteArrayList<>();
+        QueryExecutionListener listener = new QueryExecutionListener() {
+            @Override
+            public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                String sql = queryInfoList.get(0).getQuery().toLowerCase(Locale.ROOT);
+                if (sql.startsWith("select") && sql.contains("chat_message")) {
+                    try {
+                        Statement statement = execInfo.getStatement();
+                        cursorSettings.add("autoCommit=" + statement.getConnection().getAutoCommit()
+                                + ", fetchSize=" + statement.getFetchSize());
+                    } catch (SQLException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            }
+
+            @Override
+            public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            }
+        };
+
+        ChainListener chain = assertInstanceOf(ProxyDataSource.class, dataSource).getProxyConfig().getQueryListener();
+        chain.addListener(listener);
+        try {
+            long rows = eventExportService.export(event.getId(), ExportSection.CHAT, ExportFormat.CSV,
+                    OutputStream.nullOutputStream());
+            assertEquals(MESSAGES + 1, rows);
+        } finally {
+            chain.getListeners().remove(listener);
+        }
+
+        assertEquals(List.of("autoCommit=false, fetchSize=500"), cursorSettings);
+    }
+
+    @Test
+    void exportChecklist_ShouldReturnOnlyEventRows() throws Exception {
+        createEvent(creator.getId());
+
+        String csv = exportAsString(ExportSection.CHECKLIST, ExportFormat.CSV);
+
+        // У каждого мероприятия один пункт чек-листа по умолчанию
+        assertEquals(2, csv.split("\r\n").length);
+    }
+
+    private String exportAsString(ExportSection section, ExportFormat format) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        eventExportService.export(event.getId(), section, format, output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    private void saveMessages(int count) {
+        List<ChatMessage> messages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ChatMessage message = new ChatMessage();
+            message.setContent("Message " + i);
+            message.setEvent(event);
+            message.setAuthor(i % 2 == 0 ? creator : participant);
+            messages.add(message);
+        }
+        chatMessageRepository.saveAll(messages);
+    }
+
+    private User createUser(String username, String email) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(email);
+        user.setPassword("password");
+        return userService.registerUser(user);
+    }
+}
@@ -3,12 +3,22 @@ package com.example.angella.eventsplatform.service;
 import com.example.angella.eventsplatform.ServiceIntegrationTest;
 import com.example.angella.eventsplatform.entity.*;
 import com.example.angella.eventsplatform.exception.AccessDeniedException;
+import com.example.angella.eventsplatform.model.AdminEventRow;
+import com.example.angella.eventsplatform.model.EventCardView;
+import com.example.angella.eventsplatform.model.EventFilterModel;
+import com.example.angella.eventsplatform.model.PageModel;
+import com.example.angella.eventsplatform.web.dto.EventDto;
 import com.example.angella.eventsplatform.web.dto.UpdateEventRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.mock.web.MockMultipartFile;
 
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -21,6 +31,8 @@ class EventServiceIT extends ServiceIntegrationTest {
     private UserService userService;
     @Autowired
     private CategoryService categoryService;
+    @Autowired
+    private ImageService imageService;
 
     private User testUser;
     private Category testCategory;
@@ -123,6 +135,142 @@ class EventServiceIT extends ServiceIntegrationTest {
         assertEquals("Detailed event description with schedule information", savedEvent.getDescription());
     }
 
+    @Test
+    void findAllFutureEvents_ShouldNotQueryPerEvent() {
+        createTestEvents(2);
+        int twoEvents = warmQueryCount(eventService::findAllFutureEvents);
+
+        createTestEvents(4);
+        int sixEvents = warmQueryCount(eventService::findAllFutureEvents);
+
+        assertEquals(twoEvents, sixEvents, "Number of queries must not depend on the number of events");
+    }
+
+    @Test
+    void filter_ShouldNotQueryPerEvent() {
+        EventFilterModel filter = new EventFilterModel();
+        filter.setPage(new PageModel(0, 10));
+
+        createTestEvents(2);
+        int twoEvents = warmQueryCount(() -> eventService.filterViews(filter));
+
+        createTestEvents(4);
+        int sixEvents = warmQueryCount(() -> eventService.filterViews(filter));
+
+        assertEquals(twoEvents, sixEvents, "Number of queries must not depend on the number of events");
+    }
+
+    @Test
+    void getEventForDetailView_ShouldStayWithinQueryBudget() {
+        Long eventId = createTestEvent().getId();
+        eventService.addParticipant(eventId, createTestUser("detailguest").getId());
+        // Прогрев кэша манифестов изображений
+        eventService.getEventForDetailView(eventId);
+
+        assertQueryBudget(4, () -> eventService.getEventForDetailView(eventId));
+    }
+
+    @Test
+    void findAdminEventPage_ShouldPageSortAndSearch() {
+        createTestEvents(3);
+        Event named = buildTestEvent();
+        named.setName("Admin Grid Concert");
+        eventService.create(named, testUser.getId());
+
+        Page<AdminEventRow> firstPage = eventService.findAdminEventPage(0, 2, "name", true, null);
+        assertEquals(4, firstPage.getTotalElements());
+        assertEquals(2, firstPage.getTotalPages());
+        assertEquals("Admin Grid Concert", firstPage.getContent().get(0).getName());
+        assertEquals(testUser.getUsername(), firstPage.getContent().get(0).getCreatorUsername());
+        assertEquals(1, firstPage.getContent().get(0).getParticipantCount());
+        assertTrue(firstPage.getContent().get(0).isUpcoming());
+
+        Page<AdminEventRow> found = eventService.findAdminEventPage(0, 10, "unknown", false, "  GRID ");
+        assertEquals(1, found.getTotalElements());
+        assertEquals(named.getId(), found.getContent().get(0).getId());
+    }
+
+    @Test
+    void findAdminEventPage_ShouldNotQueryPerEvent() {
+        createTestEvents(2);
+        int twoEvents = captureQueries(() -> eventService.findAdminEventPage(0, 20, "startTime", false, null)).size();
+
+        createTestEvents(4);
+        int sixEvents = captureQueries(() -> eventService.findAdminEventPage(0, 20, "startTime", false, null)).size();
+
+        assertEquals(twoEvents, sixEvents, "Number of queries must not depend on the number of events");
+        assertTrue(sixEvents <= 2, "Page and count queries only");
+    }
+
+    // Отбор будущих мероприятий, сортировка и ограничение подборок главной выполняются в запросе
+    @Test
+    void homePageSelections_ShouldReturnNearestAndLatestFutureEvents() {
+        createEvent(testUser.getId(), "Past", Instant.now().minus(1, ChronoUnit.DAYS));
+        for (int i = 1; i <= 8; i++) {
+            createEvent(testUser.getId(), "Future " + i, Instant.now().plus(i, ChronoUnit.DAYS));
+        }
+
+        List<EventCardView> upcoming = eventService.findUpcomingEvents();
+        assertEquals(6, upcoming.size());
+        assertEquals("Future 1", upcoming.get(0).getName());
+        assertEquals(upcoming.stream().sorted(Comparator.comparing(EventCardView::getStartTime)).toList(), upcoming);
+
+        List<EventCardView> featured = eventService.findFeaturedEvents();
+        assertEquals(6, featured.size());
+        assertEquals("Future 8", featured.get(0).getName());
+        assertTrue(featured.stream().noneMatch(card -> card.getName().equals("Past")));
+    }
+
+    @Test
+    void cards_ShouldCarryParticipantCountAndCover() {
+        Event withCover = createTestEvent();
+        Event withoutCover = createTestEvent();
+        eventService.addParticipant(withCover.getId(), createTestUser("cardguest").getId());
+        imageService.uploadEventImage(new MockMultipartFile("file", "cover.jpg", "image/jpeg",
+                imageContent("image/jpeg", 640, 480, 1024)), withCover.getId(), testUser.getId());
+        String cover = imageService.getEventImageManifest(withCover.getId()).getMainImage().getFilename();
+
+        List<EventCardView> cards = eventService.findAllFutureEvents();
+        EventCardView first = findCard(cards, withCover.getId());
+        EventCardView second = findCard(cards, withoutCover.getId());
+
+        assertEquals(2, first.getParticipantCount());
+        assertEquals(cover, first.getCoverFilename());
+        assertEquals(1, second.getParticipantCount());
+        assertNull(second.getCoverFilename());
+        assertEquals(List.of("TestCategory"), first.getCategories());
+    }
+
+    @Test
+    void filter_ShouldPageEventIdsInDatabase() {
+        createTestEvents(5);
+        EventFilterModel filter = new EventFilterModel();
+        filter.setCategoryIds(Set.of(testCategory.getId()));
+        filter.setPage(new PageModel(1, 2));
+
+        Page<EventDto> page = eventService.filterViews(filter);
+
+        assertEquals(5, page.getTotalElements());
+        assertEquals(2, page.getContent().size());
+        assertEquals("TestCategory", page.getContent().get(0).getCategories().iterator().next().getName());
+    }
+
+    private static EventCardView findCard(List<EventCardView> cards, Long eventId) {
+        return cards.stream().filter(card -> card.getId().equals(eventId)).findFirst().orElseThrow();
+    }
+
+    // Число запросов при повторном вызове, когда кэш манифестов изображений уже заполнен
+    private int warmQueryCount(Runnable action) {
+        action.run();
+        return captureQueries(action).size();
+    }
+
+    private void createTestEvents(int count) {
+        for (int i = 0; i < count; i++) {
+            createTestEvent();
+        }
+    }
+
     // Вспомогательный метод для создания тестового события (уже сохраненного в БД)
     private Event createTestEvent() {
         Event event = buildTestEvent();
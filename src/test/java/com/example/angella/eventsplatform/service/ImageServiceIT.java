@@ -4,6 +4,9 @@ import com.example.angella.eventsplatform.ServiceIntegrationTest;
 import com.example.angella.eventsplatform.entity.*;
 import com.example.angella.eventsplatform.exception.AccessDeniedException;
 import com.example.angella.eventsplatform.exception.EntityNotFoundException;
+import com.example.angella.eventsplatform.exception.UploadException;
+import com.example.angella.eventsplatform.model.EventDetailsView;
+import com.example.angella.eventsplatform.model.EventImageManifest;
 import com.example.angella.eventsplatform.repository.LocationRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -278,6 +281,87 @@ class ImageServiceIT extends ServiceIntegrationTest {
         assertEquals(uploadCount, uniqueFilenames);
     }
 
+    @Test
+    void eventImageManifest_ShouldBeInvalidatedOnUploadAndDelete() {
+        // Пустой манифест кэшируется
+        assertTrue(imageService.getEventImageManifest(testEvent.getId()).isEmpty());
+
+        imageService.uploadEventImage(testImageJpg, testEvent.getId(), user1.getId());
+        imageService.uploadEventImage(testImagePng, testEvent.getId(), user1.getId());
+
+        EventImageManifest manifest = imageService.getEventImageManifest(testEvent.getId());
+        assertEquals(2, manifest.getImages().size());
+        assertEquals("test.jpg", manifest.getMainImage().getOriginalFilename());
+        assertSame(manifest, imageService.getEventImageManifest(testEvent.getId()));
+
+        imageService.deleteImage(manifest.getMainImage().getId(), user1.getId());
+
+        EventImageManifest updated = imageService.getEventImageManifest(testEvent.getId());
+        assertEquals(1, updated.getImages().size());
+        assertEquals("test.png", updated.getMainImage().getOriginalFilename());
+    }
+
+    @Test
+    void eventDetailView_ShouldUseManifestOrder() {
+        imageService.uploadEventImage(testImageJpg, testEvent.getId(), user1.getId());
+        imageService.uploadEventImage(testImageGif, testEvent.getId(), user1.getId());
+
+        EventDetailsView event = eventService.getEventForDetailView(testEvent.getId());
+
+        assertEquals(2, event.getImages().size());
+        assertEquals("test.jpg", event.getImages().iterator().next().getOriginalFilename());
+        assertEquals("test.jpg", eventService.getMainEventImage(testEvent.getId()).getOriginalFilename());
+    }
+
+    @Test
+    void attachImages_ShouldAttachOnlyOwnTemporaryImages() throws IOException {
+        Image own = imageService.saveTemporaryImage(testImageJpg, testEvent.getId(), user1.getId());
+        Image foreign = imageService.saveTemporaryImage(testImagePng, testEvent.getId(), user2.getId());
+
+        int attached = chatService.attachImages(
+                testMessage.getId(), List.of(own.getId(), foreign.getId()), user1.getId());
+
+        assertEquals(1, attached);
+        List<Image> messageImages = imageService.getChatMessageImages(testMessage.getId());
+        assertEquals(1, messageImages.size());
+        assertEquals(own.getId(), messageImages.get(0).getId());
+    }
+
+    @Test
+    void uploadImage_WithSpoofedContentType_ShouldUseDetectedFormat() {
+        // Заявлен PNG, фактически GIF
+        MultipartFile spoofed = new MockMultipartFile("file", "photo.png", "image/png",
+                imageContent("image/gif", 100, 100, 1024));
+
+        imageService.uploadEventImage(spoofed, testEvent.getId(), user1.getId());
+
+        Image saved = imageService.getEventImages(testEvent.getId()).get(0);
+        assertEquals("image/gif", saved.getContentType());
+        assertTrue(saved.getFilename().endsWith(".gif"));
+    }
+
+    @Test
+    void uploadImage_WithImageContentTypeButTextContent_ShouldThrowException() {
+        MultipartFile fake = new MockMultipartFile("file", "photo.jpg", "image/jpeg",
+                "<html><script>alert(1)</script></html>".getBytes());
+
+        assertThrows(UploadException.class, () ->
+                imageService.uploadAvatar(fake, user1.getId())
+        );
+    }
+
+    @Test
+    void uploadImage_WithPixelBomb_ShouldThrowException() {
+        // Небольшой файл, заявляющий разрешение 50000x50000 (2.5 гигапикселя)
+        MultipartFile bomb = new MockMultipartFile("file", "bomb.png", "image/png",
+                imageContent("image/png", 50_000, 50_000, 1024));
+
+        assertThrows(UploadException.class, () ->
+                imageService.uploadAvatar(bomb, user1.getId())
+        );
+        assertTrue(imageService.getUserImages(user1.getId()).isEmpty());
+    }
+
     // Вспомогательные методы
     private User createUser(String username, String email) {
         User user = new User();
@@ -305,12 +389,8 @@ class ImageServiceIT extends ServiceIntegrationTest {
     }
 
     private MockMultipartFile createMockImageFile(String filename, String contentType, int size) {
-        byte[] content = new byte[size];
-        // Заполняем массив тестовыми данными
-        for (int i = 0; i < size; i++) {
-            content[i] = (byte) (i % 256);
-        }
-        return new MockMultipartFile("file", filename, contentType, content);
+        // Заголовок соответствует формату, остальное - тестовые данные
+        return new MockMultipartFile("file", filename, contentType, imageContent(contentType, 640, 480, size));
     }
 
     private MockMultipartFile createMockTextFile(String filename, String contentType, int size) {
@@ -0,0 +1,123 @@
+package com.example.angella.eventsplatform.service;
+
+import com.example.angella.eventsplatform.ServiceIntegrationTest;
+import com.example.angella.eventsplatform.configuration.WebSocketAuthInterceptor;
+import com.example.angella.eventsplatform.entity.Event;
+import com.example.angella.eventsplatform.entity.Role;
+import com.example.angella.eventsplatform.entity.User;
+import com.example.angella.eventsplatform.model.LiveMetricsSnapshot;
+import com.example.angella.eventsplatform.security.AppUserDetails;
+import com.example.angella.eventsplatform.service.metrics.LiveMetricsAggregator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LiveMetricsAggregatorIT extends ServiceIntegrationTest {
+
+    @Autowired private LiveMetricsAggregator liveMetricsAggregator;
+    @Autowired private EventService eventService;
+    @Autowired private UserService userService;
+    @Autowired private ChatService chatService;
+    @Autowired private MeterRegistry meterRegistry;
+    @Autowired private WebSocketAuthInterceptor webSocketAuthInterceptor;
+
+    @Test
+    void publish_ShouldCountActivityRecordedByServices() {
+        User creator = createUser("metrics-creator", "metrics-creator@test.com");
+        User guest = createUser("metrics-guest", "metrics-guest@test.com");
+        Event event = createEvent(creator.getId());
+
+        LiveMetricsSnapshot before = publishAndGet();
+
+        eventService.addParticipant(event.getId(), guest.getId());
+        chatService.createMessage("Hello", event.getId(), guest.getId());
+        chatService.createMessage("Hi", event.getId(), creator.getId());
+
+        LiveMetricsSnapshot after = publishAndGet();
+
+        // Итоги накапливаются независимо от того, какой тик их сбросил
+        assertEquals(2, after.getMessagesTotal() - before.getMessagesTotal());
+        assertEquals(1, after.getJoinsTotal() - before.getJoinsTotal());
+        assertEquals(0, after.getUploadsTotal() - before.getUploadsTotal());
+        assertTrue(after.getDbMaxConnections() > 0);
+        assertTrue(after.getDbActiveConnections() >= 1);
+    }
+
+    @Test
+    void serviceCalls_ShouldBeTimedInMeterRegistry() {
+        User creator = createUser("timed-creator", "timed-creator@test.com");
+        long createsBefore = timerCount("events.service", "create");
+
+        Event event = createEvent(creator.getId());
+        eventService.getEventView(event.getId());
+
+        assertEquals(1, timerCount("events.service", "create") - createsBefore);
+        assertTrue(timerCount("events.service", "getEventView") >= 1);
+
+        Timer chatTimer = meterRegistry.find("chat.messages.create").timer();
+        assertNotNull(chatTimer);
+        assertTrue(chatTimer.count() >= 1);
+    }
+
+    @Test
+    void adminTopics_ShouldBeAvailableOnlyToAdmins() {
+        assertNotNull(webSocketAuthInterceptor.preSend(
+                stomp(StompCommand.SUBSCRIBE, "/topic/admin/metrics", Role.ROLE_ADMIN), null));
+        assertNull(webSocketAuthInterceptor.preSend(
+                stomp(StompCommand.SUBSCRIBE, "/topic/admin/metrics", Role.ROLE_USER), null));
+        assertNull(webSocketAuthInterceptor.preSend(
+                stomp(StompCommand.SEND, "/topic/admin/metrics", Role.ROLE_ADMIN), null));
+    }
+
+    // Шаблоны Ant в адресе совпали бы с топиками администратора в обход проверки префикса
+    @Test
+    void destinationPatterns_ShouldBeRejected() {
+        for (String destination : List.of("/topic/**", "/topic/*/metrics", "/topic/adm?n/metrics",
+                "/topic/{section}/metrics")) {
+            assertNull(webSocketAuthInterceptor.preSend(
+                    stomp(StompCommand.SUBSCRIBE, destination, Role.ROLE_ADMIN), null), destination);
+            assertNull(webSocketAuthInterceptor.preSend(
+                    stomp(StompCommand.SEND, destination, Role.ROLE_USER), null), destination);
+        }
+    }
+
+    private Message<byte[]> stomp(StompCommand command, String destination, Role role) {
+        AppUserDetails details = new AppUserDetails(1L, "stomp-" + role.name(), null, List.of(role));
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        accessor.setDestination(destination);
+        accessor.setUser(new UsernamePasswordAuthenticationToken(details, null, details.getAuthorities()));
+        accessor.setSessionId("test-session");
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private long timerCount(String name, String method) {
+        Timer timer = meterRegistry.find(name).tag("method", method).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private LiveMetricsSnapshot publishAndGet() {
+        liveMetricsAggregator.publish();
+        LiveMetricsSnapshot snapshot = liveMetricsAggregator.getLatestSnapshot();
+        assertNotNull(snapshot);
+        return snapshot;
+    }
+
+    private User createUser(String username, String email) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(email);
+        user.setPassword("password");
+        return userService.registerUser(user);
+    }
+}
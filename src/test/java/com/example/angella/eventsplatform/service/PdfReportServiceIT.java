@@ -0,0 +1,98 @@
+package com.example.angella.eventsplatform.service;
+
+import com.example.angella.eventsplatform.ServiceIntegrationTest;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Параллельная генерация отчетов на одном общем FontProgram. Сравнение пропускной способности
+// последовательной и параллельной генерации помечено benchmark и запускается через ./gradlew benchmark
+class PdfReportServiceIT extends ServiceIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PdfReportServiceIT.class);
+
+    private static final int WARMUP_REPORTS = 5;
+    private static final int REPORTS = 40;
+    private static final int THREADS = 8;
+
+    @Autowired private PdfReportService pdfReportService;
+    @Autowired private StatisticsService statisticsService;
+
+    @Test
+    void parallelRendering_ShouldProduceIndependentValidDocuments() throws Exception {
+        Map<String, Object> stats = statisticsService.getDetailedStatistics();
+
+        List<byte[]> reports = renderInParallel(stats, REPORTS);
+
+        assertEquals(REPORTS, reports.size());
+        for (byte[] report : reports) {
+            assertValidPdf(report);
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    void benchmark_SequentialVersusParallelRendering() throws Exception {
+        Map<String, Object> stats = statisticsService.getDetailedStatistics();
+        for (int i = 0; i < WARMUP_REPORTS; i++) {
+            pdfReportService.generateStatisticsReport(stats);
+        }
+
+        long sequentialStart = System.nanoTime();
+        for (int i = 0; i < REPORTS; i++) {
+            assertValidPdf(pdfReportService.generateStatisticsReport(stats));
+        }
+        long sequentialNanos = System.nanoTime() - sequentialStart;
+
+        long parallelStart = System.nanoTime();
+        List<byte[]> reports = renderInParallel(stats, REPORTS);
+        long parallelNanos = System.nanoTime() - parallelStart;
+
+        assertEquals(REPORTS, reports.size());
+        log.info(String.format("PDF reports: sequential %.1f reports/s, parallel (%d threads) %.1f reports/s",
+                REPORTS / (sequentialNanos / 1e9), THREADS, REPORTS / (parallelNanos / 1e9)));
+    }
+
+    private List<byte[]> renderInParallel(Map<String, Object> stats, int count) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<byte[]>> futures = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                futures.add(executor.submit(() -> pdfReportService.generateStatisticsReport(stats)));
+            }
+
+            List<byte[]> reports = new ArrayList<>();
+            for (Future<byte[]> future : futures) {
+                reports.add(future.get());
+            }
+            return reports;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void assertValidPdf(byte[] report) throws IOException {
+        try (PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(report)))) {
+            assertTrue(document.getNumberOfPages() > 0);
+            // При ошибке генерации вместо отчета возвращается PDF с сообщением об ошибке
+            String firstPage = PdfTextExtractor.getTextFromPage(document.getPage(1));
+            assertTrue(firstPage.contains("Events Platform Analytics"));
+        }
+    }
+}
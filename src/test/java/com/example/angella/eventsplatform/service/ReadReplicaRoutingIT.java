@@ -0,0 +1,291 @@
+package com.example.angella.eventsplatform.service;
+
+import com.example.angella.eventsplatform.entity.Role;
+import com.example.angella.eventsplatform.security.AppUserDetails;
+import com.example.angella.eventsplatform.service.datasource.ReadReplicaRoutingDataSource;
+import com.example.angella.eventsplatform.service.datasource.ReplicaLagMonitor;
+import com.example.angella.eventsplatform.service.datasource.ReplicaNode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.wait.strategy.Wait;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Две БД в потоковой репликации (bitnami/postgresql: primary и standby).
+// Запуск: ./gradlew replicationTest
+@SpringBootTest
+@ActiveProfiles("test")
+@Tag("replication")
+class ReadReplicaRoutingIT {
+
+    private static final String DATABASE = "testdb";
+    private static final String USERNAME = "testuser";
+    private static final String PASSWORD = "testpass";
+    private static final String SUPERUSER_PASSWORD = "postgres";
+
+    private static final Network network = Network.newNetwork();
+
+    private static final GenericContainer<?> primary = new GenericContainer<>("bitnami/postgresql:16")
+            .withNetwork(network)
+            .withNetworkAliases("primary")
+            .withEnv("POSTGRESQL_REPLICATION_MODE", "master")
+            .withEnv("POSTGRESQL_REPLICATION_USER", "replicator")
+            .withEnv("POSTGRESQL_REPLICATION_PASSWORD", "replicator")
+            .withEnv("POSTGRESQL_USERNAME", USERNAME)
+            .withEnv("POSTGRESQL_PASSWORD", PASSWORD)
+            .withEnv("POSTGRESQL_DATABASE", DATABASE)
+            .withEnv("POSTGRESQL_POSTGRES_PASSWORD", SUPERUSER_PASSWORD)
+            .withExposedPorts(5432)
+            .waitingFor(Wait.forListeningPort());
+
+    private static final GenericContainer<?> replica = new GenericContainer<>("bitnami/postgresql:16")
+            .withNetwork(network)
+            .withEnv("POSTGRESQL_REPLICATION_MODE", "slave")
+            .withEnv("POSTGRESQL_REPLICATION_USER", "replicator")
+            .withEnv("POSTGRESQL_REPLICATION_PASSWORD", "replicator")
+            .withEnv("POSTGRESQL_MASTER_HOST", "primary")
+            .withEnv("POSTGRESQL_MASTER_PORT_NUMBER", "5432")
+            .withEnv("POSTGRESQL_PASSWORD", PASSWORD)
+            .withExposedPorts(5432)
+            .waitingFor(Wait.forListeningPort());
+
+    static {
+        primary.start();
+        awaitQuery(jdbcUrl(primary), "SELECT NOT pg_is_in_recovery()");
+        replica.start();
+        awaitQuery(jdbcUrl(replica), "SELECT pg_is_in_recovery()");
+    }
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> jdbcUrl(primary));
+        registry.add("spring.datasource.username", () -> USERNAME);
+        registry.add("spring.datasource.password", () -> PASSWORD);
+        registry.add("app.datasource.read-replicas.enabled", () -> "true");
+        registry.add("app.datasource.read-replicas.nodes[0].url", () -> jdbcUrl(replica));
+        registry.add("app.datasource.read-replicas.max-lag", () -> "PT1S");
+        registry.add("app.datasource.read-replicas.stickiness", () -> "PT2S");
+        // Отставание проверяется в тестах явно
+        registry.add("app.datasource.read-replicas.lag-check-interval", () -> "PT1H");
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private ReadReplicaRoutingDataSource routingDataSource;
+    @Autowired private ReplicaLagMonitor replicaLagMonitor;
+
+    @BeforeEach
+    void awaitReplicaInRotation() throws Exception {
+        execute(jdbcUrl(replica), "SELECT pg_wal_replay_resume()");
+        ReplicaNode node = routingDataSource.getReplicas().get(0);
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        do {
+            replicaLagMonitor.checkLag();
+            if (node.isAvailable()) {
+                return;
+            }
+            Thread.sleep(200);
+        } while (System.nanoTime() < deadline);
+        fail("Replica did not catch up with the primary");
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldRunOnReplica() {
+        assertTrue(runsOnReplica(true));
+    }
+
+    @Test
+    void readWriteTransaction_ShouldRunOnPrimary() {
+        assertFalse(runsOnReplica(false));
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldSeeReplicatedWrites() throws Exception {
+        String name = insertCategory();
+
+        TransactionTemplate readOnly = transaction(true);
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        int count;
+        do {
+            Thread.sleep(100);
+            count = readOnly.execute(status -> ((Number) entityManager
+                    .createNativeQuery("SELECT count(*) FROM category WHERE name = :name")
+                    .setParameter("name", name)
+                    .getSingleResult()).intValue());
+        } while (count == 0 && System.nanoTime() < deadline);
+
+        assertEquals(1, count);
+        assertTrue(runsOnReplica(true));
+    }
+
+    @Test
+    void readAfterOwnWrite_ShouldStickToPrimaryWithinWindow() throws Exception {
+        authenticate(new AppUserDetails(7001L, "writer", "", List.of(Role.ROLE_USER)));
+        insertCategory();
+
+        assertFalse(runsOnReplica(true), "Own write must be readable immediately");
+
+        authenticate(new AppUserDetails(7002L, "reader", "", List.of(Role.ROLE_USER)));
+        assertTrue(runsOnReplica(true), "Other users are not affected by the window");
+
+        authenticate(new AppUserDetails(7001L, "writer", "", List.of(Role.ROLE_USER)));
+        Thread.sleep(2500);
+        assertTrue(runsOnReplica(true), "Reads return to the replica after the window");
+    }
+
+    // Без приемника WAL полученное равно воспроизведенному, но новые записи основной БД не приходят
+    @Test
+    void disconnectedReplica_ShouldBeTakenOutOfRotation() throws Exception {
+        execute(jdbcUrl(replica), "ALTER SYSTEM SET primary_conninfo = ''");
+        execute(jdbcUrl(replica), "SELECT pg_reload_conf()");
+        try {
+            Thread.sleep(500);
+            insertCategory();
+            Thread.sleep(1500);
+            replicaLagMonitor.checkLag();
+
+            ReplicaNode node = routingDataSource.getReplicas().get(0);
+            assertFalse(node.isAvailable());
+            assertTrue(node.getLagSeconds() > 1.0);
+        } finally {
+            execute(jdbcUrl(replica), "ALTER SYSTEM RESET primary_conninfo");
+            execute(jdbcUrl(replica), "SELECT pg_reload_conf()");
+        }
+
+        awaitReplicaInRotation();
+        assertTrue(runsOnReplica(true));
+    }
+
+    // Чтения для общих кэшей идут на основную БД, если транзакция еще не взяла соединение
+    @Test
+    void cacheFillingRead_ShouldRunOnPrimary() {
+        assertFalse(transaction(true).execute(status ->
+                ReadReplicaRoutingDataSource.readFromPrimary(this::isInRecovery)));
+    }
+
+    @Test
+    void replicaTransaction_ShouldNotFillSharedCaches() {
+        transaction(true).executeWithoutResult(status -> {
+            assertTrue(isInRecovery());
+            assertTrue(ReadReplicaRoutingDataSource.isReadingFromReplica());
+            // Соединение уже взято с реплики: закрепление за основной БД не действует
+            assertTrue(ReadReplicaRoutingDataSource.readFromPrimary(this::isInRecovery));
+            assertEquals(CacheMode.GET, entityManager.unwrap(Session.class).getCacheMode());
+        });
+        assertFalse(ReadReplicaRoutingDataSource.isReadingFromReplica());
+    }
+
+    @Test
+    void laggingReplica_ShouldBeTakenOutOfRotation() throws Exception {
+        execute(jdbcUrl(replica), "SELECT pg_wal_replay_pause()");
+        insertCategory();
+        Thread.sleep(1500);
+        replicaLagMonitor.checkLag();
+
+        ReplicaNode node = routingDataSource.getReplicas().get(0);
+        assertFalse(node.isAvailable());
+        assertTrue(node.getLagSeconds() > 1.0);
+        assertFalse(runsOnReplica(true), "Reads must fall back to the primary");
+
+        awaitReplicaInRotation();
+        assertTrue(runsOnReplica(true));
+    }
+
+    private boolean runsOnReplica(boolean readOnly) {
+        return transaction(readOnly).execute(status -> isInRecovery());
+    }
+
+    private boolean isInRecovery() {
+        return (Boolean) entityManager.createNativeQuery("SELECT pg_is_in_recovery()").getSingleResult();
+    }
+
+    private String insertCategory() {
+        String name = "replicated-" + UUID.randomUUID();
+        transaction(false).executeWithoutResult(status -> entityManager
+                .createNativeQuery("INSERT INTO category (name) VALUES (:name)")
+                .setParameter("name", name)
+                .executeUpdate());
+        return name;
+    }
+
+    private TransactionTemplate transaction(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template;
+    }
+
+    private void authenticate(AppUserDetails user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    private static String jdbcUrl(GenericContainer<?> container) {
+        return "jdbc:postgresql://" + container.getHost() + ":" + container.getMappedPort(5432) + "/" + DATABASE;
+    }
+
+    // Вызовы управления воспроизведением WAL требуют суперпользователя
+    private static void execute(String url, String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "postgres", SUPERUSER_PASSWORD);
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    // Образ bitnami перезапускает сервер после инициализации, поэтому открытого порта недостаточно
+    private static void awaitQuery(String url, String condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(60).toNanos();
+        while (true) {
+            try (Connection connection = DriverManager.getConnection(url, USERNAME, PASSWORD);
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(condition)) {
+                if (resultSet.next() && resultSet.getBoolean(1)) {
+                    return;
+                }
+            } catch (SQLException e) {
+                // сервер еще запускается
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Database is not ready: " + url);
+            }
+            try {
+                Thread.sleep(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.angella.eventsplatform.service;
+
+import com.example.angella.eventsplatform.ServiceIntegrationTest;
+import com.example.angella.eventsplatform.entity.Category;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Второй уровень кэша проверяется на закоммиченных данных: каждый вызов сервиса - отдельная транзакция
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReferenceDataCacheIT extends ServiceIntegrationTest {
+
+    @Autowired private CategoryService categoryService;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void findAll_ShouldBeServedFromCacheWithoutQueries() {
+        categoryService.upsertCategories(Set.of(category("Music"), category("Sport")));
+        categoryService.findAll();
+        categoryService.findAll();
+
+        statistics.clear();
+        List<Category> categories = categoryService.findAll();
+
+        assertEquals(2, categories.size());
+        assertEquals(0, statistics.getPrepareStatementCount(), "Cached category list must not hit the database");
+        assertTrue(statistics.getQueryCacheHitCount() > 0);
+        assertTrue(statistics.getSecondLevelCacheHitCount() >= 2);
+    }
+
+    @Test
+    void upsertCategories_ShouldInvalidateCachedList() {
+        categoryService.upsertCategories(Set.of(category("Music")));
+        assertEquals(1, categoryService.findAll().size());
+        categoryService.findAll();
+
+        categoryService.upsertCategories(Set.of(category("Music"), category("Theatre")));
+
+        assertEquals(Set.of("Music", "Theatre"),
+                Set.copyOf(categoryService.findAll().stream().map(Category::getName).toList()));
+    }
+
+    @Test
+    void cacheRequests_ShouldBeExposedAsMetrics() {
+        categoryService.upsertCategories(Set.of(category("Cinema")));
+        categoryService.findAll();
+        categoryService.findAll();
+        categoryService.findAll();
+
+        FunctionCounter hits = meterRegistry.find("hibernate.cache.query.requests").tag("result", "hit").functionCounter();
+        assertNotNull(hits, "Query cache metrics are not registered");
+        assertTrue(hits.count() > 0);
+    }
+
+    private Category category(String name) {
+        Category category = new Category();
+        category.setName(name);
+        return category;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.angella.eventsplatform.service;
+
+import com.example.angella.eventsplatform.ServiceIntegrationTest;
+import com.example.angella.eventsplatform.exception.AccessDeniedException;
+import com.example.angella.eventsplatform.exception.EntityNotFoundException;
+import com.example.angella.eventsplatform.service.report.ReportJobService;
+import com.example.angella.eventsplatform.service.report.ReportJobService.ReportJob;
+import com.example.angella.eventsplatform.service.report.ReportJobService.ReportJobStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportJobServiceIT extends ServiceIntegrationTest {
+
+    @Autowired private ReportJobService reportJobService;
+    @Autowired private PdfReportService pdfReportService;
+    @Autowired private StatisticsService statisticsService;
+
+    @Test
+    void writeStatisticsReport_ShouldStreamPdfWithoutClosingStream() throws Exception {
+        Map<String, Object> stats = statisticsService.getDetailedStatistics();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        pdfReportService.writeStatisticsReport(stats, outputStream);
+        outputStream.write('\n'); // поток остается открытым
+
+        assertTrue(new String(outputStream.toByteArray(), 0, 5).startsWith("%PDF-"));
+    }
+
+    @Test
+    void submit_ShouldRenderReportInBackground() throws Exception {
+        LocalDate today = LocalDate.now();
+        ReportJob job = reportJobService.submit(today.minusDays(7), today, "admin");
+
+        ReportJob finished = awaitFinished(job.getId(), "admin");
+
+        assertEquals(ReportJobStatus.COMPLETED, finished.getStatus());
+        assertTrue(Files.size(finished.getFile()) > 0);
+        byte[] header = new byte[5];
+        try (var in = Files.newInputStream(finished.getFile())) {
+            in.readNBytes(header, 0, header.length);
+        }
+        assertEquals("%PDF-", new String(header));
+    }
+
+    @Test
+    void getJob_ForAnotherUser_ShouldThrowAccessDenied() {
+        ReportJob job = reportJobService.submit(null, null, "admin");
+
+        assertThrows(AccessDeniedException.class, () ->
+                reportJobService.getJob(job.getId(), "other-admin")
+        );
+        assertThrows(EntityNotFoundException.class, () ->
+                reportJobService.getJob("missing", "admin")
+        );
+    }
+
+    private ReportJob awaitFinished(String jobId, String username) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            ReportJob job = reportJobService.getJob(jobId, username);
+            if (job.getStatus().isFinal()) {
+                return job;
+            }
+            Thread.sleep(100);
+        }
+        fail("Report job did not finish in time");
+        return null;
+    }
+}
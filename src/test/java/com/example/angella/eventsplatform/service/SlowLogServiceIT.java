@@ -0,0 +1,122 @@
+package com.example.angella.eventsplatform.service;
+
+import com.example.angella.eventsplatform.ServiceIntegrationTest;
+import com.example.angella.eventsplatform.model.SlowLogEntry;
+import com.example.angella.eventsplatform.model.SlowQueryOffender;
+import com.example.angella.eventsplatform.service.metrics.SlowLogService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowLogServiceIT extends ServiceIntegrationTest {
+
+    private static final String SLOW_SQL = "SELECT ?::text FROM pg_sleep(0.3)";
+
+    @Autowired private SlowLogService slowLogService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private MeterRegistry meterRegistry;
+
+    // Строковые параметры маскируются всегда, остальные значения сохраняются
+    @Test
+    void slowStatement_ShouldBeLoggedWithMaskedParameters() {
+        String sql = "SELECT ?::text || ?::int FROM pg_sleep(0.3)";
+        jdbcTemplate.queryForObject(sql, String.class, "slow.user@test.com", 42);
+
+        SlowLogEntry entry = findEntry(sql);
+        assertNotNull(entry);
+        assertTrue(entry.getDurationMs() >= 300);
+        assertEquals(List.of("[masked], 42"), entry.getParameters());
+        assertFalse(entry.getParameters().toString().contains("test.com"));
+    }
+
+    @Test
+    void slowStatement_ShouldBeCorrelatedWithRequestScope() {
+        try (SlowLogService.RequestScope scope = slowLogService.openScope("GET /test/slow", "req-42")) {
+            jdbcTemplate.queryForObject(SLOW_SQL, String.class, "$2a$10$abcdefghijklmnopqrstuv");
+        }
+
+        SlowLogEntry entry = findEntry(SLOW_SQL);
+        assertNotNull(entry);
+        assertEquals("req-42", entry.getRequestId());
+        assertEquals("GET /test/slow", entry.getSource());
+        assertEquals(List.of("[masked]"), entry.getParameters());
+    }
+
+    // Идентификатор клиента с посторонними символами заменяется сгенерированным
+    @Test
+    void requestScope_ShouldReplaceInvalidRequestId() {
+        try (SlowLogService.RequestScope scope = slowLogService.openScope("GET /test", "req-7\nkind=sql")) {
+            assertNotEquals("req-7\nkind=sql", scope.getRequestId());
+            assertTrue(scope.getRequestId().matches("[A-Za-z0-9-]+"));
+        }
+        try (SlowLogService.RequestScope scope = slowLogService.openScope("GET /test", "x".repeat(65))) {
+            assertEquals(8, scope.getRequestId().length());
+        }
+    }
+
+    // Закрытие области возвращает MDC внешнего запроса, а не очищает его
+    @Test
+    void requestScope_ShouldRestorePreviousMdcOnClose() {
+        MDC.put(SlowLogService.MDC_REQUEST_ID, "outer");
+        MDC.put(SlowLogService.MDC_SOURCE, "GET /outer");
+        try {
+            try (SlowLogService.RequestScope outer = slowLogService.openScope("GET /forwarded", "req-1")) {
+                try (SlowLogService.RequestScope inner = slowLogService.openScope("STOMP SEND", "req-2")) {
+                    assertEquals("req-2", MDC.get(SlowLogService.MDC_REQUEST_ID));
+                }
+                assertEquals("req-1", MDC.get(SlowLogService.MDC_REQUEST_ID));
+                assertEquals("GET /forwarded", MDC.get(SlowLogService.MDC_SOURCE));
+            }
+            assertEquals("outer", MDC.get(SlowLogService.MDC_REQUEST_ID));
+            assertEquals("GET /outer", MDC.get(SlowLogService.MDC_SOURCE));
+        } finally {
+            MDC.remove(SlowLogService.MDC_REQUEST_ID);
+            MDC.remove(SlowLogService.MDC_SOURCE);
+        }
+    }
+
+    @Test
+    void topOffenders_ShouldAggregateRepeatedStatements() {
+        jdbcTemplate.queryForObject(SLOW_SQL, String.class, "first");
+        jdbcTemplate.queryForObject(SLOW_SQL, String.class, "second");
+
+        SlowQueryOffender offender = slowLogService.getTopOffenders(100).stream()
+                .filter(o -> o.getSql().equals(SLOW_SQL))
+                .findFirst()
+                .orElseThrow();
+        assertTrue(offender.getCount() >= 2);
+        assertTrue(offender.getTotalMs() >= 600);
+        assertTrue(offender.getMaxMs() >= 300);
+    }
+
+    @Test
+    void fastStatements_ShouldOnlyBeTimed() {
+        long before = timerCount();
+        int entriesBefore = slowLogService.getRecentEntries().size();
+
+        jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+
+        assertTrue(timerCount() > before);
+        assertEquals(entriesBefore, slowLogService.getRecentEntries().size());
+    }
+
+    private SlowLogEntry findEntry(String sql) {
+        // Буфер общий для всех тестов; самые новые записи идут первыми
+        return slowLogService.getRecentEntries().stream()
+                .filter(entry -> entry.getKind() == SlowLogEntry.Kind.SQL && sql.equals(entry.getSql()))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private long timerCount() {
+        Timer timer = meterRegistry.find("sql.statements").tag("type", "select").timer();
+        return timer != null ? timer.count() : 0;
+    }
+}
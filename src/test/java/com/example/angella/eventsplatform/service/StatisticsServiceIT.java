@@ -0,0 +1,159 @@
+package com.example.angella.eventsplatform.service;
+
+import com.example.angella.eventsplatform.QueryBudget;
+import com.example.angella.eventsplatform.ServiceIntegrationTest;
+import com.example.angella.eventsplatform.entity.*;
+import com.example.angella.eventsplatform.model.ActivityStatistics;
+import com.example.angella.eventsplatform.model.EventStatusStatistics;
+import com.example.angella.eventsplatform.model.PlatformStatistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Transactional
+class StatisticsServiceIT extends ServiceIntegrationTest {
+
+    @Autowired private StatisticsService statisticsService;
+    @Autowired private ActivityRollupService activityRollupService;
+    @Autowired private EventService eventService;
+    @Autowired private UserService userService;
+    @Autowired private ChatService chatService;
+    @Autowired private TaskService taskService;
+
+    private User creator;
+    private User participant;
+    private Event upcomingEvent;
+    private Event pastEvent;
+
+    @BeforeEach
+    void setUp() {
+        creator = createUser("creator", "creator@test.com");
+        participant = createUser("participant", "participant@test.com");
+
+        upcomingEvent = createEvent(creator.getId(), "Upcoming", Instant.now().plus(1, ChronoUnit.DAYS), "Rollup");
+        pastEvent = createEvent(creator.getId(), "Past", Instant.now().minus(1, ChronoUnit.DAYS), "Rollup");
+        eventService.addParticipant(upcomingEvent.getId(), participant.getId());
+    }
+
+    @Test
+    void getPlatformStatistics_ShouldAggregateAllCounters() {
+        chatService.createMessage("Hello", upcomingEvent.getId(), creator.getId());
+        chatService.createMessage("Hi", upcomingEvent.getId(), participant.getId());
+        Task task = taskService.createTask("Task 1", upcomingEvent.getId(), creator.getId(), null);
+        taskService.createTask("Task 2", upcomingEvent.getId(), creator.getId(), null);
+        taskService.toggleTaskCompletion(task.getId(), creator.getId());
+
+        PlatformStatistics statistics = statisticsService.getPlatformStatistics();
+
+        // Каждое мероприятие создается с приветственным сообщением, задачей и пунктом чек-листа
+        assertEquals(2, statistics.getTotalUsers());
+        assertEquals(2, statistics.getTotalEvents());
+        assertEquals(1, statistics.getUpcomingEvents());
+        assertEquals(4, statistics.getTotalChatMessages());
+        assertEquals(2, statistics.getEventsWithChats());
+        assertEquals(4, statistics.getTotalTasks());
+        assertEquals(25, statistics.getCompletedTasksPercentage());
+        assertEquals(2, statistics.getTotalChecklistItems());
+        assertEquals(0, statistics.getCompletedChecklistItemsPercentage());
+        assertEquals(2.0, statistics.getMessagesPerUser());
+    }
+
+    @Test
+    void getPlatformStatistics_ShouldAverageParticipantsPerEvent() {
+        // Создатель добавляется участником: 2 участника в первом мероприятии и 1 во втором
+        PlatformStatistics statistics = statisticsService.getPlatformStatistics();
+
+        assertEquals(1, statistics.getAverageParticipantsPerEvent());
+    }
+
+    @Test
+    @QueryBudget(max = 1)
+    void getPlatformStatistics_ShouldUseSingleQuery() {
+        PlatformStatistics statistics = statisticsService.getPlatformStatistics();
+
+        assertEquals(2, statistics.getTotalEvents());
+    }
+
+    @Test
+    @QueryBudget(max = 3)
+    void getAdminStatisticsForPeriod_ShouldReadOnlyAggregates() {
+        LocalDate today = LocalDate.now();
+
+        Map<String, Object> stats = statisticsService.getAdminStatistics(today.minusDays(7), today);
+
+        assertNotNull(stats.get("periodActivity"));
+    }
+
+    @Test
+    void getAdminStatistics_ShouldKeepMapKeys() {
+        Map<String, Object> stats = statisticsService.getAdminStatistics();
+
+        assertEquals(2L, stats.get("totalUsers"));
+        assertEquals(2L, stats.get("totalEvents"));
+        assertInstanceOf(List.class, stats.get("mostPopularCategories"));
+        assertNotNull(stats.get("reportGeneratedAt"));
+    }
+
+    @Test
+    void getEventStatusStatistics_ShouldGroupEventsByStatus() {
+        createEvent(creator.getId(), "Active", Instant.now().minus(30, ChronoUnit.MINUTES), "Rollup");
+
+        EventStatusStatistics statistics = statisticsService.getEventStatusStatistics();
+
+        assertEquals(1, statistics.getUpcomingEvents());
+        assertEquals(1, statistics.getActiveEvents());
+        assertEquals(1, statistics.getCompletedEvents());
+        assertEquals(3, statistics.getTotalEvents());
+        // Создатель - участник каждого мероприятия, плюс один гость в предстоящем
+        assertEquals(4, statistics.getTotalParticipants());
+    }
+
+    @Test
+    @QueryBudget(max = 1)
+    void getEventStatusStatistics_ShouldUseSingleQuery() {
+        assertEquals(2, statisticsService.getEventStatusStatistics().getTotalEvents());
+    }
+
+    @Test
+    void activityRollup_ShouldAnswerDateRangeFromAggregates() {
+        Task task = taskService.createTask("Task", upcomingEvent.getId(), creator.getId(), null);
+        taskService.toggleTaskCompletion(task.getId(), creator.getId());
+
+        Instant until = Instant.now().plusSeconds(60);
+        assertTrue(activityRollupService.rollupUntil(until) > 0);
+        // Повторный запуск с той же границей ничего не добавляет
+        assertEquals(0, activityRollupService.rollupUntil(until));
+
+        LocalDate today = LocalDate.now();
+        ActivityStatistics activity = statisticsService.getActivityStatistics(today.minusDays(1), today.plusDays(1));
+
+        assertEquals(2, activity.getEventsCreated());
+        // Создатель в обоих мероприятиях и участник в первом
+        assertEquals(3, activity.getParticipantsJoined());
+        assertEquals(2, activity.getChatMessages());
+        assertEquals(1, activity.getTasksCompleted());
+        assertEquals(1, activity.getCategories().size());
+        assertEquals("Rollup", activity.getCategories().get(0).getName());
+        assertEquals(2, activity.getCategories().get(0).getEventCount());
+
+        ActivityStatistics past = statisticsService.getActivityStatistics(today.minusDays(30), today.minusDays(2));
+        assertEquals(0, past.getEventsCreated());
+    }
+
+    private User createUser(String username, String email) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(email);
+        user.setPassword("password");
+        return userService.registerUser(user);
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.angella.eventsplatform.web;
+
+import com.example.angella.eventsplatform.ServiceIntegrationTest;
+import com.example.angella.eventsplatform.entity.Event;
+import com.example.angella.eventsplatform.entity.Role;
+import com.example.angella.eventsplatform.entity.User;
+import com.example.angella.eventsplatform.security.AppUserDetails;
+import com.example.angella.eventsplatform.service.ChatService;
+import com.example.angella.eventsplatform.service.EventService;
+import com.example.angella.eventsplatform.service.ImageService;
+import com.example.angella.eventsplatform.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
+
+// Страницы отрисовываются без транзакции теста и без enable_lazy_load_no_trans: все, что читает
+// шаблон, должно быть загружено планом выборки сервиса. Ошибки ленивой загрузки, перехваченные
+// контроллерами, ловит LazyInitializationGuardExtension
+@AutoConfigureMockMvc
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class FetchPlanIT extends ServiceIntegrationTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private EventService eventService;
+    @Autowired private UserService userService;
+    @Autowired private ImageService imageService;
+    @Autowired private ChatService chatService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private TransactionTemplate transactionTemplate;
+
+    private AppUserDetails creator;
+    private AppUserDetails guest;
+    private AppUserDetails admin;
+    private Long eventId;
+
+    @BeforeEach
+    void setUp() {
+        creator = createUser("plancreator", Role.ROLE_USER);
+        guest = createUser("planguest", Role.ROLE_USER);
+        admin = createUser("planadmin", Role.ROLE_ADMIN);
+
+        eventId = createEvent(creator.getId(), "Plan Event", Instant.now().plus(1, ChronoUnit.DAYS), "Music").getId();
+        eventService.addParticipant(eventId, guest.getId());
+        imageService.uploadEventImage(image("cover.jpg"), eventId, creator.getId());
+        imageService.uploadAvatar(image("avatar.jpg"), guest.getId());
+        chatService.createMessage("Hello", eventId, guest.getId());
+    }
+
+    // Данные закоммичены, откат транзакции теста их не уберет
+    // Пул работает без auto-commit, поэтому очистка выполняется в своей транзакции
+    @AfterEach
+    void cleanUp() {
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.execute("TRUNCATE usr, location, category CASCADE"));
+    }
+
+    @Test
+    void homePage_ShouldRender() throws Exception {
+        mockMvc.perform(get("/"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("index"))
+                .andExpect(model().attributeDoesNotExist("error"));
+    }
+
+    @Test
+    void eventsPage_ShouldRenderCards() throws Exception {
+        mockMvc.perform(get("/events"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("events/list"))
+                .andExpect(model().attributeDoesNotExist("error"))
+                .andExpect(content().string(containsString("Plan Event")));
+    }
+
+    @Test
+    void eventsPage_ShouldFilterByCategory() throws Exception {
+        Long categoryId = jdbcTemplate.queryForObject("SELECT id FROM category WHERE name = 'Music'", Long.class);
+
+        mockMvc.perform(get("/events").param("categoryId", categoryId.toString()))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("events", hasSize(1)));
+    }
+
+    @Test
+    void eventDetailsPage_ShouldRender() throws Exception {
+        mockMvc.perform(get("/event/details/{id}", eventId).with(user(guest)))
+                .andExpect(status().isOk())
+                .andExpect(view().name("events/detail"))
+                .andExpect(content().string(containsString("planguest")));
+    }
+
+    @Test
+    void editEventPage_ShouldRenderForCreator() throws Exception {
+        mockMvc.perform(get("/event/edit/{id}", eventId).with(user(creator)))
+                .andExpect(status().isOk())
+                .andExpect(view().name("events/edit"));
+    }
+
+    @Test
+    void myEventsPage_ShouldRender() throws Exception {
+        mockMvc.perform(get("/my-events").with(user(guest)))
+                .andExpect(status().isOk())
+                .andExpect(view().name("events/my-events"))
+                .andExpect(model().attributeDoesNotExist("error"))
+                .andExpect(model().attribute("events", hasSize(1)));
+    }
+
+    @Test
+    void chatListPage_ShouldRender() throws Exception {
+        mockMvc.perform(get("/chats").with(user(guest)))
+                .andExpect(status().isOk())
+                .andExpect(view().name("chats/list"))
+                .andExpect(model().attributeDoesNotExist("error"));
+    }
+
+    @Test
+    void chatRoomPage_ShouldRenderMessages() throws Exception {
+        mockMvc.perform(get("/chats/{id}", eventId).with(user(guest)))
+                .andExpect(status().isOk())
+                .andExpect(view().name("chats/room"))
+                .andExpect(model().attribute("chatMessages", hasSize(2)));
+    }
+
+    @Test
+    void chatRoomPage_ShouldRedirectNonParticipant() throws Exception {
+        mockMvc.perform(get("/chats/{id}", eventId).with(user(admin)))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(view().name("redirect:/chats?error=access_denied"));
+    }
+
+    @Test
+    void chatMessagesApi_ShouldMapMessages() throws Exception {
+        mockMvc.perform(get("/api/v1/chat/{id}", eventId).with(user(guest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2));
+    }
+
+    @Test
+    void publicEventsApi_ShouldMapEvents() throws Exception {
+        mockMvc.perform(get("/api/v1/public/events"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].categories[0].name").value("Music"));
+
+        mockMvc.perform(get("/api/v1/public/events/filter")
+                        .param("page.number", "0")
+                        .param("page.size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].location.city").value("Test City"));
+
+        mockMvc.perform(get("/api/v1/public/events/{id}", eventId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.creator.username").value("plancreator"));
+    }
+
+    @Test
+    void adminUsersPage_ShouldRender() throws Exception {
+        mockMvc.perform(get("/admin/users").with(user(admin)))
+                .andExpect(status().isOk())
+                .andExpect(view().name("admin/users"))
+                .andExpect(model().attribute("users", hasSize(3)));
+    }
+
+    private AppUserDetails createUser(String username, Role role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@test.com");
+        user.setPassword("password");
+        user.addRole(role);
+        User saved = userService.registerUser(user);
+        return new AppUserDetails(saved.getId(), saved.getUsername(), "", List.of(role));
+    }
+
+    private MockMultipartFile image(String filename) {
+        return new MockMultipartFile("file", filename, "image/jpeg", imageContent("image/jpeg", 640, 480, 1024));
+    }
+}
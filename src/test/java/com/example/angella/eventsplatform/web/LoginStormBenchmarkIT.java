@@ -0,0 +1,129 @@
+package com.example.angella.eventsplatform.web;
+
+import com.example.angella.eventsplatform.ServiceIntegrationTest;
+import com.example.angella.eventsplatform.entity.User;
+import com.example.angella.eventsplatform.service.UserService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestBuilders.formLogin;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+// Нагрузочный сценарий: пропускная способность входа и задержка страниц во время массового входа.
+// Не входит в обычный прогон тестов, запуск: ./gradlew benchmark
+@Tag("benchmark")
+@AutoConfigureMockMvc
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+// Сценарий измеряет хэширование паролей, а не ограничение частоты попыток входа
+@TestPropertySource(properties = "app.rate-limit.enabled=false")
+class LoginStormBenchmarkIT extends ServiceIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginStormBenchmarkIT.class);
+
+    private static final int LOGIN_THREADS = 32;
+    private static final int IDLE_PAGE_SAMPLES = 200;
+    private static final Duration STORM_DURATION = Duration.ofSeconds(10);
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private UserService userService;
+
+    @Test
+    void loginStorm_ShouldKeepPagesResponsive() throws Exception {
+        User user = new User();
+        user.setUsername("storm");
+        user.setEmail("storm@test.com");
+        user.setPassword("storm-password");
+        userService.registerUser(user);
+
+        // Прогрев и задержка страницы без нагрузки
+        for (int i = 0; i < 20; i++) {
+            mockMvc.perform(get("/"));
+        }
+        List<Long> idleLatencies = new ArrayList<>();
+        for (int i = 0; i < IDLE_PAGE_SAMPLES; i++) {
+            idleLatencies.add(pageLatencyMicros());
+        }
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong succeeded = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        ExecutorService loginPool = Executors.newFixedThreadPool(LOGIN_THREADS);
+        for (int i = 0; i < LOGIN_THREADS; i++) {
+            loginPool.execute(() -> {
+                while (running.get()) {
+                    try {
+                        String redirect = mockMvc.perform(formLogin().user("storm").password("storm-password"))
+                                .andReturn().getResponse().getRedirectedUrl();
+                        if ("/".equals(redirect)) {
+                            succeeded.incrementAndGet();
+                        } else if (redirect != null && redirect.contains("error=busy")) {
+                            rejected.incrementAndGet();
+                        } else {
+                            failed.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        failed.incrementAndGet();
+                    }
+                }
+            });
+        }
+
+        // Задержка той же страницы во время массового входа
+        List<Long> stormLatencies = new ArrayList<>();
+        long stormStart = System.nanoTime();
+        while (System.nanoTime() - stormStart < STORM_DURATION.toNanos()) {
+            stormLatencies.add(pageLatencyMicros());
+        }
+        running.set(false);
+        loginPool.shutdown();
+        assertTrue(loginPool.awaitTermination(30, TimeUnit.SECONDS));
+        double seconds = (System.nanoTime() - stormStart) / 1_000_000_000.0;
+
+        log.info(String.format("""
+                        Login storm: %d threads, %.1f s
+                          logins: %d ok (%.1f/s), %d rejected as busy, %d failed
+                          page "/" idle:  p50=%d us p95=%d us p99=%d us
+                          page "/" storm: p50=%d us p95=%d us p99=%d us (%d samples)""",
+                LOGIN_THREADS, seconds, succeeded.get(), succeeded.get() / seconds, rejected.get(), failed.get(),
+                percentile(idleLatencies, 50), percentile(idleLatencies, 95), percentile(idleLatencies, 99),
+                percentile(stormLatencies, 50), percentile(stormLatencies, 95), percentile(stormLatencies, 99),
+                stormLatencies.size()));
+
+        assertTrue(succeeded.get() > 0, "No login succeeded during the storm");
+        assertEquals(0, failed.get(), "Logins must either succeed or be rejected as busy");
+    }
+
+    private long pageLatencyMicros() throws Exception {
+        long start = System.nanoTime();
+        mockMvc.perform(get("/"));
+        return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+    }
+
+    private static long percentile(List<Long> values, int percentile) {
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(index, 0));
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.angella.eventsplatform.web;
+
+import com.example.angella.eventsplatform.ServiceIntegrationTest;
+import com.example.angella.eventsplatform.entity.Role;
+import com.example.angella.eventsplatform.security.AppUserDetails;
+import com.example.angella.eventsplatform.service.ratelimit.RateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestBuilders.formLogin;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Политики app.rate-limit: емкость корзины comment и login - 10 запросов
+@AutoConfigureMockMvc
+class RateLimitIT extends ServiceIntegrationTest {
+
+    private static final int CAPACITY = 10;
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private RateLimiter rateLimiter;
+    @Autowired private MeterRegistry meterRegistry;
+
+    @Test
+    void routes_ShouldMapToConfiguredPolicies() {
+        assertEquals("comment", rateLimiter.findHttpPolicy("POST", "/api/v1/comment"));
+        assertEquals("chat", rateLimiter.findHttpPolicy("POST", "/api/v1/chat/15/images"));
+        assertEquals("upload", rateLimiter.findHttpPolicy("POST", "/api/v1/images/upload/batch"));
+        assertNull(rateLimiter.findHttpPolicy("GET", "/api/v1/comment"));
+        assertEquals("chat", rateLimiter.findStompPolicy("/app/chat/3/send"));
+        assertNull(rateLimiter.findStompPolicy("/app/tasks/3/update"));
+    }
+
+    @Test
+    void commentBurst_ShouldBeRejectedWith429PerUser() throws Exception {
+        AppUserDetails limited = new AppUserDetails(9001L, "burst", "", List.of(Role.ROLE_USER));
+        AppUserDetails other = new AppUserDetails(9002L, "calm", "", List.of(Role.ROLE_USER));
+        double rejectedBefore = rejections("comment");
+
+        for (int i = 0; i < CAPACITY; i++) {
+            int code = mockMvc.perform(post("/api/v1/comment").with(user(limited)))
+                    .andReturn().getResponse().getStatus();
+            assertNotEquals(429, code, "Request " + i + " is within the bucket capacity");
+        }
+
+        mockMvc.perform(post("/api/v1/comment").with(user(limited)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("$.code").value("RATE_LIMITED"));
+
+        // Корзины раздельные: другой пользователь не затронут
+        int otherCode = mockMvc.perform(post("/api/v1/comment").with(user(other)))
+                .andReturn().getResponse().getStatus();
+        assertNotEquals(429, otherCode);
+
+        assertEquals(rejectedBefore + 1, rejections("comment"));
+    }
+
+    @Test
+    void loginBurst_ShouldBeRejectedBeforePasswordCheck() throws Exception {
+        RequestPostProcessor address = request -> {
+            request.setRemoteAddr("203.0.113.7");
+            return request;
+        };
+
+        for (int i = 0; i < CAPACITY; i++) {
+            mockMvc.perform(formLogin().user("nobody").password("wrong").with(address))
+                    .andExpect(status().is3xxRedirection());
+        }
+
+        mockMvc.perform(formLogin().user("nobody").password("wrong").with(address))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"));
+    }
+
+    private double rejections(String policy) {
+        Counter counter = meterRegistry.find("ratelimit.rejections").tag("policy", policy).counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.angella.eventsplatform.web;
+
+import com.example.angella.eventsplatform.ServiceIntegrationTest;
+import com.example.angella.eventsplatform.configuration.StompTokenAuthInterceptor;
+import com.example.angella.eventsplatform.entity.Role;
+import com.example.angella.eventsplatform.entity.User;
+import com.example.angella.eventsplatform.security.AccessTokenService;
+import com.example.angella.eventsplatform.security.AppUserDetails;
+import com.example.angella.eventsplatform.service.UserService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "app.security.token.enabled=true",
+        "app.security.token.secret=test-secret-test-secret-test-secret-0123"
+})
+class TokenAuthenticationIT extends ServiceIntegrationTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private UserService userService;
+    @Autowired private AccessTokenService accessTokenService;
+    @Autowired private StompTokenAuthInterceptor stompTokenAuthInterceptor;
+
+    @Test
+    void tokenEndpoint_ShouldIssueTokenWithoutSession() throws Exception {
+        User user = createUser("tokenuser");
+
+        MvcResult result = mockMvc.perform(post("/api/v1/public/token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"tokenuser\",\"password\":\"password\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertNull(result.getRequest().getSession(false));
+        JsonNode body = objectMapper.readTree(result.getResponse().getContentAsString());
+        assertEquals("Bearer", body.get("tokenType").asText());
+
+        Authentication authentication = accessTokenService.authenticate(body.get("accessToken").asText());
+        AppUserDetails principal = (AppUserDetails) authentication.getPrincipal();
+        assertEquals(user.getId(), principal.getId());
+        assertEquals("tokenuser", principal.getUsername());
+    }
+
+    @Test
+    void tokenEndpoint_ShouldRejectWrongPassword() throws Exception {
+        createUser("tokenuser");
+
+        mockMvc.perform(post("/api/v1/public/token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"tokenuser\",\"password\":\"wrong-password\"}"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void bearerRequest_ShouldBeAuthorizedWithoutSessionOrDatabase() throws Exception {
+        String token = accessTokenService.issue(
+                new AppUserDetails(42L, "tokenadmin", null, List.of(Role.ROLE_ADMIN))).value();
+
+        List<String> statements = captureQueries(() -> {
+            try {
+                MvcResult result = mockMvc.perform(get("/api/v1/admin/slow-log")
+                                .header("Authorization", "Bearer " + token))
+                        .andExpect(status().isOk())
+                        .andReturn();
+                assertNull(result.getRequest().getSession(false));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertTrue(statements.isEmpty(), "Token authentication must not query the database: " + statements);
+    }
+
+    @Test
+    void bearerRequest_ShouldRespectRoles() throws Exception {
+        String token = accessTokenService.issue(
+                new AppUserDetails(43L, "tokenplain", null, List.of(Role.ROLE_USER))).value();
+
+        mockMvc.perform(get("/api/v1/admin/slow-log").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void bearerRequest_ShouldRejectTamperedToken() throws Exception {
+        String token = accessTokenService.issue(
+                new AppUserDetails(42L, "tokenadmin", null, List.of(Role.ROLE_ADMIN))).value();
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        mockMvc.perform(get("/api/v1/admin/slow-log").header("Authorization", "Bearer " + tampered))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void stompConnect_ShouldAuthenticateWithBearerToken() {
+        String token = accessTokenService.issue(
+                new AppUserDetails(44L, "stompuser", null, List.of(Role.ROLE_USER))).value();
+
+        Message<?> result = stompTokenAuthInterceptor.preSend(connect("Bearer " + token), null);
+
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(result, StompHeaderAccessor.class);
+        Authentication user = assertInstanceOf(Authentication.class, accessor.getUser());
+        assertEquals(44L, ((AppUserDetails) user.getPrincipal()).getId());
+    }
+
+    @Test
+    void stompConnect_ShouldRejectMissingOrInvalidToken() {
+        assertThrows(MessageDeliveryException.class, () -> stompTokenAuthInterceptor.preSend(connect(null), null));
+        assertThrows(MessageDeliveryException.class,
+                () -> stompTokenAuthInterceptor.preSend(connect("Bearer not-a-token"), null));
+    }
+
+    private Message<byte[]> connect(String authorization) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        if (authorization != null) {
+            accessor.addNativeHeader("Authorization", authorization);
+        }
+        accessor.setSessionId("test-session");
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private User createUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@test.com");
+        user.setPassword("password");
+        return userService.registerUser(user);
+    }
+}
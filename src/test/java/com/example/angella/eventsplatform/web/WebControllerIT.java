@@ -0,0 +1,103 @@
+package com.example.angella.eventsplatform.web;
+
+import com.example.angella.eventsplatform.ServiceIntegrationTest;
+import com.example.angella.eventsplatform.entity.Event;
+import com.example.angella.eventsplatform.entity.Role;
+import com.example.angella.eventsplatform.entity.User;
+import com.example.angella.eventsplatform.service.EventService;
+import com.example.angella.eventsplatform.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Число SQL-запросов при отрисовке страниц не должно расти с количеством мероприятий
+@AutoConfigureMockMvc
+class WebControllerIT extends ServiceIntegrationTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private EventService eventService;
+    @Autowired private UserService userService;
+
+    private Long creatorId;
+    private Long guestId;
+
+    @BeforeEach
+    void setUp() {
+        creatorId = createUser("pagecreator").getId();
+        guestId = createUser("pageguest").getId();
+    }
+
+    @Test
+    void eventsPage_ShouldNotQueryPerEvent() {
+        assertPageQueriesIndependentOfEventCount("/events");
+    }
+
+    @Test
+    void homePage_ShouldNotQueryPerEvent() {
+        assertPageQueriesIndependentOfEventCount("/");
+    }
+
+    // Метрики Prometheus не публичны: анонимный запрос отклоняется, администратор проходит по HTTP Basic
+    @Test
+    void prometheusEndpoint_ShouldRequireAdmin() throws Exception {
+        User admin = new User();
+        admin.setUsername("metricsadmin");
+        admin.setEmail("metricsadmin@test.com");
+        admin.setPassword("password");
+        admin.addRole(Role.ROLE_ADMIN);
+        userService.registerUser(admin);
+
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("pagecreator", "password")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("metricsadmin", "password")))
+                .andExpect(status().isOk());
+    }
+
+    private void assertPageQueriesIndependentOfEventCount(String url) {
+        createEvents(2);
+        int twoEvents = warmQueryCount(url);
+
+        createEvents(4);
+        int sixEvents = warmQueryCount(url);
+
+        assertEquals(twoEvents, sixEvents, "Number of queries for " + url + " must not depend on the number of events");
+    }
+
+    // Число запросов при повторном открытии страницы, когда кэши уже заполнены
+    private int warmQueryCount(String url) {
+        getPage(url);
+        return captureQueries(() -> getPage(url)).size();
+    }
+
+    private void getPage(String url) {
+        try {
+            mockMvc.perform(get(url)).andExpect(status().isOk());
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to render " + url, e);
+        }
+    }
+
+    private void createEvents(int count) {
+        for (int i = 0; i < count; i++) {
+            Event saved = createEvent(creatorId);
+            eventService.addParticipant(saved.getId(), guestId);
+        }
+    }
+
+    private User createUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@test.com");
+        user.setPassword("password");
+        return userService.registerUser(user);
+    }
+}